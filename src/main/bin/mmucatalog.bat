@@ -0,0 +1,2 @@
+java -ea -cp "%MICROTESK_HOME%/lib/jars/microtesk.jar" ru.ispras.microtesk.mmu.test.engine.memory.AccessCatalogBuilder %*
+
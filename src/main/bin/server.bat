@@ -0,0 +1,2 @@
+java -ea -jar "%MICROTESK_HOME%/lib/jars/microtesk.jar" --server %*
+
@@ -0,0 +1,3 @@
+#!/bin/sh
+java -ea -jar $MICROTESK_HOME/lib/jars/microtesk.jar --server $*
+
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk;
+
+import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.options.Option;
+import ru.ispras.microtesk.options.OptionReader;
+import ru.ispras.microtesk.options.Options;
+import ru.ispras.microtesk.test.Printer;
+import ru.ispras.microtesk.test.Statistics;
+import ru.ispras.microtesk.test.TestEngine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link GenerationServer} keeps MicroTESK resident and generates test programs for jobs
+ * received over a local TCP socket.
+ *
+ * <p>The server accepts only jobs of clients that can read its token. On start, the server writes
+ * a random token to the {@code ~/.microtesk/server-<port>.token} file, which is readable only by
+ * its owner, and deletes the file on shutdown. The first line of a job must be
+ * {@code token <token>}.</p>
+ *
+ * <p>A job is the command line of the generation task ({@code [options] <model name>
+ * <template file>}) sent as one argument per line and terminated by an empty line. Relative
+ * paths are resolved against the working directory of the server. The server replies with
+ * the {@code file <path>} lines for the files created in the output directory, the
+ * {@code statistics <name>=<value>...} line and the final {@code status ok|failed|error
+ * [<message>]} line (the message is reduced to one line). The {@code stop} job shuts the server
+ * down.</p>
+ *
+ * <p>Jobs are processed one at a time. Loaded models and a pool of initialized JRuby containers
+ * are shared by all jobs, while the generator state is reset after each job. Settings files are
+ * parsed for each job, since generation can modify the settings.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class GenerationServer {
+  private GenerationServer() {}
+
+  private static final String STOP = "stop";
+  private static final String TOKEN = "token ";
+  private static final int TOKEN_SIZE = 32;
+
+  public static boolean serve(final Options options, final List<Plugin> plugins) {
+    InvariantChecks.checkNotNull(options);
+    InvariantChecks.checkNotNull(plugins);
+
+    final int port = options.getValueAsInteger(Option.SERVER_PORT);
+    final Map<String, String> configuration = Config.loadSettings();
+
+    Path tokenFile = null;
+    try (final ServerSocket serverSocket =
+        new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+      final String token = newToken();
+      tokenFile = writeToken(serverSocket.getLocalPort(), token);
+
+      RubyRunner.startPool(options, options.getValueAsInteger(Option.SERVER_POOL_SIZE));
+      Logger.message("Generation server is listening on port %d (token file: %s).",
+          serverSocket.getLocalPort(), tokenFile);
+
+      boolean running = true;
+      while (running) {
+        try (final Socket socket = serverSocket.accept()) {
+          running = processJob(socket, token, configuration, plugins);
+        } catch (final IOException e) {
+          Logger.error("Failed to process a job: %s", e.getMessage());
+        }
+      }
+    } catch (final IOException e) {
+      Logger.error("Failed to start the generation server on port %d: %s", port, e.getMessage());
+      return false;
+    } finally {
+      RubyRunner.stopPool();
+      deleteToken(tokenFile);
+    }
+
+    Logger.message("Generation server is stopped.");
+    return true;
+  }
+
+  private static String newToken() {
+    final byte[] bytes = new byte[TOKEN_SIZE];
+    new SecureRandom().nextBytes(bytes);
+
+    final StringBuilder builder = new StringBuilder(2 * bytes.length);
+    for (final byte value : bytes) {
+      builder.append(String.format("%02x", value & 0xff));
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Writes the token to a file that can be read and written only by the owner.
+   */
+  private static Path writeToken(final int port, final String token) throws IOException {
+    final Path dir = Paths.get(System.getProperty("user.home"), ".microtesk");
+    Files.createDirectories(dir);
+
+    final Path file = dir.resolve(String.format("server-%d.token", port));
+    Files.deleteIfExists(file);
+
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      Files.createFile(file,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    } else {
+      // Without POSIX permissions (e.g. on Windows), the file relies on the home directory ACL.
+      final File tokenFile = Files.createFile(file).toFile();
+      tokenFile.setReadable(false, false);
+      tokenFile.setReadable(true, true);
+      tokenFile.setWritable(false, false);
+      tokenFile.setWritable(true, true);
+    }
+
+    Files.write(file, token.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static void deleteToken(final Path file) {
+    if (null == file) {
+      return;
+    }
+
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException e) {
+      Logger.warning("Failed to delete %s: %s", file, e.getMessage());
+    }
+  }
+
+  private static boolean isTokenValid(final String line, final String token) {
+    return null != line && MessageDigest.isEqual(
+        line.getBytes(StandardCharsets.UTF_8),
+        (TOKEN + token).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Reduces the message to one line, so that it does not break the reply format.
+   */
+  private static String toOneLine(final Throwable e) {
+    final String message = null != e.getMessage() ? e.getMessage() : e.toString();
+    return message.replaceAll("\\s*[\\r\\n]+\\s*", " ").trim();
+  }
+
+  private static boolean processJob(
+      final Socket socket,
+      final String token,
+      final Map<String, String> configuration,
+      final List<Plugin> plugins) throws IOException {
+    final BufferedReader reader = new BufferedReader(
+        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    final PrintWriter writer = new PrintWriter(
+        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+
+    if (!isTokenValid(reader.readLine(), token)) {
+      Logger.warning("Rejected a job with an invalid token.");
+      writer.println("status error Invalid token");
+      return true;
+    }
+
+    final List<String> args = new ArrayList<>();
+    for (String line = reader.readLine(); null != line && !line.isEmpty();
+        line = reader.readLine()) {
+      args.add(line);
+    }
+
+    if (args.size() == 1 && STOP.equals(args.get(0))) {
+      writer.println("status ok");
+      return false;
+    }
+
+    final OptionReader optionReader =
+        new OptionReader(configuration, args.toArray(new String[args.size()]));
+
+    try {
+      optionReader.read();
+    } catch (final Exception e) {
+      writer.println("status error Incorrect command line: " + toOneLine(e));
+      return true;
+    }
+
+    final Options options = optionReader.getOptions();
+    final String[] arguments = optionReader.getArguments();
+
+    if (arguments.length != 2) {
+      writer.println("status error Argument format: <model name>, <template file>");
+      return true;
+    }
+
+    Logger.setDebug(options.getValueAsBoolean(Option.VERBOSE));
+    Logger.message("Processing job: %s", String.join(" ", args));
+
+    final Path outDir = Paths.get(Printer.getOutDir(options));
+    final Map<Path, Long> outFiles = listFiles(outDir);
+
+    final boolean status;
+    final Statistics statistics;
+
+    try {
+      status = TestEngine.generate(options, arguments[0], arguments[1], plugins);
+      statistics = null != TestEngine.getInstance()
+          ? TestEngine.getInstance().getStatistics() : null;
+    } catch (final Throwable e) {
+      Logger.error("Job failed: %s", e.getMessage());
+      writer.println("status error " + toOneLine(e));
+      return true;
+    } finally {
+      TestEngine.reset();
+    }
+
+    for (final Map.Entry<Path, Long> entry : listFiles(outDir).entrySet()) {
+      final Long lastModified = outFiles.get(entry.getKey());
+      if (null == lastModified || lastModified < entry.getValue()) {
+        writer.println("file " + entry.getKey().toAbsolutePath());
+      }
+    }
+
+    if (null != statistics) {
+      writer.println("statistics " + toString(statistics));
+    }
+
+    writer.println(status ? "status ok" : "status failed");
+    return true;
+  }
+
+  private static Map<Path, Long> listFiles(final Path dir) throws IOException {
+    final Map<Path, Long> result = new HashMap<>();
+
+    if (Files.isDirectory(dir)) {
+      try (final DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+        for (final Path file : files) {
+          if (Files.isRegularFile(file)) {
+            result.put(file, Files.getLastModifiedTime(file).toMillis());
+          }
+        }
+      }
+    }
+
+    return result;
+  }
+
+  private static String toString(final Statistics statistics) {
+    final StringBuilder builder = new StringBuilder();
+
+    builder.append(String.format("programs=%d data-files=%d sequences=%d instructions=%d "
+        + "trace-length=%d total-time=%d",
+        statistics.getPrograms(),
+        statistics.getDataFiles(),
+        statistics.getSequences(),
+        statistics.getInstructions(),
+        statistics.getTotalTraceLength(),
+        statistics.getTotalTime()));
+
+    for (final Statistics.Activity activity : Statistics.Activity.values()) {
+      builder.append(String.format(" %s-time=%d",
+          activity.name().toLowerCase(), statistics.getTimeMetric(activity)));
+    }
+
+    return builder.toString();
+  }
+}
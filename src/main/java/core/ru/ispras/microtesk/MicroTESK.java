@@ -20,13 +20,12 @@ import ru.ispras.microtesk.options.Option;
 import ru.ispras.microtesk.options.OptionReader;
 import ru.ispras.microtesk.options.Options;
 import ru.ispras.microtesk.test.TestEngine;
-import ru.ispras.microtesk.test.engine.Engine;
 import ru.ispras.microtesk.test.engine.EngineConfig;
-import ru.ispras.microtesk.test.engine.InitializerMaker;
 import ru.ispras.microtesk.tools.Disassembler;
 import ru.ispras.microtesk.tools.symexec.SymbolicExecutor;
 import ru.ispras.microtesk.tools.templgen.TemplateGenerator;
 import ru.ispras.microtesk.tools.transform.TraceTransformer;
+import ru.ispras.microtesk.translator.TranslationCache;
 import ru.ispras.microtesk.translator.Translator;
 import ru.ispras.microtesk.translator.TranslatorContext;
 import ru.ispras.testbase.TestBase;
@@ -36,8 +35,10 @@ import ru.ispras.testbase.generator.DataGenerator;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -98,19 +99,8 @@ public final class MicroTESK {
         translators.add(translator);
       }
 
-      final EngineConfig generatorConfig = EngineConfig.get();
-
-      // Register the engines.
-      final Map<String, Engine> engines = plugin.getEngines();
-      for (final Map.Entry<String, Engine> entry : engines.entrySet()) {
-        generatorConfig.registerEngine(entry.getKey(), entry.getValue());
-      }
-
-      // Register the adapters.
-      final Map<String, InitializerMaker> initializerMakers  = plugin.getInitializerMakers();
-      for (final Map.Entry<String, InitializerMaker> entry : initializerMakers.entrySet()) {
-        generatorConfig.registerInitializerMaker(entry.getKey(), entry.getValue());
-      }
+      // Register the engines and the adapters (each session gets its own instances).
+      EngineConfig.registerPlugin(plugin);
 
       // Register the data generators.
       final TestBaseRegistry testBaseRegistry = TestBase.get().getRegistry();
@@ -138,6 +128,8 @@ public final class MicroTESK {
       return symbolicExecute(options, arguments);
     } else if (options.getValueAsBoolean(Option.TRANSFORM_TRACE)) {
       return transformTrace(options, arguments);
+    } else if (options.getValueAsBoolean(Option.SERVER)) {
+      return GenerationServer.serve(options, plugins);
     } else {
       return translate(options, arguments);
     }
@@ -145,12 +137,14 @@ public final class MicroTESK {
 
   private static boolean translate(final Options options, final String[] arguments) {
     final Set<String> revisionSet = loadRevisions(options, arguments);
-    final TranslatorContext context = new TranslatorContext();
-    for (final Translator<?> translator : translators) {
-      if (!translator.translate(options, context, revisionSet, arguments)) {
-        Logger.message("Translation was aborted.");
-        return false;
-      }
+    final TranslationCache cache = new TranslationCache(
+        Paths.get(options.getValueAsString(Option.OUTPUT_DIR)), options, revisionSet, arguments);
+
+    if (cache.isUpToDate()) {
+      Logger.message("Translation is skipped: specifications have not changed.");
+    } else if (!translate(options, revisionSet, arguments, cache)) {
+      Logger.message("Translation was aborted.");
+      return false;
     }
 
     // Copies user-defined Java code to the output folder.
@@ -162,6 +156,47 @@ public final class MicroTESK {
     return true;
   }
 
+  private static boolean translate(
+      final Options options,
+      final Set<String> revisionSet,
+      final String[] arguments,
+      final TranslationCache cache) {
+    final Path stagingDir;
+    try {
+      stagingDir = cache.newStagingDir();
+    } catch (final IOException e) {
+      Logger.error("Failed to create a staging directory: %s", e.getMessage());
+      return false;
+    }
+
+    // Translators write to the staging directory, which is then merged into the output one.
+    options.setValue(Option.OUTPUT_DIR, stagingDir.toString());
+
+    final TranslatorContext context = new TranslatorContext();
+    final Set<String> sourceFiles = new LinkedHashSet<>();
+
+    try {
+      for (final Translator<?> translator : translators) {
+        if (!translator.translate(options, context, revisionSet, arguments)) {
+          cache.discard(stagingDir);
+          return false;
+        }
+        sourceFiles.addAll(translator.getSourceFiles());
+      }
+    } finally {
+      options.setValue(Option.OUTPUT_DIR, cache.getOutDir().toString());
+    }
+
+    try {
+      cache.commit(stagingDir, sourceFiles);
+    } catch (final IOException e) {
+      Logger.error("Failed to update %s: %s", cache.getOutDir(), e.getMessage());
+      return false;
+    }
+
+    return true;
+  }
+
   private static Set<String> loadRevisions(
       final Options options, final String[] arguments) {
     final String revisionId = options.getValueAsString(Option.REV_ID);
@@ -23,16 +23,54 @@ import ru.ispras.microtesk.options.Option;
 import ru.ispras.microtesk.options.Options;
 
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The {@link RubyRunner} class runs test template scripts with JRuby.
  *
+ * <p>Each template is run in a separate container. In the server mode, containers are created
+ * and initialized in advance by a pool (see {@link #startPool(Options, int)}) to hide the JRuby
+ * startup time. A container is never used twice, which guarantees that no Ruby state is shared
+ * by different templates.</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 final class RubyRunner {
   private RubyRunner() {}
 
+  private static ContainerPool pool = null;
+
+  /**
+   * Starts creating containers for subsequent template runs in a background thread.
+   *
+   * @param options Options that set up the run configuration.
+   * @param size Number of containers to be kept ready.
+   */
+  static synchronized void startPool(final Options options, final int size) {
+    InvariantChecks.checkNotNull(options);
+    InvariantChecks.checkGreaterThanZero(size);
+    InvariantChecks.checkTrue(null == pool);
+
+    setThreadPoolMax(options);
+    pool = new ContainerPool(size);
+  }
+
+  /**
+   * Stops the pool and releases the containers it has created.
+   */
+  static synchronized void stopPool() {
+    if (null != pool) {
+      pool.shutdown();
+      pool = null;
+    }
+  }
+
   /**
    * Runs the specified test template to generate a set of test programs.
    *
@@ -47,29 +85,111 @@ final class RubyRunner {
     InvariantChecks.checkNotNull(options);
     InvariantChecks.checkNotNull(templateFile);
 
-    final String homeDir = SysUtils.getHomeDir();
-    final String rubyMainPath = Paths.get(homeDir, "lib", "ruby", "microtesk.rb").toString();
+    final ScriptingContainer container;
+    final boolean pooled;
+
+    synchronized (RubyRunner.class) {
+      pooled = null != pool;
+      if (pooled) {
+        container = pool.take();
+        // The runtime is already initialized: ARGV cannot be set up with setArgv.
+        container.put("$template_file", templateFile);
+        container.runScriptlet("ARGV.replace([$template_file])");
+      } else {
+        setThreadPoolMax(options);
+        container = newContainer();
+        container.setArgv(new String[] { templateFile });
+      }
+    }
+
+    // To make sure that @code THREADPOOL_MAX has an expected value.
+    //Logger.message("THREADPOOL_MAX=%d", org.jruby.util.cli.Options.THREADPOOL_MAX.load());
+
+    try {
+      container.runScriptlet(PathType.ABSOLUTE, getRubyPath("microtesk.rb"));
+    } catch (final org.jruby.embed.EvalFailedException e) {
+      // JRuby wraps exceptions that occur in Java libraries it calls into
+      // EvalFailedException. To handle them correctly, we need to unwrap them.
+      throw e.getCause();
+    } finally {
+      if (pooled) {
+        container.terminate();
+      }
+    }
+  }
 
+  private static void setThreadPoolMax(final Options options) {
     // Number of threads used by JRuby can be limited to prevent hitting OS limit.
     org.jruby.util.cli.Options.THREADPOOL_MAX.force(
         options.getValue(Option.JRUBY_THREAD_POOL_MAX).toString());
+  }
 
+  private static String getRubyPath(final String fileName) {
+    return Paths.get(SysUtils.getHomeDir(), "lib", "ruby", fileName).toString();
+  }
+
+  private static ScriptingContainer newContainer() {
     final ScriptingContainer container = new ScriptingContainer(LocalContextScope.THREADSAFE);
 
     container.clear();
-    container.setArgv(new String[] { templateFile });
     // This line is to write "requires 'base_template'" instead of "requires '../base_template'".
     container.setLoadPaths(Arrays.asList(new String[] {".", ".."}));
 
-    // To make sure that @code THREADPOOL_MAX has an expected value.
-    //Logger.message("THREADPOOL_MAX=%d", org.jruby.util.cli.Options.THREADPOOL_MAX.load());
+    return container;
+  }
 
-    try {
-      container.runScriptlet(PathType.ABSOLUTE, rubyMainPath);
-    } catch (final org.jruby.embed.EvalFailedException e) {
-      // JRuby wraps exceptions that occur in Java libraries it calls into
-      // EvalFailedException. To handle them correctly, we need to unwrap them.
-      throw e.getCause();
+  private static ScriptingContainer newInitializedContainer() {
+    final ScriptingContainer container = newContainer();
+
+    // Loads the template library (microtesk.rb requires the same file and does not reload it).
+    container.put("$template_library", getRubyPath("template"));
+    container.runScriptlet("require 'java'; require $template_library");
+
+    return container;
+  }
+
+  private static final class ContainerPool {
+    private final ExecutorService executor;
+    private final Deque<Future<ScriptingContainer>> containers;
+
+    private ContainerPool(final int size) {
+      this.executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "jruby-container-pool");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+      this.containers = new ArrayDeque<>(size);
+      for (int index = 0; index < size; index++) {
+        containers.add(executor.submit(RubyRunner::newInitializedContainer));
+      }
+    }
+
+    private ScriptingContainer take() throws Throwable {
+      final Future<ScriptingContainer> container = containers.remove();
+      containers.add(executor.submit(RubyRunner::newInitializedContainer));
+
+      try {
+        return container.get();
+      } catch (final ExecutionException e) {
+        throw e.getCause();
+      }
+    }
+
+    private void shutdown() {
+      executor.shutdownNow();
+
+      for (final Future<ScriptingContainer> container : containers) {
+        if (container.isDone() && !container.isCancelled()) {
+          try {
+            container.get().terminate();
+          } catch (final InterruptedException | ExecutionException e) {
+            // The container was not created, nothing to release.
+          }
+        }
+      }
+
+      containers.clear();
     }
   }
 }
@@ -19,6 +19,7 @@ import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.model.Model;
 import ru.ispras.microtesk.model.ModelBuilder;
 import ru.ispras.microtesk.translator.codegen.PackageInfo;
+import ru.ispras.microtesk.utils.Session;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -27,6 +28,9 @@ import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Pattern;
 
 /**
@@ -90,21 +94,55 @@ public final class SysUtils {
   public static Model loadModel(final String modelName) {
     InvariantChecks.checkNotNull(modelName);
 
-    Model model = LOADED_MODELS.get(modelName);
+    // Models are stateful: each session uses its own instances.
+    final Map<String, Model> loadedModels = Session.get().get(LOADED_MODELS);
+
+    Model model = loadedModels.get(modelName);
     if (model == null) {
+      final Queue<Model> idleModels = IDLE_MODELS.get(modelName);
+      model = null != idleModels ? idleModels.poll() : null;
+
+      // Models are returned to the pool with the state left by the previous run.
+      if (model != null) {
+        model.removeStateManagers();
+        model.resetState();
+      }
+    }
+
+    if (model != null) {
+      loadedModels.put(modelName, model);
+    } else {
       final String modelClassName = String.format(
           "%s.%s.Model", PackageInfo.MODEL_PACKAGE, modelName);
 
       final ModelBuilder builder = (ModelBuilder) loadFromModel(modelClassName);
       if (builder != null) {
         model = builder.build();
-        LOADED_MODELS.put(modelName, model);
+        loadedModels.put(modelName, model);
       }
     }
     return model;
   }
 
-  private static final Map<String, Model> LOADED_MODELS = new java.util.HashMap<>();
+  /**
+   * Returns the model used by the current session to the pool of idle models, which are reused
+   * by other sessions. The session must not use the model after that.
+   *
+   * @param modelName Model name.
+   */
+  public static void releaseModel(final String modelName) {
+    InvariantChecks.checkNotNull(modelName);
+
+    final Model model = Session.get().get(LOADED_MODELS).remove(modelName);
+    if (model != null) {
+      IDLE_MODELS.computeIfAbsent(modelName, name -> new ConcurrentLinkedQueue<>()).offer(model);
+    }
+  }
+
+  private static final Session.Key<Map<String, Model>> LOADED_MODELS =
+      Session.newKey(java.util.HashMap::new);
+
+  private static final Map<String, Queue<Model>> IDLE_MODELS = new ConcurrentHashMap<>();
 
   /**
    * Loads a class with the specified name from {@code models.jar}.
@@ -117,14 +155,8 @@ public final class SysUtils {
    */
   public static Object loadFromModel(final String className) {
     InvariantChecks.checkNotNull(className);
-    if (MODEL_LOADER == null) try {
-      var url = getModelsJarPath().toUri().toURL();
-      MODEL_LOADER = new URLClassLoader(new URL[] { url });
-    } catch (MalformedURLException e) {
-      throw new IllegalStateException("Invalid path configuration", e);
-    }
     try {
-      return MODEL_LOADER.loadClass(className).getDeclaredConstructor().newInstance();
+      return getModelLoader().loadClass(className).getDeclaredConstructor().newInstance();
     } catch (ReflectiveOperationException e) {
       throw new TypeNotPresentException(className, e);
     }
@@ -132,6 +164,16 @@ public final class SysUtils {
 
   private static URLClassLoader MODEL_LOADER = null;
 
+  private static synchronized URLClassLoader getModelLoader() {
+    if (MODEL_LOADER == null) try {
+      var url = getModelsJarPath().toUri().toURL();
+      MODEL_LOADER = new URLClassLoader(new URL[] { url });
+    } catch (MalformedURLException e) {
+      throw new IllegalStateException("Invalid path configuration", e);
+    }
+    return MODEL_LOADER;
+  }
+
   /**
    * Loads a plug-in implemented by the specified class from {@code microtesk.jar}.
    *
@@ -14,16 +14,16 @@
 
 package ru.ispras.microtesk.model;
 
-import static ru.ispras.microtesk.model.Execution.CALL_STACK;
-
 import com.unitesk.aspectrace.TraceMessage;
 import com.unitesk.aspectrace.TraceNode;
 import com.unitesk.aspectrace.Tracer;
 import ru.ispras.castle.util.Logger;
 import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.utils.Session;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * The {@link Aspectracer} class is responsible for printing Aspectrace traces.
@@ -40,30 +40,43 @@ public final class Aspectracer {
 
   private int fileCount;
 
-  private static Aspectracer instance = null;
-  private static boolean enabled = true;
+  /** Aspectracer of a generation session. */
+  private static final class State {
+    private Aspectracer instance = null;
+    private boolean enabled = true;
+  }
+
+  private static final Session.Key<State> STATE = Session.newKey(State::new);
+
+  private static State getState() {
+    return Session.get().get(STATE);
+  }
 
   public static void initialize(final String filePath, final String filePrefix) {
-      // TODO: InvariantChecks.checkTrue(null == instance);
-    if (instance != null) {
+    final State state = getState();
+
+      // TODO: InvariantChecks.checkTrue(null == state.instance);
+    if (state.instance != null) {
       Logger.message("Tracer is already initialized.", "");
     }
-    instance = new Aspectracer(filePath, null != filePrefix ? filePrefix : FILE_PREFIX);
+    state.instance = new Aspectracer(filePath, null != filePrefix ? filePrefix : FILE_PREFIX);
   }
 
   public static void shutdown() {
-    instance = null;
+    getState().instance = null;
   }
 
   public static boolean isEnabled() {
-    return null != instance && enabled;
+    final State state = getState();
+    return null != state.instance && state.enabled;
   }
 
   public static void setEnabled(final boolean value) {
-    enabled = value;
+    getState().enabled = value;
   }
 
   public static String createFile() throws IOException {
+    final Aspectracer instance = getState().instance;
     if (instance != null) {
       return instance.create();
     }
@@ -71,12 +84,14 @@ public final class Aspectracer {
   }
 
   public static void closeFile() {
+    final Aspectracer instance = getState().instance;
     if (instance != null) {
       instance.close();
     }
   }
 
   public static void addInstrPath(final String mark) {
+    final Aspectracer instance = getState().instance;
     if (instance != null && isEnabled()) {
       instance.printToTrace(mark);
     }
@@ -107,11 +122,12 @@ public final class Aspectracer {
   }
 
   private void printToTrace(final String mark) {
+    final List<IsaPrimitive> callStack = Execution.getCallStack();
     StringBuilder buf = new StringBuilder();
-    for (int i = 0; i < CALL_STACK.size() - 1 ; ++i) {
-      buf.append(CALL_STACK.get(i).getName() + ".");
+    for (int i = 0; i < callStack.size() - 1 ; ++i) {
+      buf.append(callStack.get(i).getName() + ".");
     }
-    buf.append(CALL_STACK.get(CALL_STACK.size() - 1).getName());
+    buf.append(callStack.get(callStack.size() - 1).getName());
     if (mark != null) {
       buf.append(".");
       buf.append(mark);
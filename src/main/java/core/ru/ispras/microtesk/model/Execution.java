@@ -17,8 +17,10 @@ package ru.ispras.microtesk.model;
 import ru.ispras.castle.util.Logger;
 import ru.ispras.microtesk.model.data.Data;
 import ru.ispras.microtesk.test.GenerationAbortedException;
+import ru.ispras.microtesk.utils.Session;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The {@link Execution} class implements the execution environment.
@@ -30,10 +32,23 @@ import java.util.ArrayList;
 public final class Execution {
   private Execution() { }
 
-  /** Tracks execution of primitives. */
-  public static final ArrayList<IsaPrimitive> CALL_STACK = new ArrayList<>();
+  /** Execution state of a generation session. */
+  private static final class State {
+    /** Tracks execution of primitives. */
+    private final List<IsaPrimitive> callStack = new ArrayList<>();
+    private boolean assertionsEnabled = false;
+  }
+
+  private static final Session.Key<State> STATE = Session.newKey(State::new);
 
-  private static boolean assertionsEnabled = false;
+  /**
+   * Returns the stack of primitives being executed in the current session.
+   *
+   * @return Call stack.
+   */
+  public static List<IsaPrimitive> getCallStack() {
+    return Session.get().get(STATE).callStack;
+  }
 
   public static void exception(final String text) {
     Logger.debug("Exception has been raised: %s", text);
@@ -59,7 +74,9 @@ public final class Execution {
 
   public static void mark(final String name) {
     Aspectracer.addInstrPath(name);
-    CALL_STACK.get(CALL_STACK.size() - 1).terminal = false;
+
+    final List<IsaPrimitive> callStack = getCallStack();
+    callStack.get(callStack.size() - 1).terminal = false;
   }
 
   public static void assertion(final boolean condition) {
@@ -67,7 +84,7 @@ public final class Execution {
   }
 
   public static void assertion(final boolean condition, final String message) {
-    if (condition || !assertionsEnabled) {
+    if (condition || !Session.get().get(STATE).assertionsEnabled) {
       return;
     }
 
@@ -81,7 +98,7 @@ public final class Execution {
   }
 
   public static void setAssertionsEnabled(final boolean value) {
-    assertionsEnabled = value;
+    Session.get().get(STATE).assertionsEnabled = value;
   }
 
   public abstract static class InternalVariable {
@@ -14,17 +14,22 @@
 
 package ru.ispras.microtesk.model;
 
+import ru.ispras.fortress.data.types.bitvector.BitVector;
 import ru.ispras.fortress.util.InvariantChecks;
 
 /**
  * The {@link InstructionCall} class provides methods to run execution
  * simulation of some instruction within the processor model.
  *
+ * <p>The image of the call is built once and kept in the packed form. It must be reset
+ * with {@link #resetImage()} when an argument of the call is patched.</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class InstructionCall {
   private final TemporaryVariables temporaryVariables;
   private final IsaPrimitive instruction;
+  private BitVector image;
   private int byteSize;
 
   /**
@@ -46,6 +51,7 @@ public final class InstructionCall {
     this.temporaryVariables = temporaryVariables;
     this.instruction = instruction;
 
+    this.image = null;
     this.byteSize = -1;
   }
 
@@ -81,10 +87,25 @@ public final class InstructionCall {
   /**
    * Returns image (binary representation) of the instruction call.
    *
+   * <p>The returned bit vector is shared and must not be modified.</p>
+   *
    * @return Image (binary representation) of the instruction call.
    */
-  public String getImage() {
-    return instruction.image(temporaryVariables);
+  public BitVector getImage() {
+    if (null == image) {
+      final String text = instruction.image(temporaryVariables);
+      image = BitVector.valueOf(text, 2, text.length());
+    }
+
+    return image;
+  }
+
+  /**
+   * Discards the image of the instruction call. This must be done when an argument of the call
+   * is changed (for example, when a label reference is patched with the label address).
+   */
+  public void resetImage() {
+    image = null;
   }
 
   /**
@@ -94,8 +115,7 @@ public final class InstructionCall {
    */
   public int getByteSize() {
     if (-1 == byteSize) {
-      final int bitSize = getImage().length();
-      byteSize = bitSize % 8 == 0 ? bitSize / 8 : bitSize / 8 + 1;
+      byteSize = getImage().getByteSize();
     }
 
     return byteSize;
@@ -103,6 +123,7 @@ public final class InstructionCall {
 
   @Override
   public String toString() {
-    return String.format("%s : %s : %d bytes", getText(), getImage(), byteSize);
+    return String.format(
+        "%s : %s : %d bytes", getText(), getImage().toBinString(), getByteSize());
   }
 }
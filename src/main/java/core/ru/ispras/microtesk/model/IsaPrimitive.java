@@ -14,7 +14,6 @@
 
 package ru.ispras.microtesk.model;
 
-import static ru.ispras.microtesk.model.Execution.CALL_STACK;
 import static ru.ispras.microtesk.translator.nml.ir.primitive.Primitive.Modifier;
 
 import ru.ispras.castle.util.Logger;
@@ -23,6 +22,7 @@ import ru.ispras.microtesk.model.memory.Location;
 import ru.ispras.microtesk.test.template.LabelReference;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -67,7 +67,8 @@ public abstract class IsaPrimitive {
    * @return Name of the executed primitive.
    */
   public static String getCurrentOperation() {
-    return CALL_STACK.isEmpty() ? "" : CALL_STACK.get(CALL_STACK.size() - 1).getName();
+    final List<IsaPrimitive> callStack = Execution.getCallStack();
+    return callStack.isEmpty() ? "" : callStack.get(callStack.size() - 1).getName();
   }
 
   /**
@@ -178,9 +179,10 @@ public abstract class IsaPrimitive {
    */
   public final void execute(final ProcessingElement processingElement,
       final TemporaryVariables temporaryVariables) {
+    final List<IsaPrimitive> callStack = Execution.getCallStack();
     try {
       if (modifier != Modifier.PSEUDO) {
-        CALL_STACK.add(this);
+        callStack.add(this);
       }
       action(processingElement, temporaryVariables);
     } finally {
@@ -188,10 +190,10 @@ public abstract class IsaPrimitive {
         Aspectracer.addInstrPath(null);
       }
       if (modifier != Modifier.PSEUDO) {
-        CALL_STACK.remove(this);
+        callStack.remove(this);
       }
-      if (CALL_STACK.size() != 0) {
-        CALL_STACK.get(CALL_STACK.size() - 1).terminal = false;
+      if (callStack.size() != 0) {
+        callStack.get(callStack.size() - 1).terminal = false;
       }
     }
   }
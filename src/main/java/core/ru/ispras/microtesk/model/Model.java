@@ -211,7 +211,19 @@ public final class Model implements ModelStateManager {
 
   public void addStateManager(final ModelStateManager stateManager) {
     InvariantChecks.checkNotNull(stateManager);
-    stateManagers.add(stateManager);
+
+    // Plugins register their state managers for each generation run.
+    if (!stateManagers.contains(stateManager)) {
+      stateManagers.add(stateManager);
+    }
+  }
+
+  /**
+   * Removes the state managers registered by plugins. This is done when the model is reused
+   * by a new generation run, which registers its own state managers.
+   */
+  public void removeStateManagers() {
+    stateManagers.clear();
   }
 
   public void initMemoryAllocator(
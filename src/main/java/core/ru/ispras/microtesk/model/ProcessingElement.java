@@ -91,6 +91,10 @@ public abstract class ProcessingElement {
   /**
    * Creates a new copy of PE state. Shared resources can be shared or cloned.
    *
+   * <p>Register files and memory storages are copied on write: the copy shares data with
+   * the original until either of them is modified. This makes copying cheap, which is
+   * important for temporary states used in presimulation.</p>
+   *
    * @param shared Specifies whether resources marked as shared must be shared or cloned.
    * @return New copy.
    */
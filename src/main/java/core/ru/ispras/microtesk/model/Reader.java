@@ -20,6 +20,7 @@ import ru.ispras.fortress.util.Value;
 import ru.ispras.microtesk.model.memory.Location;
 import ru.ispras.microtesk.model.memory.LocationAccessor;
 import ru.ispras.microtesk.model.metadata.MetaAddressingMode;
+import ru.ispras.microtesk.utils.Session;
 
 import java.math.BigInteger;
 
@@ -32,11 +33,15 @@ import java.math.BigInteger;
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class Reader {
-  private static Model model = null;
+  private static final Session.Key<Model> MODEL = Session.newKey(null);
 
   public static void setModel(final Model model) {
     InvariantChecks.checkNotNull(model);
-    Reader.model = model;
+    Session.get().set(MODEL, model);
+  }
+
+  private static Model getModel() {
+    return Session.get().get(MODEL);
   }
 
   public static Value<BitVector> fromMemory(
@@ -53,6 +58,8 @@ public final class Reader {
       final String name,
       final BigInteger... args) {
     InvariantChecks.checkNotNull(name);
+
+    final Model model = getModel();
     InvariantChecks.checkNotNull(model);
 
     final MetaAddressingMode metaMode = model.getMetaData().getAddressingMode(name);
@@ -89,6 +96,7 @@ public final class Reader {
     }
 
     private LocationAccessor getLocation() {
+      final Model model = getModel();
       InvariantChecks.checkNotNull(model, "Model is not initialized!");
 
       try {
@@ -116,6 +124,7 @@ public final class Reader {
 
     @Override
     public BitVector value() {
+      final Model model = getModel();
       final Location location = mode.access(model.getPE(), model.getTempVars());
       return location.toBitVector();
     }
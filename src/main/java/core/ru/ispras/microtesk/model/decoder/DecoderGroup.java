@@ -22,6 +22,7 @@ import java.util.List;
 
 public abstract class DecoderGroup extends Decoder {
   private final List<Decoder> decoderList;
+  private DecoderTree decoderTree;
 
   protected DecoderGroup(
       final int maxImageSize,
@@ -29,6 +30,7 @@ public abstract class DecoderGroup extends Decoder {
       final String opcMask) {
     super(maxImageSize, imageSizeFixed, null, opcMask);
     this.decoderList = new ArrayList<>();
+    this.decoderTree = null;
   }
 
   protected final void add(final Decoder decoder) {
@@ -37,12 +39,32 @@ public abstract class DecoderGroup extends Decoder {
     InvariantChecks.checkTrue(isImageSizeFixed() ? decoder.isImageSizeFixed() : true);
 
     decoderList.add(decoder);
+    decoderTree = null;
+  }
+
+  /**
+   * Builds a decision tree to dispatch images to the group items by their opcodes.
+   * Must be called when all items have been added. Nested groups are flattened.
+   */
+  protected final void buildDecoderTree() {
+    final List<Decoder> decoders = new ArrayList<>();
+    collectDecoders(decoders);
+    decoderTree = new DecoderTree(decoders);
+  }
+
+  private void collectDecoders(final List<Decoder> decoders) {
+    for (final Decoder decoder : decoderList) {
+      if (decoder instanceof DecoderGroup) {
+        ((DecoderGroup) decoder).collectDecoders(decoders);
+      } else {
+        decoders.add(decoder);
+      }
+    }
   }
 
   @Override
   public final DecoderResult decode(final BitVector image) {
-    // TODO: It seems to be very slow.
-    return decodeUsingDecoderList(image);
+    return null != decoderTree ? decoderTree.decode(image) : decodeUsingDecoderList(image);
   }
 
   private DecoderResult decodeUsingDecoderList(final BitVector image) {
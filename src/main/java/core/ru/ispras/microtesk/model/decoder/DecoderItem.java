@@ -20,8 +20,23 @@ import ru.ispras.microtesk.model.IsaPrimitive;
 import ru.ispras.microtesk.model.data.Data;
 import ru.ispras.microtesk.model.data.Type;
 
+/**
+ * {@link DecoderItem} is a base class for generated decoders of individual primitives.
+ *
+ * <p>The read position is kept in a {@link Position} object created for each call of
+ * {@link #decode(BitVector)}. Therefore, a decoder can be used by several threads at once.</p>
+ */
 public abstract class DecoderItem extends Decoder {
-  private int position = 0;
+  /**
+   * {@link Position} is the number of image bits read by a single decoding call.
+   */
+  protected static final class Position {
+    private int value = 0;
+
+    public void reset() {
+      value = 0;
+    }
+  }
 
   protected DecoderItem(
       final int maxImageSize,
@@ -31,45 +46,50 @@ public abstract class DecoderItem extends Decoder {
     super(maxImageSize, imageSizeFixed, opc, opcMask);
   }
 
-  protected final void resetPosition() {
-    position = 0;
-  }
-
-  protected final boolean matchNextOpc(final BitVector image, final BitVector value) {
-    final int newPosition = position + value.getBitSize();
-    final BitVector field = field(image, position, newPosition - 1);
+  protected final boolean matchNextOpc(
+      final Position position,
+      final BitVector image,
+      final BitVector value) {
+    final int newPosition = position.value + value.getBitSize();
+    final BitVector field = field(image, position.value, newPosition - 1);
 
     if (!field.equals(value)) {
       return false;
     }
 
-    position = newPosition;
+    position.value = newPosition;
     return true;
   }
 
-  protected final Immediate readNextImmediate(final BitVector image, final Type type) {
-    final int newPosition = position + type.getBitSize();
-    final BitVector field = field(image, position, newPosition - 1);
+  protected final Immediate readNextImmediate(
+      final Position position,
+      final BitVector image,
+      final Type type) {
+    final int newPosition = position.value + type.getBitSize();
+    final BitVector field = field(image, position.value, newPosition - 1);
 
-    position = newPosition;
+    position.value = newPosition;
     return new Immediate(new Data(type, field));
   }
 
-  protected final IsaPrimitive readNextPrimitive(final BitVector image, final Decoder decoder) {
+  protected final IsaPrimitive readNextPrimitive(
+      final Position position,
+      final BitVector image,
+      final Decoder decoder) {
     final BitVector field =
-        field(image, position, position + decoder.getMaxImageSize() - 1);
+        field(image, position.value, position.value + decoder.getMaxImageSize() - 1);
 
     final DecoderResult result = decoder.decode(field);
     if (null == result) {
       return null;
     }
 
-    position += result.getBitSize();
+    position.value += result.getBitSize();
     return result.getPrimitive();
   }
 
-  protected final DecoderResult newResult(final IsaPrimitive primitive) {
-    return new DecoderResult(primitive, position);
+  protected final DecoderResult newResult(final Position position, final IsaPrimitive primitive) {
+    return new DecoderResult(primitive, position.value);
   }
 
   private static BitVector field(final BitVector vector, final int start, final int end) {
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.model.decoder;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link DecoderTree} is a decision tree that dispatches an instruction image to the decoders
+ * whose opcodes can match it.
+ *
+ * <p>Each node of the tree reads several opcode bits of the image and uses them as an index
+ * in a table of child nodes. Only the bits that are covered by the opcode masks of all node
+ * decoders and distinguish their opcodes are used. Decoders that have no opcode are placed into
+ * all child nodes. Leaf nodes scan their decoders linearly in the original order. Therefore,
+ * decoding gives the same result as scanning the whole list, but costs about O(depth).</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+final class DecoderTree {
+  /** Maximum number of opcode bits used by a single node. */
+  private static final int MAX_INDEX_BITS = 8;
+
+  /** Nodes that contain no more decoders than this are scanned linearly. */
+  private static final int MAX_LEAF_SIZE = 2;
+
+  private final Node root;
+
+  public DecoderTree(final List<Decoder> decoders) {
+    InvariantChecks.checkNotNull(decoders);
+    this.root = newNode(decoders);
+  }
+
+  public DecoderResult decode(final BitVector image) {
+    return root.decode(image);
+  }
+
+  private static final class Node {
+    private final Decoder[] decoders;
+    private final int[] indexBits;
+    private final int minImageSize;
+    private final Node[] children;
+
+    private Node(final List<Decoder> decoders) {
+      this(decoders, null, 0, null);
+    }
+
+    private Node(
+        final List<Decoder> decoders,
+        final int[] indexBits,
+        final int minImageSize,
+        final Node[] children) {
+      this.decoders = decoders.toArray(new Decoder[decoders.size()]);
+      this.indexBits = indexBits;
+      this.minImageSize = minImageSize;
+      this.children = children;
+    }
+
+    private DecoderResult decode(final BitVector image) {
+      if (null == children || image.getBitSize() < minImageSize) {
+        return decodeLinear(image);
+      }
+
+      int index = 0;
+      for (final int bit : indexBits) {
+        index = (index << 1) | (image.getBit(bit) ? 1 : 0);
+      }
+
+      final Node child = children[index];
+      return null != child ? child.decode(image) : null;
+    }
+
+    private DecoderResult decodeLinear(final BitVector image) {
+      for (final Decoder decoder : decoders) {
+        final DecoderResult result = decoder.decode(image);
+        if (null != result) {
+          return result;
+        }
+      }
+
+      return null;
+    }
+  }
+
+  private static Node newNode(final List<Decoder> decoders) {
+    if (decoders.size() <= MAX_LEAF_SIZE) {
+      return new Node(decoders);
+    }
+
+    final List<Decoder> opcDecoders = new ArrayList<>(decoders.size());
+    int commonMaskSize = Integer.MAX_VALUE;
+
+    for (final Decoder decoder : decoders) {
+      if (hasOpc(decoder)) {
+        opcDecoders.add(decoder);
+        commonMaskSize = Math.min(commonMaskSize, decoder.getOpcMask().getBitSize());
+      }
+    }
+
+    if (opcDecoders.size() <= 1) {
+      return new Node(decoders);
+    }
+
+    final int[] indexBits = selectIndexBits(opcDecoders, commonMaskSize);
+    if (0 == indexBits.length) {
+      return new Node(decoders);
+    }
+
+    final List<List<Decoder>> buckets = new ArrayList<>(1 << indexBits.length);
+    for (int index = 0; index < (1 << indexBits.length); index++) {
+      buckets.add(new ArrayList<Decoder>());
+    }
+
+    // Order within buckets must be preserved: the first matching decoder wins.
+    for (final Decoder decoder : decoders) {
+      if (hasOpc(decoder)) {
+        buckets.get(getIndex(decoder.getOpc(), indexBits)).add(decoder);
+      } else {
+        for (final List<Decoder> bucket : buckets) {
+          bucket.add(decoder);
+        }
+      }
+    }
+
+    final Node[] children = new Node[buckets.size()];
+    for (int index = 0; index < children.length; index++) {
+      final List<Decoder> bucket = buckets.get(index);
+      children[index] = bucket.isEmpty() ? null : newNode(bucket);
+    }
+
+    int minImageSize = 0;
+    for (final int bit : indexBits) {
+      minImageSize = Math.max(minImageSize, bit + 1);
+    }
+
+    return new Node(decoders, indexBits, minImageSize, children);
+  }
+
+  private static int[] selectIndexBits(final List<Decoder> decoders, final int maskSize) {
+    final List<int[]> candidates = new ArrayList<>();
+
+    for (int bit = 0; bit < maskSize; bit++) {
+      int ones = 0;
+      boolean common = true;
+
+      for (final Decoder decoder : decoders) {
+        if (!decoder.getOpcMask().getBit(bit)) {
+          common = false;
+          break;
+        }
+
+        if (decoder.getOpc().getBit(bit)) {
+          ones++;
+        }
+      }
+
+      if (common && 0 != ones && decoders.size() != ones) {
+        // Bits that split the decoders into halves of similar size go first.
+        candidates.add(new int[] {bit, Math.abs(decoders.size() - 2 * ones)});
+      }
+    }
+
+    Collections.sort(candidates, new Comparator<int[]>() {
+      @Override
+      public int compare(final int[] first, final int[] second) {
+        return Integer.compare(first[1], second[1]);
+      }
+    });
+
+    final int[] result = new int[Math.min(MAX_INDEX_BITS, candidates.size())];
+    for (int index = 0; index < result.length; index++) {
+      result[index] = candidates.get(index)[0];
+    }
+
+    Arrays.sort(result);
+    return result;
+  }
+
+  private static int getIndex(final BitVector opc, final int[] indexBits) {
+    int index = 0;
+    for (final int bit : indexBits) {
+      index = (index << 1) | (opc.getBit(bit) ? 1 : 0);
+    }
+    return index;
+  }
+
+  private static boolean hasOpc(final Decoder decoder) {
+    return null != decoder.getOpc() && decoder.getOpcMask().getBitSize() != 0;
+  }
+}
@@ -282,6 +282,25 @@ public final class Location implements LocationAccessor {
     writeData(rawData, false);
   }
 
+  @Override
+  public long getLongValue() {
+    if (atoms.size() == 1) {
+      return atoms.get(0).loadLong();
+    }
+
+    return readData(false).longValue();
+  }
+
+  @Override
+  public void setLongValue(final long value) {
+    if (atoms.size() == 1) {
+      atoms.get(0).storeLong(value);
+      return;
+    }
+
+    writeData(BitVector.valueOf(value, getBitSize()), false);
+  }
+
   private BitVector readData(final boolean callHandlers) {
     final BitVector[] dataItems = new BitVector[atoms.size()];
     for (int index = 0; index < atoms.size(); ++index) {
@@ -59,4 +59,24 @@ public interface LocationAccessor {
    * @param value Binary data packed in a BigInteger object.
    */
   void setValue(BigInteger value);
+
+  /**
+   * Returns the value stored in the location as a {@code long} value. If the location is
+   * wider than 64 bits, the higher bits are ignored.
+   *
+   * @return Binary data packed in a {@code long} value.
+   */
+  default long getLongValue() {
+    return toBitVector().longValue();
+  }
+
+  /**
+   * Sets the value of the specified location.
+   *
+   * @param value Binary data packed in a {@code long} value (zero-extended if the location
+   *        is wider than 64 bits).
+   */
+  default void setLongValue(final long value) {
+    setValue(BitVector.valueOf(value, Long.SIZE).bigIntegerValue(false));
+  }
 }
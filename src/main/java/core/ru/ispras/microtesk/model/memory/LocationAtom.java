@@ -90,6 +90,26 @@ abstract class LocationAtom {
 
   public abstract void store(BitVector data, boolean callHandler);
 
+  /**
+   * Loads the data of the atom as {@code long} without calling handlers. Atoms that keep
+   * their data in {@code long}-accessible storages override this method to avoid allocating
+   * bit vectors.
+   *
+   * @return the data of the atom (higher bits of wider atoms are dropped).
+   */
+  public long loadLong() {
+    return load(false).longValue();
+  }
+
+  /**
+   * Stores the {@code long} value to the atom without calling handlers.
+   *
+   * @param value the value to be stored (higher bits that exceed the atom size are ignored).
+   */
+  public void storeLong(final long value) {
+    store(BitVector.valueOf(value, bitFieldSize), false);
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
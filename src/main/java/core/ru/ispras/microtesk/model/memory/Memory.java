@@ -195,6 +195,30 @@ public abstract class Memory {
 
   public abstract Location access(Data address);
 
+  /**
+   * Loads the element with the specified index as a primitive value. Elements wider than
+   * 64 bits are not supported.
+   *
+   * @param index Element index.
+   * @return Element value (zero-extended to {@code long}).
+   */
+  public long load(final long index) {
+    InvariantChecks.checkTrue(type.getBitSize() <= Long.SIZE);
+    return access(index).load().getRawData().longValue();
+  }
+
+  /**
+   * Stores a primitive value to the element with the specified index. Elements wider than
+   * 64 bits are not supported.
+   *
+   * @param index Element index.
+   * @param value Element value (higher bits that exceed the element size are ignored).
+   */
+  public void store(final long index, final long value) {
+    InvariantChecks.checkTrue(type.getBitSize() <= Long.SIZE);
+    access(index).store(Data.valueOf(type, value));
+  }
+
   public abstract Memory copy();
 
   public abstract void reset();
@@ -34,6 +34,9 @@ public final class MemoryAllocator {
   private final MemoryDevice memory;
   private final MemoryTracker memoryTracker;
 
+  // Storage that supports writing whole regions from byte arrays (or null).
+  private final MemoryStorage storage;
+
   private final int addressableUnitBitSize;
   private final int addressableUnitsInRegion;
 
@@ -94,6 +97,7 @@ public final class MemoryAllocator {
 
     this.memory = memory;
     this.memoryTracker = new MemoryTracker();
+    this.storage = memory instanceof MemoryStorage ? (MemoryStorage) memory : null;
 
     this.addressableUnitBitSize = addressableUnitBitSize;
     this.addressableUnitsInRegion = regionBitSize / addressableUnitBitSize;
@@ -271,6 +275,134 @@ public final class MemoryAllocator {
     return new Pair<>(addressPair.first, current);
   }
 
+  /**
+   * Allocates memory in the memory storage to hold an array of data elements packed into
+   * a byte array and returns the address (in addressable units) of the first element.
+   * Elements may be aligned in the memory by their size (in addressable units).
+   *
+   * <p>If the element size is a multiple of the addressable unit size, the whole array is
+   * written at once. Otherwise, elements are allocated one by one.</p>
+   *
+   * @param currentAddress Current address.
+   * @param data Data elements (each takes {@code elementBitSize / 8} bytes, little-endian).
+   * @param elementBitSize Size of a data element in bits (a multiple of 8).
+   * @param align Alignment flag.
+   * @return Address of the first allocated element and the current address.
+   *
+   * @throws IllegalArgumentException if the array is empty or its size is not a multiple
+   *         of the element size.
+   */
+  public Pair<BigInteger, BigInteger> allocate(
+      final BigInteger currentAddress,
+      final byte[] data,
+      final int elementBitSize,
+      final boolean align) {
+    InvariantChecks.checkNotNull(data);
+    InvariantChecks.checkGreaterThanZero(elementBitSize);
+    InvariantChecks.checkTrue(elementBitSize % Byte.SIZE == 0);
+
+    final int elementByteSize = elementBitSize / Byte.SIZE;
+    InvariantChecks.checkGreaterThanZero(data.length);
+    InvariantChecks.checkTrue(data.length % elementByteSize == 0);
+
+    if (elementBitSize % addressableUnitBitSize != 0) {
+      BigInteger address = null;
+      BigInteger current = currentAddress;
+
+      for (int position = 0; position < data.length; position += elementByteSize) {
+        final BitVector element = BitVector.valueOf(
+            Arrays.copyOfRange(data, position, position + elementByteSize), elementBitSize);
+
+        final Pair<BigInteger, BigInteger> addressPair = allocate(current, element, align);
+        if (null == address) {
+          address = addressPair.first;
+        }
+        current = addressPair.second;
+      }
+
+      return new Pair<>(address, current);
+    }
+
+    // Aligned elements of the same size follow each other without gaps.
+    final int elementUnits = elementBitSize / addressableUnitBitSize;
+    final BigInteger address = align
+        ? alignAddress(currentAddress, elementUnits)
+        : currentAddress;
+
+    allocateAt(address, data);
+
+    final long units = (long) data.length * Byte.SIZE / addressableUnitBitSize;
+    return new Pair<>(address, address.add(BigInteger.valueOf(units)));
+  }
+
+  /**
+   * Places data stored in a byte array (little-endian) at the specified address.
+   * Only the unaligned head and tail are merged with the memory content: whole regions
+   * are written directly.
+   *
+   * @param address Address (in addressable units).
+   * @param data Data to be stored.
+   */
+  public void allocateAt(final BigInteger address, final byte[] data) {
+    InvariantChecks.checkNotNull(data);
+    InvariantChecks.checkNotNull(address);
+
+    if (regionIndexForAddress(address).bitLength() >= Long.SIZE) {
+      allocateAt(address, BitVector.valueOf(data, data.length * Byte.SIZE));
+      return;
+    }
+
+    // Marks the region as used or raises an exception if it is already in use.
+    trackAllocation(address, address.add(BigInteger.valueOf(data.length)));
+
+    final int regionBitSize = getRegionBitSize();
+    final long dataBitSize = (long) data.length * Byte.SIZE;
+
+    long regionIndex = regionIndexForAddress(address).longValue();
+    int regionBitOffset = regionBitOffsetForAddress(address);
+    long bitPos = 0;
+
+    // Unaligned head and tail, as well as regions whose size is not a multiple of 8,
+    // are written through bit vectors.
+    final boolean isBulk = null != storage && regionBitSize % Byte.SIZE == 0;
+    while (bitPos < dataBitSize) {
+      if (isBulk && 0 == regionBitOffset && dataBitSize - bitPos >= regionBitSize) {
+        final int regions = (int) ((dataBitSize - bitPos) / regionBitSize);
+
+        storage.store(regionIndex, data, (int) (bitPos / Byte.SIZE), regions);
+        bitPos += (long) regions * regionBitSize;
+        regionIndex += regions;
+        continue;
+      }
+
+      final int bitsToWrite =
+          (int) Math.min(dataBitSize - bitPos, regionBitSize - regionBitOffset);
+      final BitVector dataItem = toBitVector(data, bitPos, bitsToWrite);
+
+      memory.store(
+          BitVector.valueOf(regionIndex, memory.getAddressBitSize()), regionBitOffset, dataItem);
+
+      bitPos += bitsToWrite;
+      regionIndex++;
+      regionBitOffset = 0;
+    }
+  }
+
+  private static BitVector toBitVector(final byte[] data, final long bitPos, final int bitSize) {
+    if (bitPos % Byte.SIZE == 0 && bitSize % Byte.SIZE == 0) {
+      final int from = (int) (bitPos / Byte.SIZE);
+      return BitVector.valueOf(
+          Arrays.copyOfRange(data, from, from + bitSize / Byte.SIZE), bitSize);
+    }
+
+    final int from = (int) (bitPos / Byte.SIZE);
+    final int to = (int) ((bitPos + bitSize + Byte.SIZE - 1) / Byte.SIZE);
+    final BitVector bytes =
+        BitVector.valueOf(Arrays.copyOfRange(data, from, to), (to - from) * Byte.SIZE);
+
+    return BitVector.newMapping(bytes, (int) (bitPos % Byte.SIZE), bitSize);
+  }
+
   public void allocateAt(final BigInteger address, final BitVector data) {
     InvariantChecks.checkNotNull(data);
     InvariantChecks.checkNotNull(address);
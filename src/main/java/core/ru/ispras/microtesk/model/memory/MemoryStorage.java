@@ -19,8 +19,13 @@ import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.settings.GeneratorSettings;
 import ru.ispras.microtesk.settings.MemorySettings;
 import ru.ispras.microtesk.test.GenerationAbortedException;
+import ru.ispras.microtesk.utils.BigIntegerUtils;
+import ru.ispras.microtesk.utils.LongMap;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -28,6 +33,10 @@ import java.util.TreeMap;
 /**
  * The {@link MemoryStorage} implements a memory storage.
  *
+ * <p>Storages whose addresses fit into {@code long} and whose regions are 8, 16, 32 or 64 bits
+ * wide keep data in byte pages indexed by a primitive page table. For such storages,
+ * {@link #load(long)} and {@link #store(long, long)} do not allocate any objects.</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 final class MemoryStorage implements MemoryDevice {
@@ -40,12 +49,20 @@ final class MemoryStorage implements MemoryDevice {
   private final int addressBitSize;
 
   private static final int REGIONS_IN_BLOCK = 1024 * 4;
+  private static final int REGION_INDEX_BIT_SIZE = 12;
   private final int blockBitSize;
 
   // Default value to be returned when reading an unallocated address.
   private final BitVector defaultRegion;
   private final Map<BitVector, Area> addressMap;
 
+  // Page table used instead of the address map if long addresses are supported (or null).
+  private final LongMap<Page> pageTable;
+  private final long addressMask;
+
+  // Areas, blocks and pages created in earlier versions can be shared with copies.
+  private int version;
+
   private static final class Index {
     private static final BitVector ZERO_FIELD = BitVector.valueOf(0, 1);
 
@@ -100,6 +117,7 @@ final class MemoryStorage implements MemoryDevice {
   }
 
   private final class Area {
+    private final int version = MemoryStorage.this.version;
     private final Map<Integer, Block> blocks;
 
     public Area() {
@@ -114,6 +132,10 @@ final class MemoryStorage implements MemoryDevice {
       return MemoryStorage.this;
     }
 
+    public int getVersion() {
+      return version;
+    }
+
     public Block get(final int index) {
       return blocks.get(index);
     }
@@ -121,15 +143,10 @@ final class MemoryStorage implements MemoryDevice {
     public Block put(final int index, final Block block) {
       return blocks.put(index, block);
     }
-
-    public void reset() {
-      for (final Block block : blocks.values()) {
-        block.reset();
-      }
-    }
   }
 
   private final class Block {
+    private final int version = MemoryStorage.this.version;
     private final BitVector storage;
     private final BitVector initFlags;
 
@@ -147,9 +164,8 @@ final class MemoryStorage implements MemoryDevice {
       return MemoryStorage.this;
     }
 
-    public void reset() {
-      storage.reset();
-      initFlags.reset();
+    public int getVersion() {
+      return version;
     }
 
     public BitVector read(final int index) {
@@ -177,6 +193,78 @@ final class MemoryStorage implements MemoryDevice {
     }
   }
 
+  private final class Page {
+    private final int version = MemoryStorage.this.version;
+    private final ByteBuffer storage;
+    private final long[] initFlags;
+
+    public Page() {
+      this.storage = ByteBuffer.allocate(REGIONS_IN_BLOCK * (regionBitSize / Byte.SIZE));
+      this.storage.order(ByteOrder.LITTLE_ENDIAN);
+      this.initFlags = new long[REGIONS_IN_BLOCK / Long.SIZE];
+    }
+
+    public Page(final Page other) {
+      this.storage = ByteBuffer.wrap(other.storage.array().clone());
+      this.storage.order(ByteOrder.LITTLE_ENDIAN);
+      this.initFlags = other.initFlags.clone();
+    }
+
+    public MemoryStorage getOwner() {
+      return MemoryStorage.this;
+    }
+
+    public int getVersion() {
+      return version;
+    }
+
+    public long read(final int index) {
+      switch (regionBitSize) {
+        case Byte.SIZE:
+          return storage.get(index) & 0xFFL;
+        case Short.SIZE:
+          return storage.getShort(index << 1) & 0xFFFFL;
+        case Integer.SIZE:
+          return storage.getInt(index << 2) & 0xFFFFFFFFL;
+        default:
+          return storage.getLong(index << 3);
+      }
+    }
+
+    public void write(final int index, final long value) {
+      switch (regionBitSize) {
+        case Byte.SIZE:
+          storage.put(index, (byte) value);
+          break;
+        case Short.SIZE:
+          storage.putShort(index << 1, (short) value);
+          break;
+        case Integer.SIZE:
+          storage.putInt(index << 2, (int) value);
+          break;
+        default:
+          storage.putLong(index << 3, value);
+          break;
+      }
+
+      initFlags[index >>> 6] |= 1L << index;
+    }
+
+    public boolean isInitialized(final int index) {
+      return 0 != (initFlags[index >>> 6] & (1L << index));
+    }
+
+    public void write(final int index, final byte[] data, final int offset, final int count) {
+      final int regionByteSize = regionBitSize / Byte.SIZE;
+      System.arraycopy(
+          data, offset, storage.array(), index * regionByteSize, count * regionByteSize);
+
+      for (int flag = index; flag < index + count; flag++) {
+        initFlags[flag >>> 6] |= 1L << flag;
+      }
+    }
+  }
+
   public MemoryStorage(final long regionCount, final int regionBitSize) {
     this(BigInteger.valueOf(regionCount), regionBitSize);
   }
@@ -197,6 +285,11 @@ final class MemoryStorage implements MemoryDevice {
 
     this.defaultRegion = BitVector.unmodifiable(BitVector.newEmpty(regionBitSize));
     this.addressMap = new HashMap<>();
+
+    this.pageTable =
+        isLongAccessSupported(addressBitSize, regionBitSize) ? new LongMap<Page>() : null;
+    this.addressMask = addressBitSize >= Long.SIZE ? -1L : (1L << addressBitSize) - 1;
+    this.version = 0;
   }
 
   public MemoryStorage(final MemoryStorage other) {
@@ -213,6 +306,31 @@ final class MemoryStorage implements MemoryDevice {
     this.defaultRegion = other.defaultRegion;
 
     this.addressMap = new HashMap<>(other.addressMap);
+
+    this.pageTable = null != other.pageTable ? new LongMap<>(other.pageTable) : null;
+    this.addressMask = other.addressMask;
+
+    // Data is now shared by both storages. Each of them copies it on its next write.
+    this.version = 0;
+    other.version++;
+  }
+
+  private static boolean isLongAccessSupported(final int addressBitSize, final int regionBitSize) {
+    return addressBitSize <= Long.SIZE
+        && (regionBitSize == Byte.SIZE
+            || regionBitSize == Short.SIZE
+            || regionBitSize == Integer.SIZE
+            || regionBitSize == Long.SIZE);
+  }
+
+  /**
+   * Checks whether the storage keeps data in pages accessed with {@code long} addresses.
+   *
+   * @return {@code true} if {@link #load(long)} and {@link #store(long, long)} do not allocate
+   *         objects or {@code false} otherwise.
+   */
+  public boolean isLongAccessSupported() {
+    return null != pageTable;
   }
 
   @Override
@@ -297,12 +415,22 @@ final class MemoryStorage implements MemoryDevice {
   }
 
   public boolean isInitialized(final long address) {
+    if (null != pageTable) {
+      final Page page = pageTable.get((address & addressMask) >>> REGION_INDEX_BIT_SIZE);
+      return null != page && page.isInitialized(getRegionIndex(address));
+    }
+
     return isInitialized(BitVector.valueOf(address, addressBitSize));
   }
 
   @Override
   public boolean isInitialized(final BitVector address) {
     InvariantChecks.checkNotNull(address);
+
+    if (null != pageTable) {
+      return isInitialized(address.longValue());
+    }
+
     final Index index = new Index(address, addressBitSize);
 
     final Area area = addressMap.get(index.area);
@@ -319,6 +447,10 @@ final class MemoryStorage implements MemoryDevice {
   }
 
   public BitVector read(final long address) {
+    if (null != pageTable) {
+      return BitVector.valueOf(load(address), regionBitSize);
+    }
+
     return read(BitVector.valueOf(address, addressBitSize));
   }
 
@@ -328,6 +460,11 @@ final class MemoryStorage implements MemoryDevice {
 
   public BitVector read(final BitVector address) {
     InvariantChecks.checkNotNull(address);
+
+    if (null != pageTable) {
+      return read(address.longValue());
+    }
+
     checkAddress(address, false);
 
     final Index index = new Index(address, addressBitSize);
@@ -345,7 +482,7 @@ final class MemoryStorage implements MemoryDevice {
   }
 
   public void write(final long address, final BitVector data) {
-    write(BitVector.valueOf(address, addressBitSize), data);
+    write(address, 0, data);
   }
 
   public void write(final BigInteger address, final BitVector data) {
@@ -353,6 +490,13 @@ final class MemoryStorage implements MemoryDevice {
   }
 
   public void write(final long address, final int offset, final BitVector data) {
+    if (null != pageTable) {
+      InvariantChecks.checkNotNull(data);
+      InvariantChecks.checkBoundsInclusive(offset + data.getBitSize(), regionBitSize);
+      store(address, offset, data.getBitSize(), data.longValue());
+      return;
+    }
+
     write(BitVector.valueOf(address, addressBitSize), offset, data);
   }
 
@@ -368,6 +512,11 @@ final class MemoryStorage implements MemoryDevice {
     InvariantChecks.checkNotNull(address);
     InvariantChecks.checkNotNull(data);
 
+    if (null != pageTable) {
+      write(address.longValue(), offset, data);
+      return;
+    }
+
     checkAddress(address, true);
 
     if (isReadOnly()) {
@@ -394,9 +543,137 @@ final class MemoryStorage implements MemoryDevice {
     block.write(index.region, offset, data);
   }
 
+  /**
+   * Loads a region located at the specified address.
+   *
+   * @param address Region address.
+   * @return Region value (zero-extended to {@code long}).
+   */
+  public long load(final long address) {
+    if (null == pageTable) {
+      InvariantChecks.checkTrue(regionBitSize <= Long.SIZE);
+      return read(BitVector.valueOf(address, addressBitSize)).longValue();
+    }
+
+    checkAddress(address);
+
+    final Page page = pageTable.get((address & addressMask) >>> REGION_INDEX_BIT_SIZE);
+    return null != page ? page.read(getRegionIndex(address)) : 0;
+  }
+
+  /**
+   * Stores a region at the specified address.
+   *
+   * @param address Region address.
+   * @param value Region value (higher bits that exceed the region size are ignored).
+   */
+  public void store(final long address, final long value) {
+    store(address, 0, regionBitSize, value);
+  }
+
+  private void store(final long address, final int offset, final int bitSize, final long value) {
+    if (null == pageTable) {
+      InvariantChecks.checkTrue(regionBitSize <= Long.SIZE);
+      write(BitVector.valueOf(address, addressBitSize), offset,
+          BitVector.valueOf(value, bitSize));
+      return;
+    }
+
+    checkAddress(address);
+
+    if (isReadOnly()) {
+      return;
+    }
+
+    final long pageIndex = (address & addressMask) >>> REGION_INDEX_BIT_SIZE;
+    Page page = pageTable.get(pageIndex);
+
+    if (null == page || !isOwned(page)) {
+      page = null == page ? new Page() : new Page(page);
+      pageTable.put(pageIndex, page);
+    }
+
+    final int index = getRegionIndex(address);
+    if (0 == offset && regionBitSize == bitSize) {
+      page.write(index, value);
+      return;
+    }
+
+    final long fieldMask = (bitSize >= Long.SIZE ? -1L : (1L << bitSize) - 1) << offset;
+    page.write(index, (page.read(index) & ~fieldMask) | ((value << offset) & fieldMask));
+  }
+
+  /**
+   * Stores consecutive regions starting at the specified address. Region values are taken
+   * from the byte array: each region takes {@code regionBitSize / 8} bytes (little-endian).
+   *
+   * @param address Address of the first region.
+   * @param data Byte array that holds region values.
+   * @param offset Offset of the first region value in the array.
+   * @param count Number of regions.
+   */
+  public void store(final long address, final byte[] data, final int offset, final int count) {
+    InvariantChecks.checkNotNull(data);
+    InvariantChecks.checkTrue(regionBitSize % Byte.SIZE == 0);
+
+    final int regionByteSize = regionBitSize / Byte.SIZE;
+    InvariantChecks.checkBoundsInclusive(offset + count * regionByteSize, data.length);
+
+    if (null == pageTable) {
+      for (int index = 0; index < count; index++) {
+        final int position = offset + index * regionByteSize;
+        final BitVector value = BitVector.valueOf(
+            Arrays.copyOfRange(data, position, position + regionByteSize), regionBitSize);
+
+        write(BitVector.valueOf(address + index, addressBitSize), value);
+      }
+      return;
+    }
+
+    if (isReadOnly()) {
+      return;
+    }
+
+    long current = address;
+    int position = offset;
+    int remaining = count;
+
+    while (remaining > 0) {
+      final int index = getRegionIndex(current);
+      final int regions = Math.min(remaining, REGIONS_IN_BLOCK - index);
+
+      if (isAddressCheckNeeded) {
+        for (int region = 0; region < regions; region++) {
+          checkAddress(current + region);
+        }
+      }
+
+      final long pageIndex = (current & addressMask) >>> REGION_INDEX_BIT_SIZE;
+      Page page = pageTable.get(pageIndex);
+
+      if (null == page || !isOwned(page)) {
+        page = null == page ? new Page() : new Page(page);
+        pageTable.put(pageIndex, page);
+      }
+
+      page.write(index, data, position, regions);
+
+      current += regions;
+      position += regions * regionByteSize;
+      remaining -= regions;
+    }
+  }
+
+  private static int getRegionIndex(final long address) {
+    return (int) address & (REGIONS_IN_BLOCK - 1);
+  }
+
   public void reset() {
-    for (final Area area : addressMap.values()) {
-      area.reset();
+    // Data can be shared with other storages, so it is dropped rather than cleared.
+    if (null != pageTable) {
+      pageTable.clear();
+    } else {
+      addressMap.clear();
     }
   }
 
@@ -407,11 +684,19 @@ final class MemoryStorage implements MemoryDevice {
         id, regionBitSize, regionCount, addressBitSize);
   }
 
+  private void checkAddress(final long address) {
+    if (isAddressCheckNeeded) {
+      checkAddress(BigIntegerUtils.asUnsigned(address & addressMask));
+    }
+  }
+
   private void checkAddress(final BitVector address, final boolean isWrite) {
-    if (!isAddressCheckNeeded) {
-      return;
+    if (isAddressCheckNeeded) {
+      checkAddress(address.bigIntegerValue(false));
     }
+  }
 
+  private void checkAddress(final BigInteger address) {
     final GeneratorSettings settings = GeneratorSettings.get();
     if (null == settings) {
       return;
@@ -424,8 +709,7 @@ final class MemoryStorage implements MemoryDevice {
 
     InvariantChecks.checkTrue(regionBitSize % 8 == 0);
 
-    final BigInteger addressValue =
-        address.bigIntegerValue(false).multiply(BigInteger.valueOf(regionBitSize / 8));
+    final BigInteger addressValue = address.multiply(BigInteger.valueOf(regionBitSize / 8));
 
     if (!memorySettings.checkAddress(addressValue)) {
       throw new GenerationAbortedException(String.format(
@@ -433,11 +717,15 @@ final class MemoryStorage implements MemoryDevice {
     }
   }
 
+  private boolean isOwned(final Page page) {
+    return page.getOwner() == this && page.getVersion() == version;
+  }
+
   private boolean isOwned(final Block block) {
-    return block.getOwner() == this;
+    return block.getOwner() == this && block.getVersion() == version;
   }
 
   private boolean isOwned(final Area area) {
-    return area.getOwner() == this;
+    return area.getOwner() == this && area.getVersion() == version;
   }
 }
@@ -125,6 +125,64 @@ final class PhysicalMemory extends Memory {
     return newLocationForRegion(address.getRawData());
   }
 
+  @Override
+  public long load(final long index) {
+    if (!storage.isLongAccessSupported() || null != handler) {
+      return super.load(index);
+    }
+
+    if (isLogical) {
+      return storage.load(index);
+    }
+
+    final long data = storage.load(virtualIndexToPhysicalIndex(index));
+
+    if (Tracer.isEnabled()) {
+      final Record record = Record.newMemoryAccess(
+          index * getUnitsInData(),
+          BitVector.valueOf(data, getType().getBitSize()),
+          false
+          );
+      Tracer.addRecord(record);
+    }
+
+    return data;
+  }
+
+  @Override
+  public void store(final long index, final long value) {
+    if (!storage.isLongAccessSupported() || null != handler) {
+      super.store(index, value);
+      return;
+    }
+
+    if (isLogical) {
+      storage.store(index, value);
+      return;
+    }
+
+    storage.store(virtualIndexToPhysicalIndex(index), value);
+
+    if (Tracer.isEnabled()) {
+      final Record record = Record.newMemoryAccess(
+          index * getUnitsInData(),
+          BitVector.valueOf(value, getType().getBitSize()),
+          true
+          );
+      Tracer.addRecord(record);
+    }
+  }
+
+  private long getUnitsInData() {
+    return storage.getDataBitSize() / 8;
+  }
+
+  private long virtualIndexToPhysicalIndex(final long index) {
+    final long unitsInData = getUnitsInData();
+    final long physicalAddress = Sections.get().virtualToPhysical(index * unitsInData);
+    return Long.divideUnsigned(physicalAddress, unitsInData);
+  }
+
   @Override
   public Memory copy() {
     return new PhysicalMemory(this);
@@ -138,6 +196,16 @@ final class PhysicalMemory extends Memory {
     }
   }
 
+  /**
+   * Checks whether the atom covers a whole region of a storage that supports {@code long}
+   * access, so that it can be accessed without allocating bit vectors.
+   */
+  private boolean isWholeRegion(final LocationAtom atom) {
+    return storage.isLongAccessSupported()
+        && atom.getBitFieldStart() == 0
+        && atom.getBitFieldSize() == storage.getDataBitSize();
+  }
+
   private Location newLocationForRegion(final BitVector index) {
     InvariantChecks.checkNotNull(index);
 
@@ -237,6 +305,47 @@ final class PhysicalMemory extends Memory {
       }
     }
 
+    @Override
+    public long loadLong() {
+      if (!isWholeRegion(this)) {
+        return super.loadLong();
+      }
+
+      final long index = getIndex().longValue();
+      final long data = storage.load(PhysicalMemory.this.virtualIndexToPhysicalIndex(index));
+
+      if (Tracer.isEnabled()) {
+        final Record record = Record.newMemoryAccess(
+            index * getUnitsInData(),
+            BitVector.valueOf(data, getBitFieldSize()),
+            false
+            );
+        Tracer.addRecord(record);
+      }
+
+      return data;
+    }
+
+    @Override
+    public void storeLong(final long value) {
+      if (!isWholeRegion(this)) {
+        super.storeLong(value);
+        return;
+      }
+
+      final long index = getIndex().longValue();
+      storage.store(PhysicalMemory.this.virtualIndexToPhysicalIndex(index), value);
+
+      if (Tracer.isEnabled()) {
+        final Record record = Record.newMemoryAccess(
+            index * getUnitsInData(),
+            BitVector.valueOf(value, getBitFieldSize()),
+            true
+            );
+        Tracer.addRecord(record);
+      }
+    }
+
     @Override
     public String toString() {
       return String.format("%s[%d]<%d..%d>",
@@ -310,6 +419,20 @@ final class PhysicalMemory extends Memory {
       storage.store(getIndex(), getBitFieldStart(), data);
     }
 
+    @Override
+    public long loadLong() {
+      return isWholeRegion(this) ? storage.load(getIndex().longValue()) : super.loadLong();
+    }
+
+    @Override
+    public void storeLong(final long value) {
+      if (isWholeRegion(this)) {
+        storage.store(getIndex().longValue(), value);
+      } else {
+        super.storeLong(value);
+      }
+    }
+
     @Override
     public String toString() {
       return String.format("%s[%d]<%d..%d>",
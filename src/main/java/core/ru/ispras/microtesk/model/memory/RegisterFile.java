@@ -16,18 +16,34 @@ package ru.ispras.microtesk.model.memory;
 
 import ru.ispras.fortress.data.types.bitvector.BitVector;
 import ru.ispras.fortress.util.InvariantChecks;
-import ru.ispras.fortress.util.Pair;
 
 import ru.ispras.microtesk.model.data.Data;
 import ru.ispras.microtesk.model.data.Type;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
+/**
+ * The {@link RegisterFile} class implements a register array.
+ *
+ * <p>Copies of a register file share register values. A value is copied when it is modified
+ * in any of the register files that share it. Locations are created on first access. Thus,
+ * making a copy (e.g. a temporary state for presimulation) costs only for the registers
+ * that are actually used.</p>
+ *
+ * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
+ */
 final class RegisterFile extends Memory {
-  private final List<Location> locations;
-  private final List<RegisterAtom> atoms;
+  private final int indexBitSize;
+  private final Location[] locations;
+
+  // Register values (null stands for zero) and initialization flags (null stands for none).
+  private final Register[] registers;
+  private final BitVector[] flags;
+
+  // Registers are written in place only by their owner. A register file gets a new owner token
+  // when it is copied, so registers created before that are shared with the copy.
+  private Object owner;
 
   protected RegisterFile(
       final String name,
@@ -38,55 +54,41 @@ final class RegisterFile extends Memory {
     InvariantChecks.checkGreaterThan(length, BigInteger.ZERO);
     InvariantChecks.checkGreaterOrEq(BigInteger.valueOf(Integer.MAX_VALUE), length);
 
-    final Pair<List<Location>, List<RegisterAtom>> registers =
-        newRegisters(name, type, length.intValue());
+    final int count = length.intValue();
 
-    this.locations = registers.first;
-    this.atoms = registers.second;
-  }
-
-  private static Pair<List<Location>, List<RegisterAtom>>
-      newRegisters(final String memory, final Type type, final int count) {
-    final List<RegisterAtom> atoms = new ArrayList<>(count);
-    final List<Location> locations = new ArrayList<>(count);
-
-    final int bitSize = type.getBitSize();
-    final int indexBitSize = getIndexBitSize(count);
-
-    for (int index = 0; index < count; ++index) {
-      final RegisterAtom atom =
-          new RegisterAtom(memory, BitVector.valueOf(index, indexBitSize), bitSize);
-      atoms.add(atom);
-
-      final Location location = Location.newLocationForAtom(type, atom);
-      locations.add(location);
-    }
-
-    return new Pair<>(locations, atoms);
+    this.indexBitSize = getIndexBitSize(count);
+    this.locations = new Location[count];
+    this.registers = new Register[count];
+    this.flags = new BitVector[count];
+    this.owner = new Object();
   }
 
   private RegisterFile(final RegisterFile other) {
     super(other);
 
-    final int count = other.locations.size();
-    InvariantChecks.checkTrue(other.locations.size() == other.atoms.size());
-
-    this.locations = new ArrayList<>(count);
-    this.atoms = new ArrayList<>(count);
-
-    for (int index = 0; index < count; ++index) {
-      final Type type = other.locations.get(index).getType();
-      final RegisterAtom atom = new RegisterAtom(other.atoms.get(index));
-      final Location location = Location.newLocationForAtom(type, atom);
+    this.indexBitSize = other.indexBitSize;
+    this.locations = new Location[other.locations.length];
+    this.registers = other.registers.clone();
+    this.flags = new BitVector[other.flags.length]; // Flags are reset for the new copy.
 
-      this.atoms.add(atom);
-      this.locations.add(location);
-    }
+    // Values are now shared by both register files. Each of them copies a value on write.
+    this.owner = new Object();
+    other.owner = new Object();
   }
 
   @Override
   public Location access(final int index) {
-    return locations.get(index);
+    Location location = locations[index];
+
+    if (null == location) {
+      final RegisterAtom atom =
+          new RegisterAtom(BitVector.valueOf(index, indexBitSize), index, getType().getBitSize());
+
+      location = Location.newLocationForAtom(getType(), atom);
+      locations[index] = location;
+    }
+
+    return location;
   }
 
   @Override
@@ -111,30 +113,62 @@ final class RegisterFile extends Memory {
 
   @Override
   public void reset() {
-    for (final RegisterAtom atom : atoms) {
-      atom.reset();
+    // Values can be shared with other register files, so they are dropped rather than cleared.
+    Arrays.fill(registers, null);
+    Arrays.fill(flags, null);
+  }
+
+  private BitVector getValue(final int index) {
+    final Register register = registers[index];
+    return null != register ? register.value : null;
+  }
+
+  private BitVector getValueForWrite(final int index) {
+    Register register = registers[index];
+
+    if (null == register || register.owner != owner) {
+      final BitVector value = null != register
+          ? register.value.copy()
+          : BitVector.newEmpty(getType().getBitSize());
+
+      register = new Register(value, owner);
+      registers[index] = register;
     }
+
+    return register.value;
   }
 
-  private static final class RegisterAtom extends LocationAtom {
+  private BitVector getFlagsForWrite(final int index) {
+    BitVector value = flags[index];
+
+    if (null == value) {
+      value = BitVector.newEmpty(getType().getBitSize());
+      flags[index] = value;
+    }
+
+    return value;
+  }
+
+  private static final class Register {
     private final BitVector value;
-    private final BitVector flags;
+    private final Object owner;
+
+    private Register(final BitVector value, final Object owner) {
+      this.value = value;
+      this.owner = owner;
+    }
+  }
+
+  private final class RegisterAtom extends LocationAtom {
+    private final int registerIndex;
 
-    private RegisterAtom(final String memory, final BitVector index, final int bitSize) {
-      super(memory, index, bitSize, 0);
+    private RegisterAtom(final BitVector index, final int registerIndex, final int bitSize) {
+      super(getName(), index, bitSize, 0);
 
-      InvariantChecks.checkNotNull(memory);
       InvariantChecks.checkNotNull(index);
       InvariantChecks.checkGreaterThanZero(bitSize);
 
-      this.value = BitVector.newEmpty(bitSize);
-      this.flags = BitVector.newEmpty(bitSize);
-    }
-
-    private RegisterAtom(final RegisterAtom other) {
-      super(other);
-      this.value = other.value.copy();
-      this.flags = BitVector.newEmpty(getBitFieldSize()); // Flags are reset for the new copy.
+      this.registerIndex = registerIndex;
     }
 
     private RegisterAtom(
@@ -146,11 +180,10 @@ final class RegisterFile extends Memory {
       InvariantChecks.checkGreaterThanZero(bitSize);
       InvariantChecks.checkGreaterOrEqZero(startBitPos);
 
-      InvariantChecks.checkBounds(startBitPos, other.value.getBitSize());
-      InvariantChecks.checkBoundsInclusive(startBitPos + bitSize, other.value.getBitSize());
+      InvariantChecks.checkBounds(startBitPos, other.getStorageBitSize());
+      InvariantChecks.checkBoundsInclusive(startBitPos + bitSize, other.getStorageBitSize());
 
-      this.value = other.value;
-      this.flags = other.flags;
+      this.registerIndex = other.registerIndex;
     }
 
     @Override
@@ -160,18 +193,17 @@ final class RegisterFile extends Memory {
 
     @Override
     public int getStorageBitSize() {
-      return value.getBitSize();
+      return getType().getBitSize();
     }
 
     @Override
     public boolean isInitialized() {
-      final BitVector initialized;
-      if (flags.getBitSize() == getBitFieldSize()) {
-        initialized = flags;
-      } else {
-        initialized = BitVector.newMapping(flags, getBitFieldStart(), getBitFieldSize());
+      final BitVector initialized = flags[registerIndex];
+      if (null == initialized) {
+        return false;
       }
-      return initialized.isAllSet();
+
+      return BitVector.newMapping(initialized, getBitFieldStart(), getBitFieldSize()).isAllSet();
     }
 
     @Override
@@ -181,6 +213,11 @@ final class RegisterFile extends Memory {
 
     @Override
     public BitVector load(final boolean callHandler) {
+      final BitVector value = getValue(registerIndex);
+      if (null == value) {
+        return BitVector.newEmpty(getBitFieldSize());
+      }
+
       return BitVector.newMapping(value, getBitFieldStart(), getBitFieldSize());
     }
 
@@ -189,13 +226,11 @@ final class RegisterFile extends Memory {
       InvariantChecks.checkNotNull(data);
       InvariantChecks.checkTrue(data.getBitSize() == getBitFieldSize());
 
-      BitVector.newMapping(value, getBitFieldStart(), getBitFieldSize()).assign(data);
-      BitVector.newMapping(flags, getBitFieldStart(), getBitFieldSize()).setAll();
-    }
+      final BitVector value = getValueForWrite(registerIndex);
+      final BitVector initialized = getFlagsForWrite(registerIndex);
 
-    public void reset() {
-      BitVector.newMapping(value, getBitFieldStart(), getBitFieldSize()).reset();
-      BitVector.newMapping(flags, getBitFieldStart(), getBitFieldSize()).reset();
+      BitVector.newMapping(value, getBitFieldStart(), getBitFieldSize()).assign(data);
+      BitVector.newMapping(initialized, getBitFieldStart(), getBitFieldSize()).setAll();
     }
   }
 }
@@ -119,6 +119,10 @@ public final class Section {
     return baseVa;
   }
 
+  public boolean isTranslated() {
+    return translate;
+  }
+
   public String getArgs() {
     return args;
   }
@@ -15,6 +15,8 @@
 package ru.ispras.microtesk.model.memory;
 
 import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.utils.BigIntegerUtils;
+import ru.ispras.microtesk.utils.Session;
 
 import java.math.BigInteger;
 import java.util.Collection;
@@ -23,13 +25,14 @@ import java.util.Map;
 import java.util.TreeMap;
 
 public final class Sections {
-  private static Sections instance = null;
+  private static final Session.Key<Sections> KEY = Session.newKey(Sections::new);
 
   private final HashMap<String, Section> sections;
   private final TreeMap<BigInteger, Section> sectionAddresses;
 
   private Section textSection;
   private Section dataSection;
+  private boolean isTranslated;
 
   private Sections() {
     this.sections = new HashMap<>();
@@ -37,14 +40,11 @@ public final class Sections {
 
     this.textSection = null;
     this.dataSection = null;
+    this.isTranslated = false;
   }
 
   public static Sections get() {
-    if (null == instance) {
-      instance = new Sections();
-    }
-
-    return instance;
+    return Session.get().get(KEY);
   }
 
   public void setTextSection(final Section section) {
@@ -73,6 +73,8 @@ public final class Sections {
 
     sections.put(key, section);
     sectionAddresses.put(section.getBaseVa(), section);
+
+    isTranslated |= section.isTranslated();
   }
 
   public Section getSection(final String name, final boolean standard) {
@@ -105,6 +107,15 @@ public final class Sections {
     return null != section ? section.virtualToPhysical(va) : va;
   }
 
+  public long virtualToPhysical(final long va) {
+    // Sections that map VA to PA one-to-one are common. No lookup is needed for them.
+    if (!isTranslated) {
+      return va;
+    }
+
+    return virtualToPhysical(BigIntegerUtils.asUnsigned(va)).longValue();
+  }
+
   private Section findSection(final BigInteger va) {
     InvariantChecks.checkNotNull(va);
     final Map.Entry<BigInteger, Section> entry = sectionAddresses.floorEntry(va);
@@ -14,21 +14,44 @@
 
 package ru.ispras.microtesk.model.tracer;
 
-import ru.ispras.castle.util.Logger;
 import ru.ispras.fortress.data.types.bitvector.BitVector;
 import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.test.template.ConcreteCall;
+import ru.ispras.microtesk.utils.Session;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
 
 /**
  * The {@link Record} class describes Tracer log records.
  *
+ * <p>Records are immutable: they can be printed by a thread other than the one that created
+ * them. Each record can be written in a compact binary form and read back
+ * (see {@link #write(DataOutput)} and {@link #read(DataInput)}).</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
   */
 public abstract class Record {
-  private static long instructionId = -1;
+  /** Identifier of the last traced instruction (each generation session counts its own). */
+  private static final class InstructionCount {
+    private long instructionId = -1;
+  }
+
+  private static final Session.Key<InstructionCount> INSTRUCTION_COUNT =
+      Session.newKey(InstructionCount::new);
 
   public static void resetInstructionCount() {
-    instructionId = -1;
+    Session.get().get(INSTRUCTION_COUNT).instructionId = -1;
+  }
+
+  private static long getInstructionId() {
+    return Session.get().get(INSTRUCTION_COUNT).instructionId;
+  }
+
+  private static long nextInstructionId() {
+    return ++Session.get().get(INSTRUCTION_COUNT).instructionId;
   }
 
   private final RecordKind kind;
@@ -52,6 +75,73 @@ public abstract class Record {
     return String.format("%d clk", time);
   }
 
+  /**
+   * Writes the record in the binary form.
+   *
+   * @param out Output to write to.
+   * @throws IOException if an I/O error occurs.
+   */
+  public void write(final DataOutput out) throws IOException {
+    out.writeByte(kind.ordinal());
+    out.writeLong(time);
+  }
+
+  /**
+   * Reads a record written by {@link #write(DataOutput)}.
+   *
+   * @param in Input to read from.
+   * @return Record.
+   * @throws IOException if an I/O error occurs or the data is malformed.
+   */
+  public static Record read(final DataInput in) throws IOException {
+    final int kindIndex = in.readUnsignedByte();
+    if (kindIndex >= RecordKind.values().length) {
+      throw new IOException("Unknown record kind: " + kindIndex);
+    }
+
+    final RecordKind kind = RecordKind.values()[kindIndex];
+    final long time = in.readLong();
+
+    switch (kind) {
+      case INSTRUCT:
+        return new Instruction(time, in.readInt(), in.readLong(), readBitVector(in), in.readUTF());
+
+      case MEMORY:
+        return new MemoryAccess(time, in.readLong(), readBitVector(in), in.readBoolean());
+
+      case REGISTER:
+        return new RegisterWrite(time, in.readUTF(), readBitVector(in));
+
+      default:
+        throw new IOException("Unsupported record kind: " + kind);
+    }
+  }
+
+  private static void writeBitVector(
+      final DataOutput out, final BitVector value) throws IOException {
+    if (null == value) {
+      out.writeInt(0);
+      return;
+    }
+
+    final byte[] bytes = value.bigIntegerValue(false).toByteArray();
+    out.writeInt(value.getBitSize());
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static BitVector readBitVector(final DataInput in) throws IOException {
+    final int bitSize = in.readInt();
+    if (0 == bitSize) {
+      return null;
+    }
+
+    final byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+
+    return BitVector.valueOf(new BigInteger(bytes), bitSize);
+  }
+
   public static Record newInstruction(final ConcreteCall call, final int cpu) {
     return new Instruction(call, cpu);
   }
@@ -70,43 +160,62 @@ public abstract class Record {
   }
 
   private static final class Instruction extends Record {
-    private BitVector instrId;
     private final int cpu;
-    private long addr;
-    private String disasm;
+    private final long addr;
+    private final String disasm;
+    private final BitVector instrId;
 
     private Instruction(final ConcreteCall call, final int cpu) {
-      super(RecordKind.INSTRUCT, ++instructionId);
+      super(RecordKind.INSTRUCT, nextInstructionId());
       InvariantChecks.checkNotNull(call);
 
       this.cpu = cpu;
       this.addr = call.getAddress().longValue();
       this.disasm = call.getExecutable().getText();
+      this.instrId = call.getImage();
+    }
+
+    private Instruction(
+        final long time,
+        final int cpu,
+        final long addr,
+        final BitVector instrId,
+        final String disasm) {
+      super(RecordKind.INSTRUCT, time);
+
+      this.cpu = cpu;
+      this.addr = addr;
+      this.disasm = disasm;
+      this.instrId = instrId;
+    }
+
+    private BitVector getInstrId() {
+      return instrId;
+    }
 
-      try {
-        final String image = call.getImage();
-        this.instrId = BitVector.valueOf(image, 2, image.length());
-      } catch (final NumberFormatException e) {
-        Logger.error(
-            "Failed to parse image for instruction call %s: '%s'. Reason: %s.",
-            disasm,
-            call.getImage(),
-            e.getMessage()
-        );
+    private long getAddr() {
+      return null != getInstrId() ? addr : 0;
+    }
 
-        this.addr = 0;
-      }
+    @Override
+    public void write(final DataOutput out) throws IOException {
+      super.write(out);
+      out.writeInt(cpu);
+      out.writeLong(getAddr());
+      writeBitVector(out, getInstrId());
+      out.writeUTF(disasm);
     }
 
     @Override
     public String toString() {
+      final BitVector instrId = getInstrId();
       return String.format(
           "%s %d IT (%d) %016x %s A svc_ns : %s",
           super.toString(),
           cpu,
           getTime(),
-          addr,
-          instrId.toHexString(true).toLowerCase(),
+          getAddr(),
+          null != instrId ? instrId.toHexString(true).toLowerCase() : null,
           disasm
           );
     }
@@ -121,7 +230,15 @@ public abstract class Record {
         final long address,
         final BitVector data,
         final boolean isWrite) {
-      super(RecordKind.MEMORY, instructionId);
+      this(getInstructionId(), address, null != data ? data.copy() : null, isWrite);
+    }
+
+    private MemoryAccess(
+        final long time,
+        final long address,
+        final BitVector data,
+        final boolean isWrite) {
+      super(RecordKind.MEMORY, time);
 
       InvariantChecks.checkNotNull(address);
       InvariantChecks.checkNotNull(data);
@@ -131,6 +248,14 @@ public abstract class Record {
       this.isWrite = isWrite;
     }
 
+    @Override
+    public void write(final DataOutput out) throws IOException {
+      super.write(out);
+      out.writeLong(address);
+      writeBitVector(out, data);
+      out.writeBoolean(isWrite);
+    }
+
     @Override
     public String toString() {
       return String.format(
@@ -151,7 +276,14 @@ public abstract class Record {
     private RegisterWrite(
         final String register,
         final BitVector value) {
-      super(RecordKind.REGISTER, instructionId);
+      this(getInstructionId(), register, null != value ? value.copy() : null);
+    }
+
+    private RegisterWrite(
+        final long time,
+        final String register,
+        final BitVector value) {
+      super(RecordKind.REGISTER, time);
 
       InvariantChecks.checkNotNull(register);
       InvariantChecks.checkNotNull(value);
@@ -160,6 +292,13 @@ public abstract class Record {
       this.value = value;
     }
 
+    @Override
+    public void write(final DataOutput out) throws IOException {
+      super.write(out);
+      out.writeUTF(register);
+      writeBitVector(out, value);
+    }
+
     @Override
     public String toString() {
       return String.format(
@@ -16,53 +16,99 @@ package ru.ispras.microtesk.model.tracer;
 
 import ru.ispras.castle.util.Logger;
 import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.utils.Session;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * The {@link Tracer} class is responsible for printing Tracer logs.
  *
+ * <p>Records are passed to a background thread via a bounded queue. The thread formats
+ * records and writes them to the file. Logs can be written in the text form or in the compact
+ * binary form, which can be converted to the text form with {@link TracerLogConverter}.</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class Tracer {
   private static final String FILE_PREFIX = "tracer";
   private static final String FILE_EXTENSION = "log";
+  private static final String BINARY_FILE_EXTENSION = "trace";
+
+  /** Signature of binary Tracer log files. */
+  static final int BINARY_FILE_MAGIC = 0x4D545452; // "MTTR"
+  static final int BINARY_FILE_VERSION = 1;
+
+  private static final int QUEUE_CAPACITY = 64 * 1024;
+
+  /** Record that marks the end of the file. */
+  private static final Record END = new Record(RecordKind.EVENT, -1) {};
 
   private final String filePath;
   private final String filePrefix;
   private final String fileExtension;
+  private final boolean isBinary;
 
   private int fileCount;
-  private PrintWriter fileWritter;
+  private RecordWriter fileWritter;
+
+  /** Tracer of a generation session. */
+  private static final class State {
+    private Tracer instance = null;
+    private boolean enabled = false;
+  }
 
-  private static Tracer instance = null;
-  private static boolean enabled = false;
+  private static final Session.Key<State> STATE = Session.newKey(State::new);
+
+  private static State getState() {
+    return Session.get().get(STATE);
+  }
 
   public static void initialize(final String filePath, final String filePrefix) {
-    // TODO: InvariantChecks.checkTrue(null == instance);
-    if (null != instance) {
+    initialize(filePath, filePrefix, false);
+  }
+
+  public static void initialize(
+      final String filePath, final String filePrefix, final boolean isBinary) {
+    final State state = getState();
+
+    // TODO: InvariantChecks.checkTrue(null == state.instance);
+    if (null != state.instance) {
       Logger.message("Tracer is already initialized.", "");
     }
 
-    instance = new Tracer(filePath, null != filePrefix ? filePrefix : FILE_PREFIX);
+    state.instance =
+        new Tracer(filePath, null != filePrefix ? filePrefix : FILE_PREFIX, isBinary);
   }
 
   public static void shutdown() {
-    instance = null;
+    final State state = getState();
+    if (null != state.instance) {
+      state.instance.close();
+    }
+
+    state.instance = null;
   }
 
   public static boolean isEnabled() {
-    return null != instance && enabled;
+    final State state = getState();
+    return null != state.instance && state.enabled;
   }
 
   public static void setEnabled(final boolean value) {
-    enabled = value;
+    getState().enabled = value;
   }
 
   public static String createFile() throws IOException {
+    final Tracer instance = getState().instance;
     if (null != instance) {
       return instance.create();
     }
@@ -70,24 +116,27 @@ public final class Tracer {
   }
 
   public static void closeFile() {
+    final Tracer instance = getState().instance;
     if (null != instance) {
       instance.close();
     }
   }
 
   public static void addRecord(final Record record) {
+    final Tracer instance = getState().instance;
     if (null != instance) {
       instance.print(record);
     }
   }
 
-  private Tracer(final String filePath, final String filePrefix) {
+  private Tracer(final String filePath, final String filePrefix, final boolean isBinary) {
     InvariantChecks.checkNotNull(filePath);
     InvariantChecks.checkNotNull(filePrefix);
 
     this.filePath = filePath;
     this.filePrefix = filePrefix;
-    this.fileExtension = FILE_EXTENSION;
+    this.fileExtension = isBinary ? BINARY_FILE_EXTENSION : FILE_EXTENSION;
+    this.isBinary = isBinary;
     this.fileCount = 0;
     this.fileWritter = null;
   }
@@ -111,18 +160,137 @@ public final class Tracer {
       fileParent.mkdirs();
     }
 
-    fileWritter = new PrintWriter(new FileWriter(fileFullName));
+    fileWritter = isBinary ? new BinaryWriter(fileFullName) : new TextWriter(fileFullName);
+    fileWritter.start();
+
     return fileName;
   }
 
   private void close() {
     if (null != fileWritter) {
-      fileWritter.close();
+      fileWritter.finish();
+      fileWritter = null;
     }
   }
 
   private void print(final Record record) {
     InvariantChecks.checkNotNull(fileWritter, "Tracer file is not open.");
-    fileWritter.println(record.toString());
+    fileWritter.put(record);
+  }
+
+  /**
+   * The {@link RecordWriter} class is a thread that takes records from the queue and writes them
+   * to the file.
+   */
+  private abstract static class RecordWriter extends Thread {
+    private final String fileName;
+    private final BlockingQueue<Record> queue;
+    private Exception error;
+
+    protected RecordWriter(final String fileName) {
+      super("Tracer");
+      setDaemon(true);
+
+      this.fileName = fileName;
+      this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+      this.error = null;
+    }
+
+    public void put(final Record record) {
+      try {
+        queue.put(record);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        Logger.error("Interrupted while writing Tracer log %s.", fileName);
+      }
+    }
+
+    public void finish() {
+      put(END);
+
+      try {
+        join();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      if (null != error) {
+        Logger.error("Failed to write Tracer log %s: %s", fileName, error.getMessage());
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        for (Record record = queue.take(); record != END; record = queue.take()) {
+          // After a failure, records are still taken to avoid blocking the simulator.
+          if (null == error) {
+            try {
+              write(record);
+            } catch (final IOException | RuntimeException e) {
+              error = e;
+            }
+          }
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        try {
+          close();
+        } catch (final IOException e) {
+          if (null == error) {
+            error = e;
+          }
+        }
+      }
+    }
+
+    protected abstract void write(Record record) throws IOException;
+
+    protected abstract void close() throws IOException;
+  }
+
+  private static final class TextWriter extends RecordWriter {
+    private final PrintWriter out;
+
+    private TextWriter(final String fileName) throws IOException {
+      super(fileName);
+      this.out = new PrintWriter(new BufferedWriter(new FileWriter(fileName)));
+    }
+
+    @Override
+    protected void write(final Record record) {
+      out.println(record.toString());
+    }
+
+    @Override
+    protected void close() throws IOException {
+      out.close();
+      if (out.checkError()) {
+        throw new IOException("Write error");
+      }
+    }
+  }
+
+  private static final class BinaryWriter extends RecordWriter {
+    private final DataOutputStream out;
+
+    private BinaryWriter(final String fileName) throws IOException {
+      super(fileName);
+
+      this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+      this.out.writeInt(BINARY_FILE_MAGIC);
+      this.out.writeInt(BINARY_FILE_VERSION);
+    }
+
+    @Override
+    protected void write(final Record record) throws IOException {
+      record.write(out);
+    }
+
+    @Override
+    protected void close() throws IOException {
+      out.close();
+    }
   }
 }
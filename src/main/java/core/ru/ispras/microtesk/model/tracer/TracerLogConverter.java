@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.model.tracer;
+
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * The {@link TracerLogConverter} class converts binary Tracer logs to the text format.
+ *
+ * <p>Usage: {@code TracerLogConverter <binary log> [<text log>]}. If the text log is not
+ * specified, the output is printed to the standard output.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class TracerLogConverter {
+  private TracerLogConverter() {}
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("Usage: TracerLogConverter <binary log> [<text log>]");
+      System.exit(1);
+    }
+
+    if (args.length == 2) {
+      try (final PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(args[1])))) {
+        convert(args[0], out);
+      }
+    } else {
+      final PrintWriter out = new PrintWriter(System.out);
+      convert(args[0], out);
+      out.flush();
+    }
+  }
+
+  /**
+   * Converts the specified binary Tracer log to the text format.
+   *
+   * @param fileName Binary log file name.
+   * @param out Writer to print the text log to.
+   * @throws IOException if an I/O error occurs or the file is not a binary Tracer log.
+   */
+  public static void convert(final String fileName, final PrintWriter out) throws IOException {
+    InvariantChecks.checkNotNull(fileName);
+    InvariantChecks.checkNotNull(out);
+
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+      if (in.readInt() != Tracer.BINARY_FILE_MAGIC) {
+        throw new IOException(fileName + " is not a binary Tracer log.");
+      }
+
+      final int version = in.readInt();
+      if (version != Tracer.BINARY_FILE_VERSION) {
+        throw new IOException(
+            String.format("Unsupported version of binary Tracer log %s: %d.", fileName, version));
+      }
+
+      while (true) {
+        final Record record;
+        try {
+          record = Record.read(in);
+        } catch (final EOFException e) {
+          break;
+        }
+
+        out.println(record.toString());
+      }
+    }
+  }
+}
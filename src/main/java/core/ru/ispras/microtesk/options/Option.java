@@ -123,6 +123,30 @@ public enum Option implements Property {
   JRUBY_THREAD_POOL_MAX(
       "JRuby: maximum number of threads to allow in pool", Integer.MAX_VALUE, GENERATE),
 
+  SOLVER_CACHE_ENABLED("Enables persistent caching of constraint solver results", false,
+      GENERATE),
+  SOLVER_CACHE_DIR("Directory to store cached solver results (cache/solver in home by default)",
+      "", GENERATE),
+  SOLVER_CACHE_SIZE("Maximum number of constraints in the solver cache", 65536, GENERATE),
+  SOLVER_CACHE_SOLUTIONS("Maximum number of solutions cached per constraint", 1, GENERATE),
+  MMU_CATALOG_ENABLED("Enables the persistent catalog of feasible MMU access paths", false,
+      GENERATE),
+  MMU_CATALOG_DIR("Directory to store MMU access path catalogs (cache/mmu in home by default)",
+      "", GENERATE),
+
+  TRACER_LOG_BINARY("Writes Tracer logs in the binary format (see TracerLogConverter)", false,
+      GENERATE),
+  SHARD("Generates only a shard of the test sequences of each block specified as index/count "
+      + "(e.g. 0/4)", "", GENERATE),
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  // Server Options
+
+  SERVER("Runs a server that generates test programs for jobs received over a local socket",
+      false, null, "task"),
+  SERVER_PORT("Local TCP port the generation server listens to", 7070, SERVER),
+  SERVER_POOL_SIZE("Number of JRuby containers the server keeps initialized", 2, SERVER),
+
   ////////////////////////////////////////////////////////////////////////////////////////////////
   // Template Generation Options
 
@@ -16,6 +16,7 @@ package ru.ispras.microtesk.settings;
 
 import ru.ispras.castle.util.Logger;
 import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.utils.Session;
 
 /**
  * {@link GeneratorSettings} represents generator settings.
@@ -26,20 +27,20 @@ import ru.ispras.fortress.util.InvariantChecks;
  * @author <a href="mailto:kamkin@ispras.ru">Alexander Kamkin</a>
  */
 public class GeneratorSettings extends AbstractSettings {
-  private static GeneratorSettings instance = null;
+  private static final Session.Key<GeneratorSettings> KEY = Session.newKey(null);
 
   public static GeneratorSettings get() {
-    return instance;
+    return Session.get().get(KEY);
   }
 
   public static void set(final GeneratorSettings settings) {
     InvariantChecks.checkNotNull(settings);
 
-    if (null != instance) {
+    if (null != get()) {
       Logger.message("GeneratorSettings are already initialized.", "");
     }
 
-    instance = settings;
+    Session.get().set(KEY, settings);
   }
 
   public static final String TAG = "settings";
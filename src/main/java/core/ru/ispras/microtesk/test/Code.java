@@ -17,53 +17,95 @@ package ru.ispras.microtesk.test;
 import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.fortress.util.Pair;
 import ru.ispras.microtesk.test.template.ConcreteCall;
+import ru.ispras.microtesk.utils.LongMap;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 
 /**
  * The {@link Code} class describes the organization of code sections to be simulated.
  *
+ * <p>Addresses are indexed by maps with primitive keys, so queries made during simulation
+ * do not allocate memory. Blocks are also kept sorted by start address, which allows checking
+ * overlapping and linking of a new block in logarithmic time.</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class Code {
-  private final Map<Long, CodeBlock> blocks;
-  private final Map<Long, Pair<CodeBlock, Integer>> addresses;
+  private final TreeMap<Long, CodeBlock> blocks;
+  private final TreeMap<Long, CodeBlock> nonEmptyBlocks;
+  private final LongMap<CodeBlock> blockStarts;
+  private final LongMap<Position> addresses;
   private final Map<String, Long> handlerAddresses;
-  private final Set<Long> breakAddresses;
+  private final LongMap<Boolean> breakAddresses;
+
+  private static final class Position {
+    private final CodeBlock block;
+    private final int index;
+
+    private Position(final CodeBlock block, final int index) {
+      this.block = block;
+      this.index = index;
+    }
+  }
 
   public Code() {
     this.blocks = new TreeMap<>();
-    this.addresses = new HashMap<>();
+    this.nonEmptyBlocks = new TreeMap<>();
+    this.blockStarts = new LongMap<>();
+    this.addresses = new LongMap<>();
     this.handlerAddresses = new HashMap<>();
-    this.breakAddresses = new HashSet<>();
+    this.breakAddresses = new LongMap<>();
   }
 
   public void registerBlock(final CodeBlock newBlock) {
     InvariantChecks.checkNotNull(newBlock);
 
-    CodeBlock blockToLink = null;
-    for (final CodeBlock block : blocks.values()) {
-      final Pair<Long, Long> overlapping = block.getOverlapping(newBlock);
+    final long startAddress = newBlock.getStartAddress();
+    checkOverlapping(nonEmptyBlocks.floorEntry(startAddress), newBlock);
+    checkOverlapping(nonEmptyBlocks.higherEntry(startAddress), newBlock);
+
+    final CodeBlock blockToLink = findBlockEndingAt(startAddress);
+    if (null != blockToLink) {
+      blockToLink.setNext(newBlock);
+    }
+
+    blocks.put(startAddress, newBlock);
+    blockStarts.put(startAddress, newBlock);
+
+    if (startAddress < newBlock.getEndAddress()) {
+      nonEmptyBlocks.put(startAddress, newBlock);
+    }
+
+    registerAddresses(newBlock);
+  }
+
+  private void checkOverlapping(final Map.Entry<Long, CodeBlock> entry, final CodeBlock newBlock) {
+    // Non-empty blocks do not overlap. So, only the neighbors of the new block can overlap it.
+    if (null != entry) {
+      final Pair<Long, Long> overlapping = entry.getValue().getOverlapping(newBlock);
       if (null != overlapping) {
         throw newOverlappingException(newBlock, overlapping);
       }
+    }
+  }
 
-      if (block.getEndAddress() == newBlock.getStartAddress()) {
-        blockToLink = block;
+  private CodeBlock findBlockEndingAt(final long address) {
+    // If there are several such blocks, the one with the greatest start address is chosen.
+    for (final CodeBlock block : blocks.headMap(address, true).descendingMap().values()) {
+      if (block.getEndAddress() == address) {
+        return block;
       }
-    }
 
-    if (null != blockToLink) {
-      blockToLink.setNext(newBlock);
+      if (block.getStartAddress() < block.getEndAddress()) {
+        // Non-empty blocks do not overlap. Blocks below this one end before the address.
+        break;
+      }
     }
 
-    blocks.put(newBlock.getStartAddress(), newBlock);
-    registerAddresses(newBlock);
+    return null;
   }
 
   private GenerationAbortedException newOverlappingException(
@@ -98,7 +140,7 @@ public final class Code {
       final long address = call.getAddress().longValue();
 
       if (!addresses.containsKey(address)) {
-        addresses.put(address, new Pair<>(block, index));
+        addresses.put(address, new Position(block, index));
       }
     }
   }
@@ -108,21 +150,37 @@ public final class Code {
   }
 
   public boolean hasBlockStartAt(final long address) {
-    return blocks.containsKey(address);
+    return blockStarts.containsKey(address);
   }
 
   public Iterator getIterator(final long address, final boolean fromBlockStart) {
     if (fromBlockStart) {
-      final CodeBlock block = blocks.get(address);
+      final CodeBlock block = blockStarts.get(address);
       if (null != block) {
         return new Iterator(block, 0);
       }
     }
 
-    final Pair<CodeBlock, Integer> entry = addresses.get(address);
-    InvariantChecks.checkNotNull(entry);
+    final Position position = addresses.get(address);
+    InvariantChecks.checkNotNull(position);
+
+    return new Iterator(position.block, position.index);
+  }
+
+  /**
+   * Moves the specified iterator to the specified address. Unlike {@link #getIterator},
+   * does not allocate memory.
+   *
+   * @param iterator Iterator to be moved.
+   * @param address Address of a call.
+   */
+  public void moveIterator(final Iterator iterator, final long address) {
+    InvariantChecks.checkNotNull(iterator);
+
+    final Position position = addresses.get(address);
+    InvariantChecks.checkNotNull(position);
 
-    return new Iterator(entry.first, entry.second);
+    iterator.init(position.block, position.index);
   }
 
   public void addHandlerAddress(final String id, final long address) {
@@ -145,11 +203,11 @@ public final class Code {
   }
 
   public boolean isBreakAddress(final long address) {
-    return breakAddresses.contains(address);
+    return breakAddresses.containsKey(address);
   }
 
   public void addBreakAddress(final long address) {
-    breakAddresses.add(address);
+    breakAddresses.put(address, Boolean.TRUE);
   }
 
   public static final class Iterator {
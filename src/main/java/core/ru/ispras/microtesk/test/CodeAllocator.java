@@ -251,7 +251,7 @@ public final class CodeAllocator {
 
       // Allocate the instruction call image in memory.
       if (call.isExecutable()) {
-        final BitVector image = BitVector.valueOf(call.getImage());
+        final BitVector image = call.getImage();
         final int imageSize = allocator.bitsToAddressableUnits(image.getBitSize());
 
         if (Logger.isDebug()) {
@@ -317,6 +317,7 @@ public final class CodeAllocator {
           labelRef.setTarget(target);
           final long address = target.getAddress();
           labelRef.getPatcher().setValue(BigIntegerUtils.asUnsigned(address));
+          call.resetImage();
         } else { // Label is not found
           // References to undefined labels are not assigned sequence index as
           // they presumably refer to some global labels.
@@ -182,8 +182,15 @@ public final class Executor {
 
     public void jump(final long jumpAddress) {
       address = jumpAddress;
-      iterator = !code.hasAddress(jumpAddress) ? null : code.getIterator(jumpAddress, false);
       isNextAfterNull = false;
+
+      if (!code.hasAddress(jumpAddress)) {
+        iterator = null;
+      } else if (null == iterator) {
+        iterator = code.getIterator(jumpAddress, false);
+      } else {
+        code.moveIterator(iterator, jumpAddress);
+      }
     }
   }
 
@@ -199,6 +206,9 @@ public final class Executor {
   private final int branchExecutionLimit;
   private final boolean isLoggingEnabled;
 
+  private ProcessingElement pcOwner;
+  private LocationAccessor pcLocation;
+
   /**
    * Constructs an Executor object.
    *
@@ -226,6 +236,9 @@ public final class Executor {
     this.invalidCall = EngineUtils.makeSpecialConcreteCall(context, "invalid_instruction");
     this.branchExecutionLimit = context.getOptions().getValueAsInteger(Option.BRANCH_EXEC_LIMIT);
     this.isLoggingEnabled = context.getOptions().getValueAsBoolean(Option.VERBOSE);
+
+    this.pcOwner = null;
+    this.pcLocation = null;
   }
 
   public Executor(final EngineContext context) {
@@ -326,6 +339,7 @@ public final class Executor {
           if (null != target) {
             reference.setTarget(target);
             reference.getPatcher().setValue(BigIntegerUtils.asUnsigned(target.getAddress()));
+            call.resetImage();
           }
         }
 
@@ -367,7 +381,7 @@ public final class Executor {
       }
 
       final long address = getPC();
-      final boolean isJump = address != call.getAddress().longValue() + call.getByteSize();
+      final boolean isJump = address != call.getNextAddress();
 
       // NORMAL
       if (!isJump) {
@@ -404,15 +418,22 @@ public final class Executor {
   }
 
   private LocationAccessor getPCLocation() throws ConfigurationException {
-    return getStateObserver().accessLocation("PC");
+    // The location is bound once per PE (the active PE or its temporary copy can change).
+    final ProcessingElement processingElement = getStateObserver();
+    if (processingElement != pcOwner) {
+      pcLocation = processingElement.accessLocation("PC");
+      pcOwner = processingElement;
+    }
+
+    return pcLocation;
   }
 
   private long getPC() throws ConfigurationException {
-    return getPCLocation().getValue().longValue();
+    return getPCLocation().getLongValue();
   }
 
   private void setPC(final long address) throws ConfigurationException {
-    getPCLocation().setValue(BigIntegerUtils.asUnsigned(address));
+    getPCLocation().setLongValue(address);
   }
 
   private Long getExceptionHandlerAddress(
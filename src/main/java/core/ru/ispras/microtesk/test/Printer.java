@@ -16,6 +16,7 @@ package ru.ispras.microtesk.test;
 
 import ru.ispras.castle.util.FileUtils;
 import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.data.types.bitvector.BitVector;
 import ru.ispras.fortress.util.InvariantChecks;
 
 import ru.ispras.microtesk.SysUtils;
@@ -30,6 +31,7 @@ import ru.ispras.microtesk.test.template.Label;
 import ru.ispras.microtesk.test.template.Output;
 import ru.ispras.microtesk.test.template.directive.Directive;
 import ru.ispras.microtesk.utils.BinaryWriter;
+import ru.ispras.microtesk.utils.Session;
 
 import java.io.File;
 import java.io.IOException;
@@ -46,21 +48,21 @@ import java.util.List;
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class Printer {
-  private static final List<String> CUSTOM_HEADER = new ArrayList<>();
-  private static final List<String> CUSTOM_FOOTER = new ArrayList<>();
+  private static final Session.Key<List<String>> CUSTOM_HEADER = Session.newKey(ArrayList::new);
+  private static final Session.Key<List<String>> CUSTOM_FOOTER = Session.newKey(ArrayList::new);
 
   public static void addToHeader(final String text) {
     InvariantChecks.checkNotNull(text);
-    CUSTOM_HEADER.add(text);
+    Session.get().get(CUSTOM_HEADER).add(text);
   }
 
   public static void addToFooter(final String text) {
     InvariantChecks.checkNotNull(text);
-    CUSTOM_FOOTER.add(text);
+    Session.get().get(CUSTOM_FOOTER).add(text);
   }
 
   private static final int LINE_WIDTH = 100;
-  private static Printer console = null;
+  private static final Session.Key<Printer> CONSOLE = Session.newKey(null);
 
   private final Options options;
   private final boolean printToScreen;
@@ -80,6 +82,7 @@ public final class Printer {
 
   public static Printer getConsole(
       final Options options, final Statistics statistics) {
+    final Printer console = Session.get().get(CONSOLE);
     if (null != console) {
       return console;
     }
@@ -88,12 +91,12 @@ public final class Printer {
     InvariantChecks.checkNotNull(statistics);
 
     try {
-      console = new Printer(options, true, null, null);
+      final Printer newConsole = new Printer(options, true, null, null);
+      Session.get().set(CONSOLE, newConsole);
+      return newConsole;
     } catch (final IOException e) {
       throw new IllegalArgumentException(e);
     }
-
-    return console;
   }
 
   public static Printer newCodeFile(
@@ -249,18 +252,20 @@ public final class Printer {
       printCommentToFile("");
       printToFile(separator);
 
-      for (final String text : CUSTOM_HEADER) {
+      final List<String> header = Session.get().get(CUSTOM_HEADER);
+      for (final String text : header) {
         printToFile(text);
       }
-      CUSTOM_HEADER.clear();
+      header.clear();
     }
   }
 
   private void printFileFooter() {
-    for (final String text : CUSTOM_FOOTER) {
+    final List<String> footer = Session.get().get(CUSTOM_FOOTER);
+    for (final String text : footer) {
       printToFile(text);
     }
-    CUSTOM_FOOTER.clear();
+    footer.clear();
   }
 
   private static String newSeparator(final int length, final String token) {
@@ -339,7 +344,7 @@ public final class Printer {
 
     for (final ConcreteCall call : calls) {
       for (final Directive directive : call.getDirectives()) {
-        printText(directive.getText(), directive.needsIndent());
+        printDirective(directive);
       }
 
       printOutputs(model, call.getOutputs());
@@ -352,8 +357,8 @@ public final class Printer {
       }
 
       if (writeToFile && null != binaryWriter) {
-        final String image = call.getImage();
-        if (null != image && !image.isEmpty()) {
+        final BitVector image = call.getImage();
+        if (null != image) {
           binaryWriter.write(image);
         }
       }
@@ -521,7 +526,13 @@ public final class Printer {
 
   public void printData(final DataSection dataSection) {
     for (final Directive directive : dataSection.getDirectives()) {
-      printText(directive.getText(), directive.needsIndent());
+      printDirective(directive);
+    }
+  }
+
+  private void printDirective(final Directive directive) {
+    for (final String line : directive.getTextLines()) {
+      printText(line, directive.needsIndent());
     }
   }
 
@@ -114,7 +114,11 @@ final class TemplateProcessor implements Template.Processor {
 
     if (options.getValueAsBoolean(Option.TRACER_LOG)) {
       final String outDir = Printer.getOutDir(options);
-      Tracer.initialize(outDir, options.getValueAsString(Option.CODE_FILE_PREFIX));
+      Tracer.initialize(
+          outDir,
+          options.getValueAsString(Option.CODE_FILE_PREFIX),
+          options.getValueAsBoolean(Option.TRACER_LOG_BINARY)
+          );
     }
     if (options.getValueAsBoolean(Option.COVERAGE_LOG))
     {
@@ -26,9 +26,11 @@ import ru.ispras.microtesk.Plugin;
 import ru.ispras.microtesk.Revisions;
 import ru.ispras.microtesk.ScriptRunner;
 import ru.ispras.microtesk.SysUtils;
+import ru.ispras.microtesk.model.Aspectracer;
 import ru.ispras.microtesk.model.Execution;
 import ru.ispras.microtesk.model.Model;
 import ru.ispras.microtesk.model.Reader;
+import ru.ispras.microtesk.model.tracer.Tracer;
 import ru.ispras.microtesk.options.Option;
 import ru.ispras.microtesk.options.Options;
 import ru.ispras.microtesk.settings.AllocationSettings;
@@ -39,12 +41,15 @@ import ru.ispras.microtesk.test.engine.EngineContext;
 import ru.ispras.microtesk.test.engine.allocator.AllocatorEngine;
 import ru.ispras.microtesk.test.template.Template;
 import ru.ispras.microtesk.translator.nml.coverage.TestBase;
+import ru.ispras.microtesk.utils.Session;
+import ru.ispras.microtesk.utils.SessionRandomGenerator;
 
 import ru.ispras.testbase.TestBaseRegistry;
 import ru.ispras.testbase.generator.DataGenerator;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -55,10 +60,18 @@ import java.util.Set;
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class TestEngine {
-  private static TestEngine instance = null;
+  private static final Session.Key<TestEngine> KEY = Session.newKey(null);
 
   public static TestEngine getInstance() {
-    return instance;
+    return Session.get().get(KEY);
+  }
+
+  /**
+   * Releases the generation session bound to the current thread (the engine instance,
+   * the model and other objects created during the last generation run).
+   */
+  public static void reset() {
+    Session.open();
   }
 
   private final Options options;
@@ -93,6 +106,8 @@ public final class TestEngine {
 
     if (allocation != null) {
       AllocatorEngine.init(allocation);
+    } else {
+      AllocatorEngine.reset();
     }
   }
 
@@ -131,6 +146,25 @@ public final class TestEngine {
       return false;
     }
 
+    // Each run uses its own session, so several runs can be performed concurrently.
+    Session.open();
+    try {
+      return generateInSession(options, modelName, templateFile, plugins);
+    } finally {
+      // Trace files must be closed even if generation has failed.
+      Tracer.shutdown();
+      Aspectracer.shutdown();
+
+      // The model can be reused by the next run.
+      SysUtils.releaseModel(modelName);
+    }
+  }
+
+  private static boolean generateInSession(
+      final Options options,
+      final String modelName,
+      final String templateFile,
+      final List<Plugin> plugins) throws Throwable {
     final Statistics statistics = new Statistics();
     statistics.pushActivity(Statistics.Activity.INITIALIZING);
 
@@ -165,9 +199,10 @@ public final class TestEngine {
 
     setRandomSeed(options.getValueAsInteger(Option.RANDOM_SEED));
     setSolver(options.getValueAsString(Option.SOLVER));
+    setSolverCache(options);
     Environment.setDebugMode(options.getValueAsBoolean(Option.SOLVER_DEBUG));
 
-    instance = new TestEngine(model, revisionIds, options, plugins, statistics);
+    Session.get().set(KEY, new TestEngine(model, revisionIds, options, plugins, statistics));
 
     try {
       ScriptRunner.run(options, templateFile);
@@ -186,6 +221,11 @@ public final class TestEngine {
     Logger.message("Programs/stimuli/instructions: %d/%d/%d",
         statistics.getPrograms(), statistics.getSequences(), statistics.getInstructions());
 
+    final String solverCacheStatistics = TestBase.getSolverCacheStatistics();
+    if (null != solverCacheStatistics) {
+      Logger.message(solverCacheStatistics);
+    }
+
     if (options.getValueAsBoolean(Option.TIME_STATISTICS)) {
       Logger.message(System.lineSeparator() + "Time Statistics");
 
@@ -251,6 +291,7 @@ public final class TestEngine {
           Option.ARCH_DIRS.getName(), modelName);
     }
 
+    // Settings are parsed for each run: runs can modify them.
     return SettingsParser.parse(archPath.toString());
   }
 
@@ -323,6 +364,8 @@ public final class TestEngine {
   }
 
   private static void setRandomSeed(final int seed) {
+    // Each session has its own random generator, so the seed does not affect other sessions.
+    SessionRandomGenerator.install();
     Randomizer.get().setSeed(seed);
   }
 
@@ -333,7 +376,27 @@ public final class TestEngine {
       TestBase.setSolverId(SolverId.CVC4_TEXT);
     } else {
       Logger.warning("Unknown solver: %s. Default solver will be used.", solverName);
+      // The solver selected by the previous run must not be used.
+      TestBase.setSolverId(SolverId.CVC4_TEXT);
+    }
+  }
+
+  private static void setSolverCache(final Options options) {
+    if (!options.getValueAsBoolean(Option.SOLVER_CACHE_ENABLED)) {
+      TestBase.setSolverCache(null, 0, 0);
+      return;
     }
+
+    final String cacheDir = options.getValueAsString(Option.SOLVER_CACHE_DIR);
+    final Path cachePath = !cacheDir.isEmpty()
+        ? Paths.get(cacheDir)
+        : Paths.get(SysUtils.getHomeDir(), "cache", "solver");
+
+    TestBase.setSolverCache(
+        cachePath,
+        options.getValueAsInteger(Option.SOLVER_CACHE_SIZE),
+        options.getValueAsInteger(Option.SOLVER_CACHE_SOLUTIONS)
+        );
   }
 
   // Register the user-defined test data generators.
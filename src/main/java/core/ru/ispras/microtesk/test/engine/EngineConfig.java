@@ -15,27 +15,58 @@
 package ru.ispras.microtesk.test.engine;
 
 import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.Plugin;
+import ru.ispras.microtesk.utils.Session;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * {@link EngineConfig} implements a test engine configuration.
  *
+ * <p>Engines and initializer makers are stateful. Therefore, each session has its own
+ * configuration, which is filled with new objects provided by the registered plugins.</p>
+ *
  * @author <a href="mailto:kamkin@ispras.ru">Alexander Kamkin</a>
  */
 public final class EngineConfig {
   private final Map<String, Engine> engines = new HashMap<>();
   private final Map<String, InitializerMaker> initializerMakers = new HashMap<>();
 
-  private static final EngineConfig instance = new EngineConfig();
+  private static final List<Plugin> plugins = new CopyOnWriteArrayList<>();
+  private static final Session.Key<EngineConfig> KEY = Session.newKey(EngineConfig::new);
+
+  public static void registerPlugin(final Plugin plugin) {
+    InvariantChecks.checkNotNull(plugin);
+
+    for (final Plugin registered : plugins) {
+      if (registered.getClass() == plugin.getClass()) {
+        return;
+      }
+    }
+
+    plugins.add(plugin);
+  }
 
   public static EngineConfig get() {
-    return (EngineConfig) instance;
+    return Session.get().get(KEY);
   }
 
-  private EngineConfig() {}
+  private EngineConfig() {
+    for (final Plugin plugin : plugins) {
+      for (final Map.Entry<String, Engine> entry : plugin.getEngines().entrySet()) {
+        registerEngine(entry.getKey(), entry.getValue());
+      }
+
+      for (final Map.Entry<String, InitializerMaker> entry :
+          plugin.getInitializerMakers().entrySet()) {
+        registerInitializerMaker(entry.getKey(), entry.getValue());
+      }
+    }
+  }
 
   public Engine registerEngine(final String name, final Engine engine) {
     InvariantChecks.checkNotNull(name);
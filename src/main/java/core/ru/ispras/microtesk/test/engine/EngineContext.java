@@ -28,6 +28,7 @@ import ru.ispras.microtesk.test.template.MemoryPreparatorStore;
 import ru.ispras.microtesk.test.template.PreparatorStore;
 import ru.ispras.microtesk.test.template.StreamStore;
 import ru.ispras.microtesk.test.template.directive.DirectiveFactory;
+import ru.ispras.microtesk.utils.Session;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -38,6 +39,7 @@ import java.util.Map;
  * @author <a href="mailto:kamkin@ispras.ru">Alexander Kamkin</a>
  */
 public final class EngineContext {
+  private final Session session;
   private final Options options;
   private final Model model;
   private final LabelManager labelManager;
@@ -63,6 +65,7 @@ public final class EngineContext {
     InvariantChecks.checkNotNull(model);
     InvariantChecks.checkNotNull(statistics);
 
+    this.session = Session.get();
     this.options = options;
     this.model = model;
     this.labelManager = new LabelManager();
@@ -85,6 +88,16 @@ public final class EngineContext {
     this.directiveFactory = null;
   }
 
+  /**
+   * Returns the generation session the context belongs to. Threads that do work for
+   * the engine must be bound to it with {@link Session#bind(Session)}.
+   *
+   * @return Generation session.
+   */
+  public Session getSession() {
+    return session;
+  }
+
   public Options getOptions() {
     return options;
   }
@@ -44,6 +44,7 @@ import ru.ispras.microtesk.test.template.Stream;
 import ru.ispras.microtesk.test.template.StreamStore;
 import ru.ispras.microtesk.test.template.UnknownImmediateValue;
 import ru.ispras.microtesk.translator.nml.coverage.TestBase;
+import ru.ispras.microtesk.utils.Session;
 
 import ru.ispras.testbase.TestBaseQuery;
 import ru.ispras.testbase.TestBaseQueryResult;
@@ -300,8 +301,13 @@ public final class EngineUtils {
     return situation.getName();
   }
 
-  private static List<LabelReference> labelRefs = null;
-  private static List<LocationAccessor> addressRefs = null;
+  /** References collected while a concrete call is being built. */
+  private static final class References {
+    private List<LabelReference> labelRefs = null;
+    private List<LocationAccessor> addressRefs = null;
+  }
+
+  private static final Session.Key<References> REFERENCES = Session.newKey(References::new);
 
   public static List<ConcreteCall> makeConcreteCalls(
       final EngineContext engineContext,
@@ -333,9 +339,10 @@ public final class EngineUtils {
       return new ConcreteCall(abstractCall);
     }
 
+    final References refs = Session.get().get(REFERENCES);
     try {
-      labelRefs = new ArrayList<>();
-      addressRefs = new ArrayList<>();
+      refs.labelRefs = new ArrayList<>();
+      refs.addressRefs = new ArrayList<>();
 
       final Primitive rootOp = abstractCall.getRootOperation();
       checkRootOp(rootOp);
@@ -346,12 +353,14 @@ public final class EngineUtils {
       return new ConcreteCall(
           abstractCall,
           executable,
-          labelRefs.isEmpty() ? Collections.<LabelReference>emptyList() : labelRefs,
-          addressRefs.isEmpty() ? Collections.<LocationAccessor>emptyList() : addressRefs
+          refs.labelRefs.isEmpty()
+              ? Collections.<LabelReference>emptyList() : refs.labelRefs,
+          refs.addressRefs.isEmpty()
+              ? Collections.<LocationAccessor>emptyList() : refs.addressRefs
           );
     } finally {
-      labelRefs = null;
-      addressRefs = null;
+      refs.labelRefs = null;
+      refs.addressRefs = null;
     }
   }
 
@@ -418,6 +427,7 @@ public final class EngineUtils {
     InvariantChecks.checkNotNull(model);
     InvariantChecks.checkNotNull(primitive);
 
+    final References refs = Session.get().get(REFERENCES);
     final String name = primitive.getName();
     final IsaPrimitiveBuilder builder;
 
@@ -444,8 +454,8 @@ public final class EngineUtils {
         case IMM_LAZY: {
           final LocationAccessor locationAccessor =
               builder.setArgument(argName, arg.getImmediateValue());
-          if (arg.getValue() == LazyValue.ADDRESS && addressRefs != null) {
-            addressRefs.add(locationAccessor);
+          if (arg.getValue() == LazyValue.ADDRESS && refs.addressRefs != null) {
+            refs.addressRefs.add(locationAccessor);
           }
           break;
         }
@@ -456,8 +466,8 @@ public final class EngineUtils {
           final LabelReference labelReference =
               new LabelReference((LabelValue) arg.getValue(), locationAccessor);
 
-          if (null != labelRefs) {
-            labelRefs.add(labelReference);
+          if (null != refs.labelRefs) {
+            refs.labelRefs.add(labelReference);
           }
 
           if (primitive.isLabel()) {
@@ -18,17 +18,24 @@ import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.fortress.util.Pair;
 import ru.ispras.microtesk.utils.function.Supplier;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
  * {@link AllocationTable} implements a resource allocation table, which is a finite set of objects
  * (registers, pages, etc.) in couple with allocation / deallocation methods.
  *
+ * <p>If the set of objects is given explicitly, the objects are indexed, and the sets of used,
+ * retained and excluded objects are kept as bitsets of indices. The index sets keep the order
+ * of addition, so allocation makes the same random choices as with collections of objects.</p>
+ *
  * @param <T> type of objects.
  *
  * @author <a href="mailto:kamkin@ispras.ru">Alexander Kamkin</a>
@@ -38,12 +45,21 @@ public final class AllocationTable<T> {
   private AllocationData<T> allocationData;
 
   /** Set of all available objects. */
-  private final Collection<T> objects;
+  private final List<T> objects;
+  /** Maps an object to its index in {@code objects}. */
+  private final Map<T, Integer> indices;
   /** Object supplier (alternative to {@code objects}). */
   private final Supplier<T> supplier;
 
-  /** Set of used objects. */
+  /** Set of used objects (if objects are generated by the supplier). */
   private final Map<ResourceOperation, Collection<T>> used;
+  /** Set of indices of used objects (if objects are given explicitly). */
+  private final Map<ResourceOperation, IndexSet> usedIndices;
+
+  /** Indices of all objects and temporary index sets (reused on each allocation). */
+  private final IndexSet allIndices;
+  private final IndexSet retainIndices;
+  private final IndexSet excludeIndices;
 
   /** Tracker used to relax the set of used objects. */
   private final Map<T, Integer> where = new HashMap<>();
@@ -58,11 +74,39 @@ public final class AllocationTable<T> {
     InvariantChecks.checkTrue((objects == null) != (supplier == null));
 
     this.allocationData = allocationData;
-    this.objects = objects != null ? Collections.unmodifiableCollection(objects) : null;
     this.supplier = supplier;
-    this.used = new EnumMap<>(ResourceOperation.class);
-    for (final ResourceOperation operation : ResourceOperation.values()) {
-      this.used.put(operation, new LinkedHashSet<T>());
+
+    if (objects != null) {
+      this.indices = new LinkedHashMap<>();
+      for (final T object : objects) {
+        if (!indices.containsKey(object)) {
+          indices.put(object, indices.size());
+        }
+      }
+
+      this.objects = Collections.unmodifiableList(new ArrayList<>(indices.keySet()));
+      this.used = null;
+      this.usedIndices = new EnumMap<>(ResourceOperation.class);
+      for (final ResourceOperation operation : ResourceOperation.values()) {
+        this.usedIndices.put(operation, new IndexSet(indices.size()));
+      }
+
+      this.allIndices = new IndexSet(indices.size());
+      this.allIndices.addAll();
+      this.retainIndices = new IndexSet(indices.size());
+      this.excludeIndices = new IndexSet(indices.size());
+    } else {
+      this.objects = null;
+      this.indices = null;
+      this.used = new EnumMap<>(ResourceOperation.class);
+      for (final ResourceOperation operation : ResourceOperation.values()) {
+        this.used.put(operation, new LinkedHashSet<T>());
+      }
+
+      this.usedIndices = null;
+      this.allIndices = null;
+      this.retainIndices = null;
+      this.excludeIndices = null;
     }
   }
 
@@ -110,7 +154,11 @@ public final class AllocationTable<T> {
    */
   public void reset() {
     for (final ResourceOperation operation : ResourceOperation.values()) {
-      used.get(operation).clear();
+      if (objects != null) {
+        usedIndices.get(operation).clear();
+      } else {
+        used.get(operation).clear();
+      }
     }
 
     where.clear();
@@ -127,7 +175,7 @@ public final class AllocationTable<T> {
    */
   public boolean exists(final T object) {
     InvariantChecks.checkNotNull(object);
-    return objects.contains(object);
+    return indices.containsKey(object);
   }
 
   /**
@@ -136,10 +184,14 @@ public final class AllocationTable<T> {
    * @param object the object to be freed.
    */
   public void free(final T object) {
-    checkObject(object);
+    final int index = checkObject(object);
 
     for (final ResourceOperation operation : ResourceOperation.values()) {
-      used.get(operation).remove(object);
+      if (objects != null) {
+        usedIndices.get(operation).remove(index);
+      } else {
+        used.get(operation).remove(object);
+      }
     }
   }
 
@@ -150,15 +202,15 @@ public final class AllocationTable<T> {
    * @param object the object to be used.
    */
   public void use(final ResourceOperation operation, final T object) {
-    checkObject(object);
+    final int index = checkObject(object);
 
     if (allocationData.getTrack() > 0) {
-      final Integer index = where.get(object);
+      final Integer position = where.get(object);
       final Pair<T, ResourceOperation> entry = track.get(count);
 
       // Remove the previous usage of the object.
-      if (index != null) {
-        track.remove(index);
+      if (position != null) {
+        track.remove(position);
       }
 
       // Free a previously used object.
@@ -175,8 +227,13 @@ public final class AllocationTable<T> {
     }
 
     if (operation != ResourceOperation.NOP) {
-      used.get(operation).add(object);
-      used.get(ResourceOperation.ANY).add(object);
+      if (objects != null) {
+        usedIndices.get(operation).add(index);
+        usedIndices.get(ResourceOperation.ANY).add(index);
+      } else {
+        used.get(operation).add(object);
+        used.get(ResourceOperation.ANY).add(object);
+      }
     }
   }
 
@@ -199,16 +256,26 @@ public final class AllocationTable<T> {
     InvariantChecks.checkNotNull(allocator);
 
     final T object;
-    if (retain.isEmpty()) {
-      object = (objects != null)
-          ? allocator.next(objects,  exclude, used, rate)
-          : allocator.next(supplier, exclude, used, rate);
+    if (objects == null) {
+      object = retain.isEmpty()
+          ? allocator.next(supplier, exclude, used, rate)
+          : allocator.next(retain, exclude, used, rate);
+    } else if (retain.isEmpty() || toIndices(retain, retainIndices)) {
+      toIndices(exclude, excludeIndices);
+
+      final IndexSet candidates = retain.isEmpty() ? allIndices : retainIndices;
+      final int index = allocator.next(candidates, excludeIndices, usedIndices, rate);
+
+      object = index != IndexSet.NONE ? objects.get(index) : null;
     } else {
-      object = allocator.next(retain, exclude, used, rate);
+      // Some of the retained objects are unknown to the table.
+      object = allocator.next(retain, exclude, getUsed(), rate);
     }
 
-    InvariantChecks.checkNotNull(
-        object, String.format("Cannot peek an object: used=%s, excluded=%s", used, exclude));
+    if (object == null) {
+      throw new IllegalStateException(String.format(
+          "Cannot peek an object: used=%s, excluded=%s", getUsed(), exclude));
+    }
 
     return object;
   }
@@ -242,16 +309,65 @@ public final class AllocationTable<T> {
     return supplier;
   }
 
-  private void checkObject(final T object) {
+  /**
+   * Fills the index set with the indices of the given objects.
+   *
+   * @param collection the objects.
+   * @param target the index set to be filled.
+   * @return {@code true} if all the objects are known to the table; {@code false} otherwise.
+   */
+  private boolean toIndices(final Collection<T> collection, final IndexSet target) {
+    boolean isKnown = true;
+
+    target.clear();
+    for (final T object : collection) {
+      final Integer index = indices.get(object);
+
+      if (index != null) {
+        target.add(index);
+      } else {
+        isKnown = false;
+      }
+    }
+
+    return isKnown;
+  }
+
+  private Map<ResourceOperation, Collection<T>> getUsed() {
+    if (objects == null) {
+      return used;
+    }
+
+    final Map<ResourceOperation, Collection<T>> result = new EnumMap<>(ResourceOperation.class);
+    for (final Map.Entry<ResourceOperation, IndexSet> entry : usedIndices.entrySet()) {
+      final IndexSet usedSet = entry.getValue();
+      final Collection<T> collection = new LinkedHashSet<>();
+      for (int position = 0; position < usedSet.size(); position++) {
+        collection.add(objects.get(usedSet.get(position)));
+      }
+      result.put(entry.getKey(), collection);
+    }
+
+    return result;
+  }
+
+  private int checkObject(final T object) {
     InvariantChecks.checkNotNull(object);
 
-    if (objects != null && !objects.contains(object)) {
+    if (objects == null) {
+      return IndexSet.NONE;
+    }
+
+    final Integer index = indices.get(object);
+    if (index == null) {
       throw new IllegalArgumentException(String.format("Unknown object: %s", object));
     }
+
+    return index;
   }
 
   @Override
   public String toString() {
-    return String.format("used=%s", used);
+    return String.format("used=%s", getUsed());
   }
 }
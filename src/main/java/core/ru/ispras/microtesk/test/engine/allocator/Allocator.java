@@ -66,6 +66,15 @@ public enum Allocator {
 
       return null;
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      return IndexSet.choose(retain, exclude, null);
+    }
   },
 
   /** Returns a free object or {@code null} if all the objects are in use. */
@@ -105,6 +114,15 @@ public enum Allocator {
 
       return null;
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      return IndexSet.choose(retain, exclude, used.get(ResourceOperation.ANY));
+    }
   },
 
   /** Returns a used object or {@code null} there are no such objects. */
@@ -126,6 +144,15 @@ public enum Allocator {
         final Map<ResourceOperation, Integer> rate) {
       return Allocator.<T>next(ResourceOperation.ANY, supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      return IndexSet.choose(used.get(ResourceOperation.ANY), exclude, null);
+    }
   },
 
   /** Returns an object being read or {@code null} if there are no such objects. */
@@ -147,6 +174,15 @@ public enum Allocator {
         final Map<ResourceOperation, Integer> rate) {
       return Allocator.<T>next(ResourceOperation.READ, supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      return IndexSet.choose(used.get(ResourceOperation.READ), exclude, null);
+    }
   },
 
   /** Returns an object being written or {@code null} if there are no such objects. */
@@ -168,6 +204,15 @@ public enum Allocator {
         final Map<ResourceOperation, Integer> rate) {
       return Allocator.<T>next(ResourceOperation.WRITE, supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      return IndexSet.choose(used.get(ResourceOperation.WRITE), exclude, null);
+    }
   },
 
   /** Returns a free object (if available) or a used one (otherwise). */
@@ -191,6 +236,16 @@ public enum Allocator {
       final T object = FREE.next(supplier, exclude, used, rate);
       return object != null ? object : USED.next(supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      final int index = FREE.next(retain, exclude, used, rate);
+      return index != IndexSet.NONE ? index : USED.next(retain, exclude, used, rate);
+    }
   },
 
   /** Returns a used object (if available) or a random one (otherwise). */
@@ -214,6 +269,16 @@ public enum Allocator {
       final T object = USED.next(supplier, exclude, used, rate);
       return object != null ? object : RANDOM.next(supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      final int index = USED.next(retain, exclude, used, rate);
+      return index != IndexSet.NONE ? index : RANDOM.next(retain, exclude, used, rate);
+    }
   },
 
   /** Returns an object being read (if available) or a random one (otherwise). */
@@ -237,6 +302,16 @@ public enum Allocator {
       final T object = READ.next(supplier, exclude, used, rate);
       return object != null ? object : RANDOM.next(supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      final int index = READ.next(retain, exclude, used, rate);
+      return index != IndexSet.NONE ? index : RANDOM.next(retain, exclude, used, rate);
+    }
   },
 
   /** Returns an object being written (if available) or a random one (otherwise). */
@@ -260,14 +335,21 @@ public enum Allocator {
       final T object = WRITE.next(supplier, exclude, used, rate);
       return object != null ? object : RANDOM.next(supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      final int index = WRITE.next(retain, exclude, used, rate);
+      return index != IndexSet.NONE ? index : RANDOM.next(retain, exclude, used, rate);
+    }
   },
 
   /** Returns a randomly chosen object. */
   BIASED() {
-    private final <T> Allocator getAllocator(
-        final Collection<T> exclude,
-        final Map<ResourceOperation, Collection<T>> used,
-        final Map<ResourceOperation, Integer> rate) {
+    private Allocator getAllocator(final Map<ResourceOperation, Integer> rate) {
 
       // Dependencies rates are not specified.
       if (rate == null || rate.isEmpty()) {
@@ -296,7 +378,7 @@ public enum Allocator {
         final Collection<T> exclude,
         final Map<ResourceOperation, Collection<T>> used,
         final Map<ResourceOperation, Integer> rate) {
-      final Allocator allocator = getAllocator(exclude, used, rate);
+      final Allocator allocator = getAllocator(rate);
       return allocator.next(retain, exclude, used, rate);
     }
 
@@ -306,9 +388,19 @@ public enum Allocator {
         final Collection<T> exclude,
         final Map<ResourceOperation, Collection<T>> used,
         final Map<ResourceOperation, Integer> rate) {
-      final Allocator allocator = getAllocator(exclude, used, rate);
+      final Allocator allocator = getAllocator(rate);
       return allocator.next(supplier, exclude, used, rate);
     }
+
+    @Override
+    int next(
+        final IndexSet retain,
+        final IndexSet exclude,
+        final Map<ResourceOperation, IndexSet> used,
+        final Map<ResourceOperation, Integer> rate) {
+      final Allocator allocator = getAllocator(rate);
+      return allocator.next(retain, exclude, used, rate);
+    }
   };
 
   private static <T> T next(
@@ -362,4 +454,19 @@ public enum Allocator {
       final Collection<T> exclude,
       final Map<ResourceOperation, Collection<T>> used,
       final Map<ResourceOperation, Integer> rate);
+
+  /**
+   * Chooses an object of an allocation table by its index.
+   *
+   * @param retain the indices of all available objects.
+   * @param exclude the indices of objects to be excluded.
+   * @param used the indices of used objects.
+   * @param rate the dependencies biases.
+   * @return the chosen index or {@link IndexSet#NONE}.
+   */
+  abstract int next(
+      final IndexSet retain,
+      final IndexSet exclude,
+      final Map<ResourceOperation, IndexSet> used,
+      final Map<ResourceOperation, Integer> rate);
 }
@@ -26,6 +26,7 @@ import ru.ispras.microtesk.test.template.Primitive;
 import ru.ispras.microtesk.test.template.Situation;
 import ru.ispras.microtesk.test.template.UnknownImmediateValue;
 import ru.ispras.microtesk.test.template.Value;
+import ru.ispras.microtesk.utils.Session;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -44,14 +45,18 @@ import java.util.Map;
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class AllocatorEngine {
-  private static AllocatorEngine instance = null;
+  private static final Session.Key<AllocatorEngine> KEY = Session.newKey(null);
 
   public static void init(final AllocationSettings allocation) {
-    instance = new AllocatorEngine(allocation);
+    Session.get().set(KEY, new AllocatorEngine(allocation));
+  }
+
+  public static void reset() {
+    Session.get().set(KEY, null);
   }
 
   public static AllocatorEngine get() {
-    return instance;
+    return Session.get().get(KEY);
   }
 
   private final Map<String, AllocationTable<Integer>> allocationTables = new HashMap<>();
@@ -230,8 +235,12 @@ public final class AllocatorEngine {
       // NOTE: There is a problem in applying exclusions only to outputs.
       // NOTE: Registers allocated as inputs can be shared and used as outputs.
       final Collection<Integer> exclude;
-      exclude = new LinkedHashSet<>(exclusions.getExcludedIndexes(mode));
-      exclude.addAll(allocationData.getExclude());
+      if (allocationData.getExclude().isEmpty()) {
+        exclude = exclusions.getExcludedIndexes(mode);
+      } else {
+        exclude = new LinkedHashSet<>(exclusions.getExcludedIndexes(mode));
+        exclude.addAll(allocationData.getExclude());
+      }
 
       final Collection<Integer> retain = allocationData.getRetain();
 
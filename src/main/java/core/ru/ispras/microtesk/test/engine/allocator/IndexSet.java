@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.test.engine.allocator;
+
+import ru.ispras.fortress.randomizer.Randomizer;
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.util.Arrays;
+
+/**
+ * {@link IndexSet} is a set of indices of objects stored in an {@link AllocationTable}.
+ *
+ * <p>The set is a bitset of fixed capacity. Random elements of set differences are chosen
+ * without creating intermediate sets.</p>
+ *
+ * <p>Like {@link java.util.LinkedHashSet}, the set remembers the order in which the indices were
+ * added, and a random element is drawn by its rank in this order. So, for a given seed,
+ * the choice is the same as the one made by {@code Randomizer.choose} for the collection of
+ * the corresponding objects.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+final class IndexSet {
+  /** Index returned when there is nothing to choose from. */
+  public static final int NONE = -1;
+
+  private final int capacity;
+  private final long[] words;
+
+  /** Indices in the order they were added. */
+  private final int[] order;
+  private int size;
+
+  public IndexSet(final int capacity) {
+    InvariantChecks.checkGreaterOrEqZero(capacity);
+
+    this.capacity = capacity;
+    this.words = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    this.order = new int[capacity];
+    this.size = 0;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public boolean contains(final int index) {
+    InvariantChecks.checkBounds(index, capacity);
+    return (words[index / Long.SIZE] & (1L << index)) != 0;
+  }
+
+  /**
+   * Returns the index at the given position in the order of addition.
+   *
+   * @param position the position.
+   * @return the index.
+   */
+  public int get(final int position) {
+    InvariantChecks.checkBounds(position, size);
+    return order[position];
+  }
+
+  public void add(final int index) {
+    if (!contains(index)) {
+      words[index / Long.SIZE] |= 1L << index;
+      order[size++] = index;
+    }
+  }
+
+  public void addAll() {
+    Arrays.fill(words, -1L);
+
+    final int tail = capacity % Long.SIZE;
+    if (tail != 0) {
+      words[words.length - 1] = (1L << tail) - 1;
+    }
+
+    for (int index = 0; index < capacity; index++) {
+      order[index] = index;
+    }
+    size = capacity;
+  }
+
+  public void remove(final int index) {
+    if (contains(index)) {
+      words[index / Long.SIZE] &= ~(1L << index);
+
+      int position = 0;
+      while (order[position] != index) {
+        position++;
+      }
+
+      System.arraycopy(order, position + 1, order, position, size - position - 1);
+      size--;
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(words, 0L);
+    size = 0;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Chooses a random element of {@code include \ (exclude1 U exclude2)}. The elements are
+   * ranked in the order they were added to {@code include}.
+   *
+   * @param include the set of candidates.
+   * @param exclude1 the set of excluded indices or {@code null}.
+   * @param exclude2 the set of excluded indices or {@code null}.
+   * @return the chosen index or {@link #NONE} if the difference is empty.
+   */
+  public static int choose(
+      final IndexSet include,
+      final IndexSet exclude1,
+      final IndexSet exclude2) {
+    InvariantChecks.checkNotNull(include);
+    InvariantChecks.checkTrue(null == exclude1 || exclude1.capacity == include.capacity);
+    InvariantChecks.checkTrue(null == exclude2 || exclude2.capacity == include.capacity);
+
+    int count = 0;
+    for (int index = 0; index < include.words.length; index++) {
+      count += Long.bitCount(getWord(index, include, exclude1, exclude2));
+    }
+
+    if (count == 0) {
+      return NONE;
+    }
+
+    int rank = Randomizer.get().nextIntRange(0, count - 1);
+    for (int position = 0; position < include.size; position++) {
+      final int index = include.order[position];
+
+      if ((null == exclude1 || !exclude1.contains(index))
+          && (null == exclude2 || !exclude2.contains(index))
+          && rank-- == 0) {
+        return index;
+      }
+    }
+
+    throw new IllegalStateException();
+  }
+
+  private static long getWord(
+      final int index,
+      final IndexSet include,
+      final IndexSet exclude1,
+      final IndexSet exclude2) {
+    long word = include.words[index];
+
+    if (null != exclude1) {
+      word &= ~exclude1.words[index];
+    }
+
+    if (null != exclude2) {
+      word &= ~exclude2.words[index];
+    }
+
+    return word;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("{");
+    for (int position = 0; position < size; position++) {
+      builder.append(position > 0 ? ", " : "").append(order[position]);
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -16,12 +16,11 @@ package ru.ispras.microtesk.test.engine.branch;
 
 import ru.ispras.castle.util.Logger;
 import ru.ispras.fortress.util.InvariantChecks;
-import ru.ispras.fortress.util.Pair;
 import ru.ispras.testbase.knowledge.iterator.Iterator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Stack;
 
 /**
  * {@link BranchTraceIterator} implements an iterator of execution traces for a given branch
@@ -30,6 +29,9 @@ import java.util.Stack;
  * @author <a href="mailto:kamkin@ispras.ru">Alexander Kamkin</a>
  */
 public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
+  /** Initial capacity of the branch stack. */
+  private static final int INITIAL_STACK_SIZE = 16;
+
   /** Current branch structure. */
   private final List<BranchEntry> branchStructure;
 
@@ -40,6 +42,15 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
   /** Trace count limit. */
   private final int maxExecutionTraces;
 
+  /**
+   * Index of the nearest branch for each position of the branch structure.
+   *
+   * <p>The {@code i}-th element is the index of the first branch in the range
+   * {@code [i, ..., n)} or -1 if there are no branches there ({@code n} is the
+   * branch structure size). The array has {@code n + 1} elements.</p>
+   */
+  private final int[] nextBranches;
+
   /**
    * Stack of branches.
    *
@@ -51,12 +62,20 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
    * </ul>
    * Provided that {@code i} is the first index and {@code j} is the second index,
    * the range {@code [i, i+1, ..., j)} is composed of the basic block indices.
+   * The first indices are stored in {@link #stackStarts}, the second ones are stored in
+   * {@link #stackBranches}.
    * </p>
    */
-  private final Stack<Pair<Integer, Integer>> branchStack;
+  private int[] stackStarts;
+  private int[] stackBranches;
+  private int stackSize;
 
-  /** Current block. */
-  private Pair<Integer, Integer> currentBlock;
+  /** Start of the current block. */
+  private int blockStart;
+  /** Branch that ends the current block (-1 if the block ends the structure). */
+  private int blockBranch;
+  /** Flag that shows whether the current block can be executed. */
+  private boolean blockValid;
 
   /** Count of iterated traces. */
   private int traceCount;
@@ -67,6 +86,9 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
   /** Execution trace. */
   private List<Integer> trace;
 
+  /** Trace constructor (it keeps no state between traces). */
+  private final BranchTraceConstructor traceConstructor;
+
   public BranchTraceIterator(
       final List<BranchEntry> branchStructure,
       final int maxBranchExecutions,
@@ -78,10 +100,15 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
     this.maxBranchExecutions = maxBranchExecutions;
     this.maxBlockExecutions = maxBlockExecutions;
     this.maxExecutionTraces = maxExecutionTraces;
-    this.branchStack = new Stack<>();
+    this.nextBranches = newNextBranches(branchStructure);
+
+    this.stackStarts = new int[INITIAL_STACK_SIZE];
+    this.stackBranches = new int[INITIAL_STACK_SIZE];
+    this.stackSize = 0;
 
     this.hasValue = false;
     this.trace = null;
+    this.traceConstructor = new BranchTraceConstructor(branchStructure);
   }
 
   public BranchTraceIterator(
@@ -94,12 +121,23 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
     this(branchStructure, 1, 1, -1);
   }
 
+  private static int[] newNextBranches(final List<BranchEntry> branchStructure) {
+    final int[] result = new int[branchStructure.size() + 1];
+
+    result[branchStructure.size()] = -1;
+    for (int index = branchStructure.size() - 1; index >= 0; index--) {
+      result[index] = branchStructure.get(index).isBranch() ? index : result[index + 1];
+    }
+
+    return result;
+  }
+
   @Override
   public void init() {
     hasValue = !branchStructure.isEmpty();
 
     // Clear the execution traces.
-    branchStack.clear();
+    stackSize = 0;
     for (int i = 0; i < branchStructure.size(); i++) {
       final BranchEntry branchEntry = branchStructure.get(i);
       final BranchTrace branchTrace = branchEntry.getBranchTrace();
@@ -107,12 +145,14 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
       branchTrace.clear();
     }
 
-    currentBlock = new Pair<>(-1, 0);
+    blockStart = -1;
+    blockBranch = 0;
+    blockValid = true;
     traceCount = 0;
 
     searchNextBranch();
 
-    if (currentBlock.second != -1) {
+    if (blockBranch != -1) {
       // Find the first branch execution trace.
       next();
     } else {
@@ -138,11 +178,10 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
   @Override
   public void next() {
     while (hasValue()) {
-      final BranchTraceConstructor branchTraceConstructor =
-          new BranchTraceConstructor(nextBranchStructure());
+      nextBranchStructure();
 
       if (hasValue()) {
-        trace = branchTraceConstructor.construct();
+        trace = traceConstructor.construct();
 
         if (trace != null) {
           break;
@@ -174,56 +213,69 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
     this.maxBranchExecutions = r.maxBranchExecutions;
     this.maxBlockExecutions = r.maxBlockExecutions;
     this.maxExecutionTraces = r.maxExecutionTraces;
-    this.currentBlock = new Pair<>(r.currentBlock.first, r.currentBlock.second);
+    this.nextBranches = r.nextBranches;
+    this.blockStart = r.blockStart;
+    this.blockBranch = r.blockBranch;
+    this.blockValid = r.blockValid;
     this.hasValue = r.hasValue;
 
-    this.branchStack = new Stack<>();
-    this.branchStack.addAll(r.branchStack);
+    this.stackStarts = r.stackStarts.clone();
+    this.stackBranches = r.stackBranches.clone();
+    this.stackSize = r.stackSize;
+
+    this.traceConstructor = new BranchTraceConstructor(this.branchStructure);
+  }
+
+  private void push() {
+    if (stackSize == stackStarts.length) {
+      stackStarts = Arrays.copyOf(stackStarts, 2 * stackSize);
+      stackBranches = Arrays.copyOf(stackBranches, 2 * stackSize);
+    }
+
+    stackStarts[stackSize] = blockStart;
+    stackBranches[stackSize] = blockBranch;
+    stackSize++;
+  }
+
+  private void peek() {
+    blockStart = stackStarts[stackSize - 1];
+    blockBranch = stackBranches[stackSize - 1];
+    blockValid = true;
   }
 
   private void performBranching() {
-    final int currentIndex = currentBlock.second;
+    final int currentIndex = blockBranch;
 
     final BranchEntry entry = branchStructure.get(currentIndex);
     final BranchTrace trace = entry.getBranchTrace();
     final BranchExecution execution = trace.getLastExecution();
 
     // If the condition holds, then go to the target label; otherwise, go on.
-    currentBlock = new Pair<>(-1, execution.value() ? entry.getBranchLabel() : currentIndex + 1);
+    blockStart = -1;
+    blockBranch = execution.value() ? entry.getBranchLabel() : currentIndex + 1;
   }
 
   private void searchNextBranch() {
-    final int startIndex = currentBlock.second;
-
-    for (int currentIndex = startIndex; currentIndex < branchStructure.size(); currentIndex++) {
-      final BranchEntry entry = branchStructure.get(currentIndex);
+    final int startIndex = blockBranch;
 
-      if (entry.isBranch()) {
-        // Here is a branch.
-        currentBlock = new Pair<>(startIndex, currentIndex);
-        return;
-      }
-    }
-
-    // No branch is found.
-    currentBlock = new Pair<>(startIndex, -1);
+    // The nearest branch is taken from the index (-1 means no branch is found).
+    blockStart = startIndex;
+    blockBranch = startIndex < branchStructure.size() ? nextBranches[startIndex] : -1;
   }
 
   private void handleBranch() {
     performBranching();
     searchNextBranch();
 
-    if (!canExecuteBlock()) {
-      currentBlock = null;
-    }
+    blockValid = canExecuteBlock();
   }
 
   private boolean isTraceCompleted() {
-    return currentBlock.second == -1;
+    return blockBranch == -1;
   }
 
   private boolean canExecuteBranch() {
-    final BranchEntry entry = branchStructure.get(currentBlock.second);
+    final BranchEntry entry = branchStructure.get(blockBranch);
     final BranchTrace trace = entry.getBranchTrace();
 
     // Check the branch execution limit.
@@ -231,19 +283,24 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
   }
 
   private boolean canExecuteBlock() {
-    final int a = currentBlock.first;
-    final int b = currentBlock.second != -1 ? currentBlock.second - 1 : branchStructure.size() - 1;
+    final int a = blockStart;
+    final int b = blockBranch != -1 ? blockBranch - 1 : branchStructure.size() - 1;
 
     // Check the block execution limit.
     int count = 0;
 
-    for (final Pair<Integer, Integer> previousBlock : branchStack) {
-      final int c = previousBlock.first;
-      final int d = previousBlock.second - 1;
+    for (int index = 0; index < stackSize; index++) {
+      final int c = stackStarts[index];
+      final int d = stackBranches[index] - 1;
 
       // Increment the counter if the current block intersects with the previous one.
       if (a <= d && b >= c) {
         count++;
+
+        // The block cannot be executed: there is no need to count further.
+        if (count >= maxBlockExecutions) {
+          return false;
+        }
       }
     }
 
@@ -252,19 +309,19 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
 
   private List<BranchEntry> nextBranchStructure() {
     while (hasValue()) {
-      if (currentBlock != null && !isTraceCompleted() && canExecuteBranch()) {
+      if (blockValid && !isTraceCompleted() && canExecuteBranch()) {
         // Trace is incomplete and can be prolonged.
-        final BranchEntry entry = branchStructure.get(currentBlock.second);
+        final BranchEntry entry = branchStructure.get(blockBranch);
         final BranchTrace trace = entry.getBranchTrace();
 
         // Prolong the trace if it is incomplete.
         trace.addExecution(entry.isIfThen());
-        branchStack.push(currentBlock);
+        push();
 
-        // Handle the branch and nullify the current block if it cannot be executed.
+        // Handle the branch and invalidate the current block if it cannot be executed.
         handleBranch();
 
-        if (currentBlock != null && isTraceCompleted()) {
+        if (blockValid && isTraceCompleted()) {
           Logger.debug("Next branch structure (prolonged execution): %s", branchStructure);
           return branchStructure;
         }
@@ -272,10 +329,10 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
         continue;
       } else {
         // Trace is either complete or cannot be prolonged.
-        while (!branchStack.isEmpty()) {
-          currentBlock = branchStack.peek();
+        while (stackSize != 0) {
+          peek();
 
-          BranchEntry entry = branchStructure.get(currentBlock.second);
+          BranchEntry entry = branchStructure.get(blockBranch);
           BranchTrace trace = entry.getBranchTrace();
           BranchExecution execution = trace.getLastExecution();
 
@@ -283,10 +340,10 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
             execution.next();
 
             if (execution.hasValue()) {
-              // Handle the branch and nullify the current block if it cannot be executed.
+              // Handle the branch and invalidate the current block if it cannot be executed.
               handleBranch();
 
-              if (currentBlock != null && isTraceCompleted()) {
+              if (blockValid && isTraceCompleted()) {
                 Logger.debug("Next branch structure (updated condition): %s", branchStructure);
                 return branchStructure;
               }
@@ -296,10 +353,10 @@ public final class BranchTraceIterator implements Iterator<List<BranchEntry>> {
           } // while the stack is not empty.
 
           trace.removeLastExecution();
-          branchStack.pop();
+          stackSize--;
         }
 
-        if (branchStack.isEmpty()) {
+        if (stackSize == 0) {
           // All execution traces have been enumerated.
           stop();
 
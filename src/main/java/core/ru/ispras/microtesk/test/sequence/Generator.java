@@ -19,4 +19,29 @@ import ru.ispras.testbase.knowledge.iterator.Iterator;
 import java.util.List;
 
 public interface Generator<T> extends Iterator<List<T>> {
+  /**
+   * Returns a generator that produces only the given shard of the sequences. The shards
+   * {@code 0, ..., count - 1} are disjoint, and together they produce all the sequences.
+   *
+   * <p>By default, the shard includes the sequences whose ordinal numbers are equal to
+   * {@code index} modulo {@code count}. Generators that support ranked access produce
+   * contiguous ranges of sequences without enumerating the others.</p>
+   *
+   * @param index the shard index.
+   * @param count the number of shards.
+   * @return the generator of the shard.
+   */
+  default Generator<T> shard(final int index, final int count) {
+    return new GeneratorShard<>(this, index, count);
+  }
+
+  /**
+   * Checks whether the generator produces the same finite series of sequences each time
+   * it is initialized (ranked shards of enclosing generators collect the series once).
+   *
+   * @return {@code true} if the series is finite and reproducible or {@code false} otherwise.
+   */
+  default boolean isReproducible() {
+    return false;
+  }
 }
@@ -20,6 +20,7 @@ import ru.ispras.microtesk.test.sequence.compositor.Compositor;
 import ru.ispras.testbase.knowledge.iterator.CollectionIterator;
 import ru.ispras.testbase.knowledge.iterator.Iterator;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -38,10 +39,28 @@ public final class GeneratorCompositor<T> implements Generator<T> {
   /** The list of iterators. */
   private final List<Iterator<List<T>>> iterators;
 
+  /** Shard of the combination space (the number of shards is 0 for iteration). */
+  private final int shardIndex;
+  private final int shardCount;
+
+  /** Range of combination indices of the shard and the current index. */
+  private long from;
+  private long to;
+  private long position;
+
   public GeneratorCompositor(
       final Combinator<List<T>> combinator,
       final Compositor<T> compositor,
       final List<Iterator<List<T>>> iterators) {
+    this(combinator, compositor, iterators, 0, 0);
+  }
+
+  private GeneratorCompositor(
+      final Combinator<List<T>> combinator,
+      final Compositor<T> compositor,
+      final List<Iterator<List<T>>> iterators,
+      final int shardIndex,
+      final int shardCount) {
     InvariantChecks.checkNotNull(combinator);
     InvariantChecks.checkNotNull(compositor);
     InvariantChecks.checkNotNull(iterators);
@@ -49,22 +68,46 @@ public final class GeneratorCompositor<T> implements Generator<T> {
     this.combinator = combinator;
     this.compositor = compositor;
     this.iterators = iterators;
+    this.shardIndex = shardIndex;
+    this.shardCount = shardCount;
+  }
+
+  private boolean isRanked() {
+    return shardCount != 0;
+  }
+
+  private static long getBound(final long size, final int index, final int count) {
+    return BigInteger.valueOf(size)
+        .multiply(BigInteger.valueOf(index))
+        .divide(BigInteger.valueOf(count))
+        .longValue();
   }
 
   @Override
   public void init() {
     combinator.initialize(iterators);
-    combinator.init();
+
+    if (isRanked()) {
+      final long size = combinator.count();
+
+      from = getBound(size, shardIndex, shardCount);
+      to = getBound(size, shardIndex + 1, shardCount);
+      position = from;
+    } else {
+      combinator.init();
+    }
   }
 
   @Override
   public boolean hasValue() {
-    return combinator.hasValue();
+    return isRanked() ? position < to : combinator.hasValue();
   }
 
   @Override
   public List<T> value() {
-    final List<List<T>> combination = combinator.value();
+    final List<List<T>> combination =
+        isRanked() ? combinator.valueAt(position) : combinator.value();
+
     if (combination.isEmpty()) {
       return Collections.emptyList();
     }
@@ -86,12 +129,45 @@ public final class GeneratorCompositor<T> implements Generator<T> {
 
   @Override
   public void next() {
-    combinator.next();
+    if (isRanked()) {
+      position++;
+    } else {
+      combinator.next();
+    }
   }
 
   @Override
   public void stop() {
-    combinator.stop();
+    if (isRanked()) {
+      position = to;
+    } else {
+      combinator.stop();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If the combinator supports ranked access, the shard is a contiguous range of
+   * combination indices. In this case, the values of the combined iterators are collected
+   * once (rather than restarted for each combination), which is why all of them must be
+   * reproducible (e.g. a random choice among blocks is made again on each restart).</p>
+   */
+  @Override
+  public Generator<T> shard(final int index, final int count) {
+    InvariantChecks.checkGreaterThanZero(count);
+    InvariantChecks.checkBounds(index, count);
+
+    if (!combinator.isRanked() || !GeneratorUtils.isReproducible(iterators)) {
+      return Generator.super.shard(index, count);
+    }
+
+    return new GeneratorCompositor<>(combinator, compositor, iterators, index, count);
+  }
+
+  @Override
+  public boolean isReproducible() {
+    return combinator.isRanked() && GeneratorUtils.isReproducible(iterators);
   }
 
   @Override
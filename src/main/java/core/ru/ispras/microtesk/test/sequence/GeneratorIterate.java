@@ -94,6 +94,11 @@ public final class GeneratorIterate<T> implements Generator<T> {
     hasValue = false;
   }
 
+  @Override
+  public boolean isReproducible() {
+    return GeneratorUtils.isReproducible(iterators);
+  }
+
   @Override
   public GeneratorIterate<T> clone() {
     return new GeneratorIterate<>(this);
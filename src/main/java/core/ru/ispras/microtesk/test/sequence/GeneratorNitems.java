@@ -104,6 +104,11 @@ public final class GeneratorNitems<T> implements Generator<T> {
     itemIndex = itemNumber;
   }
 
+  @Override
+  public boolean isReproducible() {
+    return generator.isReproducible();
+  }
+
   @Override
   public GeneratorNitems<T> clone() {
     return new GeneratorNitems<>(this);
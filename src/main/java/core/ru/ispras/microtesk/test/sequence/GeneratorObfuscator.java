@@ -90,6 +90,12 @@ public final class GeneratorObfuscator<T> implements Generator<T> {
     hasValue = false;
   }
 
+  @Override
+  public Generator<T> shard(final int index, final int count) {
+    // Sequences are obfuscated one by one.
+    return new GeneratorObfuscator<>(generator.shard(index, count), obfuscator);
+  }
+
   @Override
   public GeneratorObfuscator<T> clone() {
     return new GeneratorObfuscator<>(this);
@@ -82,6 +82,22 @@ public final class GeneratorPrologueEpilogue<T> implements Generator<T> {
     iterator.stop();
   }
 
+  @Override
+  public Generator<T> shard(final int index, final int count) {
+    if (!(iterator instanceof Generator)) {
+      return Generator.super.shard(index, count);
+    }
+
+    // Sequences are wrapped one by one.
+    final Generator<T> generator = (Generator<T>) iterator;
+    return new GeneratorPrologueEpilogue<>(generator.shard(index, count), prologue, epilogue);
+  }
+
+  @Override
+  public boolean isReproducible() {
+    return GeneratorUtils.isReproducible(iterator);
+  }
+
   @Override
   public GeneratorPrologueEpilogue<T> clone() {
     return new GeneratorPrologueEpilogue<>(this);
@@ -16,21 +16,25 @@ package ru.ispras.microtesk.test.sequence;
 
 import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.test.sequence.rearranger.Rearranger;
+import ru.ispras.microtesk.test.sequence.rearranger.RearrangerTrivial;
 
 import java.util.List;
 
 public final class GeneratorRearranger<T> implements Generator<T> {
+  private final Generator<T> original;
   private final Rearranger<T> rearranger;
 
   public GeneratorRearranger(final Generator<T> original, final Rearranger<T> rearranger) {
     InvariantChecks.checkNotNull(original);
     InvariantChecks.checkNotNull(rearranger);
 
+    this.original = original;
     this.rearranger = rearranger;
     this.rearranger.initialize(original);
   }
 
   private GeneratorRearranger(final GeneratorRearranger<T> other) {
+    this.original = other.original;
     this.rearranger = (Rearranger<T>) other.rearranger.clone();
   }
 
@@ -59,6 +63,16 @@ public final class GeneratorRearranger<T> implements Generator<T> {
     rearranger.stop();
   }
 
+  @Override
+  public Generator<T> shard(final int index, final int count) {
+    // Other rearrangers may reorder or drop sequences.
+    if (!(rearranger instanceof RearrangerTrivial)) {
+      return Generator.super.shard(index, count);
+    }
+
+    return new GeneratorRearranger<>(original.shard(index, count), new RearrangerTrivial<T>());
+  }
+
   @Override
   public GeneratorRearranger<T> clone() {
     return new GeneratorRearranger<>(this);
@@ -62,6 +62,11 @@ public final class GeneratorSequence<T> implements Generator<T> {
     hasValue = false;
   }
 
+  @Override
+  public boolean isReproducible() {
+    return true;
+  }
+
   @Override
   public GeneratorSequence<T> clone() {
     return new GeneratorSequence<>(this);
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.test.sequence;
+
+import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.testbase.knowledge.iterator.Iterator;
+
+import java.util.List;
+
+/**
+ * {@link GeneratorShard} produces the sequences of the given iterator whose ordinal numbers
+ * are equal to the shard index modulo the number of shards.
+ *
+ * @param <T> Sequence element type.
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class GeneratorShard<T> implements Generator<T> {
+  private final Iterator<List<T>> iterator;
+  private final int index;
+  private final int count;
+
+  public GeneratorShard(final Iterator<List<T>> iterator, final int index, final int count) {
+    InvariantChecks.checkNotNull(iterator);
+    InvariantChecks.checkGreaterThanZero(count);
+    InvariantChecks.checkBounds(index, count);
+
+    this.iterator = iterator;
+    this.index = index;
+    this.count = count;
+  }
+
+  private GeneratorShard(final GeneratorShard<T> other) {
+    this.iterator = other.iterator.clone();
+    this.index = other.index;
+    this.count = other.count;
+  }
+
+  private void skip(final int number) {
+    for (int i = 0; i < number && iterator.hasValue(); i++) {
+      iterator.next();
+    }
+  }
+
+  @Override
+  public void init() {
+    iterator.init();
+    skip(index);
+  }
+
+  @Override
+  public boolean hasValue() {
+    return iterator.hasValue();
+  }
+
+  @Override
+  public List<T> value() {
+    return iterator.value();
+  }
+
+  @Override
+  public void next() {
+    skip(count);
+  }
+
+  @Override
+  public void stop() {
+    iterator.stop();
+  }
+
+  @Override
+  public GeneratorShard<T> clone() {
+    return new GeneratorShard<>(this);
+  }
+}
@@ -15,6 +15,7 @@
 package ru.ispras.microtesk.test.sequence;
 
 import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.testbase.knowledge.iterator.CollectionIterator;
 import ru.ispras.testbase.knowledge.iterator.Iterator;
 
 import java.util.ArrayList;
@@ -46,6 +47,28 @@ public final class GeneratorUtils {
     return result;
   }
 
+  public static <T> boolean isReproducible(final Iterator<List<T>> iterator) {
+    InvariantChecks.checkNotNull(iterator);
+
+    if (iterator instanceof CollectionIterator) {
+      return true;
+    }
+
+    return iterator instanceof Generator && ((Generator<T>) iterator).isReproducible();
+  }
+
+  public static <T> boolean isReproducible(final List<Iterator<List<T>>> iterators) {
+    InvariantChecks.checkNotNull(iterators);
+
+    for (final Iterator<List<T>> iterator : iterators) {
+      if (!isReproducible(iterator)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   public static <T> ArrayList<List<T>> toArrayList(final Iterator<List<T>> iterator) {
     InvariantChecks.checkNotNull(iterator);
 
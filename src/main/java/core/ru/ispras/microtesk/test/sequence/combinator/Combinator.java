@@ -25,4 +25,36 @@ import java.util.List;
  */
 public interface Combinator<T> extends Iterator<List<T>> {
   void initialize(final List<Iterator<T>> iterators);
+
+  /**
+   * Checks whether the combinator supports random access to combinations.
+   *
+   * <p>Ranked access is an alternative to iteration: the values of the combined iterators are
+   * collected once, and each combination is constructed from its index.</p>
+   *
+   * @return {@code true} if {@link #count()} and {@link #valueAt(long)} are supported.
+   */
+  default boolean isRanked() {
+    return false;
+  }
+
+  /**
+   * Returns the number of combinations (the combined iterators are walked on the first call
+   * after {@link #initialize(List)}).
+   *
+   * @return the number of combinations.
+   */
+  default long count() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Returns the combination of the given index (unranks the index).
+   *
+   * @param index the combination index from {@code [0, count())}.
+   * @return the combination.
+   */
+  default List<T> valueAt(final long index) {
+    throw new UnsupportedOperationException();
+  }
 }
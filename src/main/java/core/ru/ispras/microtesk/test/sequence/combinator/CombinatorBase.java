@@ -14,6 +14,7 @@
 
 package ru.ispras.microtesk.test.sequence.combinator;
 
+import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.test.sequence.internal.CompositeIterator;
 import ru.ispras.testbase.knowledge.iterator.Iterator;
 
@@ -30,6 +31,9 @@ abstract class CombinatorBase<T> extends CompositeIterator<T> implements Combina
   /** Availability of the value. */
   private boolean hasValue;
 
+  /** Values of the iterators collected for ranked access ({@code null} if not collected). */
+  private List<List<T>> values;
+
   /**
    * Constructs a compositor with the empty list of iterators.
    */
@@ -76,6 +80,86 @@ abstract class CombinatorBase<T> extends CompositeIterator<T> implements Combina
   @Override
   public void initialize(final List<Iterator<T>> iterators) {
     setIterators(iterators);
+    values = null;
+  }
+
+  /**
+   * Returns the values of the iterators. The iterators are walked once.
+   *
+   * @return the list of the iterators' values.
+   */
+  protected final List<List<T>> getValues() {
+    if (values == null) {
+      values = new ArrayList<>(iterators.size());
+
+      for (final Iterator<T> iterator : iterators) {
+        final List<T> sequence = new ArrayList<>();
+        for (iterator.init(); iterator.hasValue(); iterator.next()) {
+          sequence.add(iterator.value());
+        }
+        values.add(sequence);
+      }
+    }
+
+    return values;
+  }
+
+  /**
+   * Returns the number of combinations of the given numbers of iterator values.
+   * Only ranked combinators should override this method.
+   *
+   * @param sizes the numbers of iterator values.
+   * @return the number of combinations.
+   */
+  protected long count(final long[] sizes) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Returns the indices of the iterator values that form the combination of the given index.
+   * Only ranked combinators should override this method.
+   *
+   * @param sizes the numbers of iterator values.
+   * @param index the combination index.
+   * @param indices the array to be filled with the value indices.
+   */
+  protected void unrank(final long[] sizes, final long index, final int[] indices) {
+    throw new UnsupportedOperationException();
+  }
+
+  private long[] getSizes() {
+    final List<List<T>> values = getValues();
+    final long[] sizes = new long[values.size()];
+
+    for (int i = 0; i < sizes.length; i++) {
+      sizes[i] = values.get(i).size();
+    }
+
+    return sizes;
+  }
+
+  @Override
+  public long count() {
+    final long[] sizes = getSizes();
+    return sizes.length != 0 ? count(sizes) : 0;
+  }
+
+  @Override
+  public List<T> valueAt(final long index) {
+    InvariantChecks.checkTrue(0 <= index && index < count());
+
+    final List<List<T>> values = getValues();
+    final long[] sizes = getSizes();
+
+    final int[] indices = new int[values.size()];
+    unrank(sizes, index, indices);
+
+    final List<T> result = new ArrayList<T>(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      result.add(values.get(i).get(indices[i]));
+    }
+
+    return result;
   }
 
   @Override
@@ -60,4 +60,30 @@ public final class CombinatorDiagonal<T> extends CombinatorBase<T> {
 
     return true;
   }
+
+  @Override
+  public boolean isRanked() {
+    return true;
+  }
+
+  @Override
+  protected long count(final long[] sizes) {
+    // Iteration stops when the longest iterator is exhausted.
+    long size = 0;
+    for (final long n : sizes) {
+      if (n == 0) {
+        return 0;
+      }
+      size = Math.max(size, n);
+    }
+    return size;
+  }
+
+  @Override
+  protected void unrank(final long[] sizes, final long index, final int[] indices) {
+    // Exhausted iterators are restarted.
+    for (int i = 0; i < sizes.length; i++) {
+      indices[i] = (int) (index % sizes[i]);
+    }
+  }
 }
@@ -25,6 +25,7 @@ public final class CombinatorPermutator<T> implements Combinator<T> {
   private final Permutator<T> permutator;
 
   private boolean hasValue;
+  private int length;
 
   public CombinatorPermutator(final Combinator<T> combinator, final Permutator<T> permutator) {
     InvariantChecks.checkNotNull(combinator);
@@ -47,6 +48,7 @@ public final class CombinatorPermutator<T> implements Combinator<T> {
   public void initialize(final List<Iterator<T>> iterators) {
     InvariantChecks.checkNotNull(iterators);
     combinator.initialize(iterators);
+    length = iterators.size();
   }
 
   @Override
@@ -91,6 +93,32 @@ public final class CombinatorPermutator<T> implements Combinator<T> {
     hasValue = false;
   }
 
+  @Override
+  public boolean isRanked() {
+    return combinator.isRanked() && permutator.size(length) >= 0;
+  }
+
+  @Override
+  public long count() {
+    return Math.multiplyExact(combinator.count(), permutator.size(length));
+  }
+
+  @Override
+  public List<T> valueAt(final long index) {
+    final long count = permutator.size(length);
+    InvariantChecks.checkTrue(count > 0);
+
+    permutator.initialize(combinator.valueAt(index / count));
+    permutator.init();
+
+    // Permutations are enumerated in the iteration order (the number of them is small).
+    for (long i = 0; i < index % count; i++) {
+      permutator.next();
+    }
+
+    return permutator.value();
+  }
+
   @Override
   public Iterator<List<T>> clone() {
     throw new UnsupportedOperationException();
@@ -49,4 +49,28 @@ public final class CombinatorProduct<T> extends CombinatorBase<T> {
 
     return false;
   }
+
+  @Override
+  public boolean isRanked() {
+    return true;
+  }
+
+  @Override
+  protected long count(final long[] sizes) {
+    long size = 1;
+    for (final long n : sizes) {
+      size = Math.multiplyExact(size, n);
+    }
+    return size;
+  }
+
+  @Override
+  protected void unrank(final long[] sizes, final long index, final int[] indices) {
+    // The last iterator changes first (see doNext).
+    long rest = index;
+    for (int j = sizes.length - 1; j >= 0; j--) {
+      indices[j] = (int) (rest % sizes[j]);
+      rest /= sizes[j];
+    }
+  }
 }
@@ -25,4 +25,14 @@ import java.util.List;
  */
 public interface Permutator<T> extends Iterator<List<T>> {
   void initialize(final List<T> original);
+
+  /**
+   * Returns the number of permutations produced for a sequence of the given length.
+   *
+   * @param length the sequence length.
+   * @return the number of permutations or {@code -1} if it is not fixed.
+   */
+  default long size(final int length) {
+    return -1;
+  }
 }
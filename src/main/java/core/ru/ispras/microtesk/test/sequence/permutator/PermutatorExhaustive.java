@@ -88,6 +88,23 @@ public final class PermutatorExhaustive<T> extends PermutatorBase<T> {
     indices = null;
   }
 
+  @Override
+  public long size(final int length) {
+    if (length == 0) {
+      return 0;
+    }
+
+    long size = 1;
+    for (int i = 2; i <= length; i++) {
+      if (size > Long.MAX_VALUE / i) {
+        return -1;
+      }
+      size *= i;
+    }
+
+    return size;
+  }
+
   @Override
   public PermutatorExhaustive<T> clone() {
     return new PermutatorExhaustive<>(this);
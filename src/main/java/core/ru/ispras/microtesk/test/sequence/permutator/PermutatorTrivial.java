@@ -58,6 +58,11 @@ public final class PermutatorTrivial<T> extends PermutatorBase<T> {
     sequence = null;
   }
 
+  @Override
+  public long size(final int length) {
+    return 1;
+  }
+
   @Override
   public PermutatorTrivial<T> clone() {
     return new PermutatorTrivial<>(this);
@@ -16,7 +16,9 @@ package ru.ispras.microtesk.test.template;
 
 import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.model.memory.Section;
+import ru.ispras.microtesk.test.sequence.Generator;
 import ru.ispras.microtesk.test.sequence.GeneratorPrologueEpilogue;
+import ru.ispras.microtesk.test.sequence.GeneratorShard;
 import ru.ispras.testbase.knowledge.iterator.Iterator;
 
 import java.util.List;
@@ -171,6 +173,33 @@ public final class Block {
     return isEmpty;
   }
 
+  /**
+   * Returns a copy of the block that produces only the given shard of its sequences
+   * (see {@link Generator#shard(int, int)}).
+   *
+   * @param index the shard index.
+   * @param count the number of shards.
+   * @return the block restricted to the shard.
+   */
+  public Block shard(final int index, final int count) {
+    final Generator<AbstractCall> generator = iterator instanceof Generator
+        ? ((Generator<AbstractCall>) iterator).shard(index, count)
+        : new GeneratorShard<>(iterator, index, count);
+
+    return new Block(
+        kind,
+        blockId,
+        where,
+        section,
+        isExternal,
+        attributes,
+        generator,
+        prologue,
+        epilogue,
+        constraints
+        );
+  }
+
   public List<AbstractCall> getPrologue() {
     return prologue;
   }
@@ -14,6 +14,7 @@
 
 package ru.ispras.microtesk.test.template;
 
+import ru.ispras.fortress.data.types.bitvector.BitVector;
 import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.model.ExecutionException;
 import ru.ispras.microtesk.model.InstructionCall;
@@ -44,6 +45,7 @@ public final class ConcreteCall {
 
   private final List<LocationAccessor> addressRefs;
   private BigInteger address = BigInteger.ZERO;
+  private long nextAddress = 0;
   private final String text;
   private int executionCount = 0;
   private BigInteger originFromRelative = null;
@@ -159,8 +161,17 @@ public final class ConcreteCall {
     return isExecutable() ? executable.getText() : text;
   }
 
-  public String getImage() {
-    return null != executable ? executable.getImage() : "";
+  public BitVector getImage() {
+    return null != executable ? executable.getImage() : null;
+  }
+
+  /**
+   * Discards the image of the call after its arguments have been patched.
+   */
+  public void resetImage() {
+    if (null != executable) {
+      executable.resetImage();
+    }
   }
 
   public List<Directive> getDirectives() {
@@ -198,11 +209,25 @@ public final class ConcreteCall {
     return address;
   }
 
+  /**
+   * Returns the address of the instruction that follows the call (fall-through address).
+   *
+   * @return Fall-through address.
+   */
+  public long getNextAddress() {
+    return nextAddress;
+  }
+
   public void setAddress(final BigInteger address) {
     this.address = address;
+    this.nextAddress = address.longValue() + getByteSize();
     for (final LocationAccessor locationAccessor : addressRefs) {
       locationAccessor.setValue(address);
     }
+
+    if (!addressRefs.isEmpty()) {
+      resetImage();
+    }
   }
 
   public DataSection getData() {
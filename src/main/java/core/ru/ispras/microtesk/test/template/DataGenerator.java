@@ -46,6 +46,22 @@ public abstract class DataGenerator {
 
   public abstract BitVector nextData();
 
+  /**
+   * Generates the specified number of data items and packs them into a byte array.
+   * Each item takes {@code bitSize / 8} bytes (little-endian).
+   *
+   * @param count Number of data items.
+   * @return Byte array that holds the data items.
+   *
+   * @throws IllegalArgumentException if the data size is not a multiple of 8.
+   */
+  public abstract byte[] nextData(int count);
+
+  private static int getByteSize(final int bitSize) {
+    InvariantChecks.checkTrue(bitSize % Byte.SIZE == 0);
+    return bitSize / Byte.SIZE;
+  }
+
   private static final class Random extends DataGenerator {
     private final Type type;
 
@@ -59,6 +75,25 @@ public abstract class DataGenerator {
       Randomizer.get().fill(data);
       return data;
     }
+
+    @Override
+    public byte[] nextData(final int count) {
+      InvariantChecks.checkGreaterThanZero(count);
+
+      final int byteSize = getByteSize(type.getBitSize());
+      final byte[] data = new byte[count * byteSize];
+
+      // Items are generated in the same way as by nextData() but share the same bit vector.
+      final BitVector item = BitVector.newEmpty(type.getBitSize());
+      for (int index = 0; index < count; index++) {
+        Randomizer.get().fill(item);
+        for (int offset = 0; offset < byteSize; offset++) {
+          data[index * byteSize + offset] = item.getByte(offset);
+        }
+      }
+
+      return data;
+    }
   }
 
   private static final class Zero extends DataGenerator {
@@ -72,5 +107,11 @@ public abstract class DataGenerator {
     public BitVector nextData() {
       return data;
     }
+
+    @Override
+    public byte[] nextData(final int count) {
+      InvariantChecks.checkGreaterThanZero(count);
+      return new byte[count * getByteSize(data.getBitSize())];
+    }
   }
 }
@@ -131,10 +131,7 @@ public final class DataManager {
     dataBuilder.addLabel(labelName, false);
     dataBuilder.addDirective(factory.newComment(String.format(" Address: 0x%016x", address)));
 
-    for (int index = 0; index < length; index += 4) {
-      final int count = Math.min(length - index, 4);
-      dataBuilder.addGeneratedData(typeInfo, dataGenerator, count, true);
-    }
+    dataBuilder.addGeneratedArray(typeInfo, dataGenerator, length, 4, true);
 
     return dataBuilder.build();
   }
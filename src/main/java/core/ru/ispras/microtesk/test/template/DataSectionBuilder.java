@@ -104,6 +104,22 @@ public final class DataSectionBuilder {
     addDirective(directiveFactory.newData(typeInfo, generator, count, align));
   }
 
+  protected void addGeneratedArray(
+      final DirectiveTypeInfo typeInfo,
+      final DataGenerator generator,
+      final int count,
+      final int itemsPerLine,
+      final boolean align) {
+    if (typeInfo.type.getBitSize() % Byte.SIZE == 0) {
+      addDirective(directiveFactory.newDataArray(typeInfo, generator, count, itemsPerLine, align));
+      return;
+    }
+
+    for (int index = 0; index < count; index += itemsPerLine) {
+      addGeneratedData(typeInfo, generator, Math.min(count - index, itemsPerLine), align);
+    }
+  }
+
   public DataSection build() {
     return new DataSection(directives, physicalAddress, section, global, separateFile);
   }
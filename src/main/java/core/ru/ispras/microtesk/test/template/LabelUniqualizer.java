@@ -17,6 +17,7 @@ package ru.ispras.microtesk.test.template;
 import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.fortress.util.Pair;
 import ru.ispras.microtesk.test.GenerationAbortedException;
+import ru.ispras.microtesk.utils.Session;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -34,7 +35,8 @@ public final class LabelUniqualizer {
     }
   }
 
-  private static LabelUniqualizer instance = null;
+  private static final Session.Key<LabelUniqualizer> KEY =
+      Session.newKey(LabelUniqualizer::new);
 
   private final List<Integer> numbers;
   private final Deque<Pair<Integer, Set<String>>> labelScopes;
@@ -45,10 +47,7 @@ public final class LabelUniqualizer {
   }
 
   public static LabelUniqualizer get() {
-    if (null == instance) {
-      instance = new LabelUniqualizer();
-    }
-    return instance;
+    return Session.get().get(KEY);
   }
 
   public SeriesId newSeries() {
@@ -150,6 +150,22 @@ public final class Preparator {
     return true;
   }
 
+  /**
+   * Checks whether the preparator can be chosen for data of the specified size.
+   * Argument values and data bits are not checked.
+   *
+   * @param preparatorName Preparator name or {@code null}.
+   * @param dataBitSize Data size in bits.
+   * @return {@code true} if the preparator is applicable or {@code false} otherwise.
+   */
+  public boolean isApplicable(final String preparatorName, final int dataBitSize) {
+    if (null == name ? name != preparatorName : !name.equals(preparatorName)) {
+      return false;
+    }
+
+    return null == mask || mask.isApplicable(dataBitSize);
+  }
+
   public List<AbstractCall> makeInitializer(
       final PreparatorStore preparators,
       final Primitive target,
@@ -27,9 +27,13 @@ public final class PreparatorStore {
     private Preparator defaultPreparator;
     private final List<Preparator> preparators;
 
+    // Preparators applicable to data of a given size indexed by preparator name.
+    private final Map<String, Map<Integer, List<Preparator>>> candidates;
+
     private PreparatorGroup() {
       this.defaultPreparator = null;
       this.preparators = new ArrayList<>();
+      this.candidates = new HashMap<>();
     }
 
     public Preparator getDefault() {
@@ -43,6 +47,8 @@ public final class PreparatorStore {
     }
 
     public Preparator addPreparator(final Preparator preparator) {
+      candidates.clear();
+
       for (int index = 0; index < preparators.size(); ++index) {
         final Preparator oldPreparator = preparators.get(index);
         if (oldPreparator.equals(preparator)) {
@@ -58,6 +64,27 @@ public final class PreparatorStore {
     public List<Preparator> getPreparators() {
       return preparators;
     }
+
+    public List<Preparator> getCandidates(final String preparatorName, final int dataBitSize) {
+      Map<Integer, List<Preparator>> sizeCandidates = candidates.get(preparatorName);
+      if (null == sizeCandidates) {
+        sizeCandidates = new HashMap<>();
+        candidates.put(preparatorName, sizeCandidates);
+      }
+
+      List<Preparator> result = sizeCandidates.get(dataBitSize);
+      if (null == result) {
+        result = new ArrayList<>();
+        for (final Preparator preparator : preparators) {
+          if (preparator.isApplicable(preparatorName, dataBitSize)) {
+            result.add(preparator);
+          }
+        }
+        sizeCandidates.put(dataBitSize, result);
+      }
+
+      return result;
+    }
   }
 
   private final Map<String, PreparatorGroup> preparatorGroups;
@@ -98,7 +125,8 @@ public final class PreparatorStore {
       return null;
     }
 
-    for (final Preparator preparator : group.getPreparators()) {
+    // Only preparators with the given name and masks of the data size are checked.
+    for (final Preparator preparator : group.getCandidates(preparatorName, data.getBitSize())) {
       if (preparator.isMatch(targetMode, data, preparatorName)) {
         return preparator;
       }
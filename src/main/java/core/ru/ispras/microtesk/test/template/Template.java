@@ -114,6 +114,9 @@ public final class Template {
 
   private final Set<Block> unusedBlocks;
 
+  /** Shard of sequences to be generated for each block: {index, count} or {@code null}. */
+  private final int[] shard;
+
   public Template(final EngineContext context, final Processor processor) {
     Logger.debugHeader("Started Processing Template");
 
@@ -122,6 +125,7 @@ public final class Template {
 
     this.context = context;
     this.isDebugPrinting = context.getOptions().getValueAsBoolean(Option.DEBUG_PRINT);
+    this.shard = parseShard(context.getOptions().getValueAsString(Option.SHARD));
 
     this.metaModel = context.getModel().getMetaData();
     this.dataManager = new DataManager(context);
@@ -334,6 +338,27 @@ public final class Template {
     }
   }
 
+  private static int[] parseShard(final String text) {
+    if (text.isEmpty()) {
+      return null;
+    }
+
+    final String[] fields = text.split("/");
+    try {
+      final int index = Integer.parseInt(fields[0].trim());
+      final int count = fields.length == 2 ? Integer.parseInt(fields[1].trim()) : 0;
+
+      if (0 <= index && index < count) {
+        return count > 1 ? new int[] {index, count} : null;
+      }
+    } catch (final NumberFormatException e) {
+      // Reported below.
+    }
+
+    throw new GenerationAbortedException(String.format(
+        "Wrong shard: %s. Expected index/count, where 0 <= index < count.", text));
+  }
+
   public final class BlockHolder {
     private final Block block;
     private boolean isAddedToUnused;
@@ -387,11 +412,15 @@ public final class Template {
       return this;
     }
 
+    private Block getShardedBlock() {
+      return null != shard ? block.shard(shard[0], shard[1]) : block;
+    }
+
     public BlockHolder run() {
       checkAllowedToRun();
 
       processExternalCode();
-      processor.process(currentSection, block);
+      processor.process(currentSection, getShardedBlock());
 
       markBlockAsUsed();
       return this;
@@ -401,7 +430,7 @@ public final class Template {
       checkAllowedToRun();
 
       processExternalCode();
-      processor.process(currentSection, block, times);
+      processor.process(currentSection, getShardedBlock(), times);
 
       markBlockAsUsed();
       return this;
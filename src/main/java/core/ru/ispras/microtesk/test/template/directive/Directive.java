@@ -20,6 +20,7 @@ import ru.ispras.microtesk.options.Options;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -70,6 +71,15 @@ public abstract class Directive {
    */
   public abstract String getText();
 
+  /**
+   * Returns the lines of the directive text (a directive may take several lines).
+   *
+   * @return the lines of the directive text.
+   */
+  public List<String> getTextLines() {
+    return Collections.singletonList(getText());
+  }
+
   /**
    * Checks whether an indentation is required when printing the directive.
    *
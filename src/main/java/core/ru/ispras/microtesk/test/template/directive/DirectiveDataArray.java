@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.test.template.directive;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.model.memory.MemoryAllocator;
+import ru.ispras.microtesk.options.Options;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link DirectiveDataArray} places an array of data items stored in a byte array.
+ *
+ * <p>The array is allocated at once. Its text consists of several lines, each describing
+ * a fixed number of items.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class DirectiveDataArray extends Directive {
+  private final String typeText;
+  private final int itemBitSize;
+  private final byte[] data;
+  private final int itemsPerLine;
+  private final boolean align;
+
+  DirectiveDataArray(
+      final Options options,
+      final String typeText,
+      final int itemBitSize,
+      final byte[] data,
+      final int itemsPerLine,
+      final boolean align) {
+    super(options);
+
+    InvariantChecks.checkNotNull(typeText);
+    InvariantChecks.checkGreaterThanZero(itemBitSize);
+    InvariantChecks.checkTrue(itemBitSize % Byte.SIZE == 0);
+    InvariantChecks.checkNotNull(data);
+    InvariantChecks.checkGreaterThanZero(data.length);
+    InvariantChecks.checkTrue(data.length % (itemBitSize / Byte.SIZE) == 0);
+    InvariantChecks.checkGreaterThanZero(itemsPerLine);
+
+    this.typeText = typeText;
+    this.itemBitSize = itemBitSize;
+    this.data = data;
+    this.itemsPerLine = itemsPerLine;
+    this.align = align;
+  }
+
+  @Override
+  public Kind getKind() {
+    return Kind.DATA;
+  }
+
+  @Override
+  public String getText() {
+    return String.join(System.lineSeparator(), getTextLines());
+  }
+
+  @Override
+  public List<String> getTextLines() {
+    final int itemByteSize = itemBitSize / Byte.SIZE;
+    final int itemCount = data.length / itemByteSize;
+
+    final List<String> lines = new ArrayList<>((itemCount + itemsPerLine - 1) / itemsPerLine);
+    for (int first = 0; first < itemCount; first += itemsPerLine) {
+      final StringBuilder sb = new StringBuilder(typeText);
+
+      final int last = Math.min(first + itemsPerLine, itemCount);
+      for (int index = first; index < last; index++) {
+        if (index != first) {
+          sb.append(',');
+        }
+
+        final BitVector item = BitVector.valueOf(Arrays.copyOfRange(
+            data, index * itemByteSize, (index + 1) * itemByteSize), itemBitSize);
+
+        sb.append(" 0x");
+        sb.append(item.toHexString());
+      }
+
+      lines.add(sb.toString());
+    }
+
+    return lines;
+  }
+
+  @Override
+  public BigInteger apply(final BigInteger currentAddress, final MemoryAllocator allocator) {
+    return allocator.allocate(currentAddress, data, itemBitSize, align).second;
+  }
+}
@@ -278,6 +278,34 @@ public final class DirectiveFactory {
     return new DirectiveDataConst(options, typeInfo.text, values, align);
   }
 
+  /**
+   * Creates a directive that places the specified number of generated data items.
+   * The items are generated into a byte array and are allocated at once.
+   *
+   * @param typeInfo Data type.
+   * @param generator Data generator.
+   * @param count Number of data items.
+   * @param itemsPerLine Number of data items printed in a line.
+   * @param align Alignment flag.
+   * @return New directive.
+   */
+  public Directive newDataArray(
+      final DirectiveTypeInfo typeInfo,
+      final DataGenerator generator,
+      final int count,
+      final int itemsPerLine,
+      final boolean align) {
+    InvariantChecks.checkNotNull(typeInfo);
+    InvariantChecks.checkNotNull(generator);
+    InvariantChecks.checkGreaterThanZero(count);
+
+    final int bitSize = typeInfo.type.getBitSize();
+    InvariantChecks.checkTrue(bitSize % Byte.SIZE == 0);
+
+    return new DirectiveDataArray(
+        options, typeInfo.text, bitSize, generator.nextData(count), itemsPerLine, align);
+  }
+
   public Directive newDataValues(
       final String typeName,
       final List<Value> values,
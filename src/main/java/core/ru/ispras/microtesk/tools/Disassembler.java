@@ -32,13 +32,29 @@ import ru.ispras.microtesk.utils.BinaryReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
  * {@link Disassembler} is a class responsible for disassembling binary files.
  *
+ * <p>Files are mapped into memory. Large files of ISAs with fixed-size instructions are split
+ * into chunks decoded in parallel; the output receives instructions in the original order.</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class Disassembler {
+  /** Images of fixed-size ISAs that are not smaller than this are decoded concurrently. */
+  private static final int MIN_PARALLEL_SIZE = 1 << 20;
+
+  /** Number of instructions in a chunk decoded by a single task. */
+  private static final int CHUNK_INSTRUCTION_COUNT = 1 << 16;
+
   public static interface Output {
     void add(final IsaPrimitive primitive);
 
@@ -174,7 +190,7 @@ public final class Disassembler {
     }
   }
 
-  private static boolean decode(
+  static boolean decode(
       final Decoder decoder,
       final BinaryReader reader,
       final Output output) {
@@ -183,21 +199,117 @@ public final class Disassembler {
     InvariantChecks.checkNotNull(output);
 
     final int maxImageSize = decoder.getMaxImageSize();
-    final boolean imageSizeFixed = decoder.isImageSizeFixed();
-
     InvariantChecks.checkTrue(0 == maxImageSize % 8);
+
     final int byteSize = maxImageSize / 8;
+    if (decoder.isImageSizeFixed() && reader.getSize() >= MIN_PARALLEL_SIZE) {
+      return decodeParallel(decoder, reader, output, byteSize);
+    }
+
+    final String error = decode(decoder, reader, 0, byteSize, output::add);
+    if (null != error) {
+      Logger.error(error);
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Decodes an image of a fixed-size ISA: the image is split into chunks, which are decoded
+   * concurrently. The decoded primitives are passed to the output in the original order.
+   */
+  private static boolean decodeParallel(
+      final Decoder decoder,
+      final BinaryReader reader,
+      final Output output,
+      final int byteSize) {
+    final ForkJoinPool pool = ForkJoinPool.commonPool();
+    final int maxTaskCount = 2 * pool.getParallelism();
+    final int chunkSize = CHUNK_INSTRUCTION_COUNT * byteSize;
+
+    // Only a few chunks are kept in memory at a time.
+    final Deque<ForkJoinTask<Chunk>> tasks = new ArrayDeque<>();
+    final int size = reader.getSize();
+    int start = 0;
+
+    while (start < size || !tasks.isEmpty()) {
+      while (start < size && tasks.size() < maxTaskCount) {
+        final int offset = start;
+        final int end = (int) Math.min((long) start + chunkSize, size);
+        final BinaryReader slice = reader.slice(start, end);
+
+        tasks.addLast(pool.submit(() -> {
+          final Chunk chunk = new Chunk();
+          chunk.error = decode(decoder, slice, offset, byteSize, chunk.primitives::add);
+          return chunk;
+        }));
+
+        start = end;
+      }
+
+      final Chunk chunk = tasks.removeFirst().join();
+      for (final IsaPrimitive primitive : chunk.primitives) {
+        output.add(primitive);
+      }
+
+      if (null != chunk.error) {
+        Logger.error(chunk.error);
+        for (final ForkJoinTask<Chunk> task : tasks) {
+          task.cancel(false);
+        }
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static final class Chunk {
+    private final List<IsaPrimitive> primitives = new ArrayList<>(CHUNK_INSTRUCTION_COUNT);
+    private String error = null;
+  }
+
+  /**
+   * Decodes all instructions available in the reader.
+   *
+   * @param decoder Decoder.
+   * @param reader Reader.
+   * @param offset Offset of the reader data in the file (used in messages).
+   * @param byteSize Maximum instruction size in bytes.
+   * @param consumer Consumer of decoded primitives.
+   * @return Error message or {@code null} if decoding succeeded.
+   */
+  private static String decode(
+      final Decoder decoder,
+      final BinaryReader reader,
+      final int offset,
+      final int byteSize,
+      final Consumer<IsaPrimitive> consumer) {
+    final boolean imageSizeFixed = decoder.isImageSizeFixed();
+
+    while (true) {
+      final int position = reader.getPosition();
+      final int remaining = reader.getSize() - position;
+
+      if (imageSizeFixed && 0 < remaining && remaining < byteSize) {
+        Logger.warning("%d trailing bytes at 0x%x are ignored.", remaining, offset + position);
+        return null;
+      }
+
+      final BitVector data = reader.read(byteSize);
+      if (null == data) {
+        return null;
+      }
 
-    BitVector data = null;
-    while ((data = reader.read(byteSize)) != null) {
       final DecoderResult result = decoder.decode(data);
       if (null == result) {
-        Logger.error("Unrecognized instruction encoding: %d'b%s", data.getBitSize(), data);
-        return false;
+        return String.format("Unrecognized instruction encoding at 0x%x: %d'b%s",
+            offset + position, data.getBitSize(), data);
       }
 
       final IsaPrimitive primitive = result.getPrimitive();
-      output.add(primitive);
+      consumer.accept(primitive);
 
       if (!imageSizeFixed) {
         final int bitsRead = result.getBitSize();
@@ -205,10 +317,13 @@ public final class Disassembler {
             String.format("Primitive '%s' is of unsupported length: %d", primitive, bitsRead));
 
         final int bytesRead = bitsRead / 8;
-        reader.retreat(byteSize - bytesRead);
+        if (bytesRead > remaining) {
+          return String.format("Truncated instruction at 0x%x.", offset + position);
+        }
+
+        // At the end of the file, the reader advances by fewer than byteSize bytes.
+        reader.retreat(Math.min(byteSize, remaining) - bytesRead);
       }
     }
-
-    return true;
   }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.tools.transform;
+
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link TraceScanner} reads messages from a trace file mapped into memory.
+ *
+ * <p>The file is mapped by windows, so files of any size can be read. Lines are scanned in
+ * the mapped memory; strings are created only for the fields of messages.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+final class TraceScanner implements Closeable {
+  private static final int WINDOW_SIZE = 1 << 28;
+  private static final int FIELD_COUNT = 4;
+
+  private static final byte[] TAG = TraceTransformer.TAG.getBytes(StandardCharsets.UTF_8);
+
+  private final FileChannel channel;
+  private final long size;
+  private final int windowSize;
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long position;
+
+  // Bounds of the fields of the current line (relative to the window).
+  private final int[] fieldStarts = new int[FIELD_COUNT];
+  private final int[] fieldEnds = new int[FIELD_COUNT];
+
+  public TraceScanner(final Path path) throws IOException {
+    this(path, WINDOW_SIZE);
+  }
+
+  TraceScanner(final Path path, final int windowSize) throws IOException {
+    InvariantChecks.checkNotNull(path);
+    InvariantChecks.checkGreaterThanZero(windowSize);
+
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowSize = windowSize;
+    this.window = null;
+    this.windowStart = 0;
+    this.position = 0;
+  }
+
+  /**
+   * Returns the next message of the trace. Lines that are not messages are skipped.
+   *
+   * @return Next message or {@code null} if the end of the file has been reached.
+   * @throws IOException if the file cannot be read.
+   */
+  public TraceTransformer.Message next() throws IOException {
+    while (position < size) {
+      final int lineEnd = findLineEnd((int) (position - windowStart));
+
+      // The window can be moved by findLineEnd, so the line start is computed after it.
+      final int lineStart = (int) (position - windowStart);
+      position = windowStart + lineEnd + 1;
+
+      final TraceTransformer.Message message = parse(lineStart, lineEnd);
+      if (null != message) {
+        return message;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Finds the end of the line starting at the current position. The window is moved
+   * if it does not contain the whole line.
+   */
+  private int findLineEnd(final int lineStart) throws IOException {
+    if (null != window) {
+      final int end = findLineEnd(window, lineStart);
+      if (-1 != end) {
+        return end;
+      }
+    }
+
+    final long windowEnd = null != window ? windowStart + window.limit() : 0;
+    if (null == window || windowEnd < size) {
+      map(position);
+
+      final int end = findLineEnd(window, 0);
+      if (-1 != end) {
+        return end;
+      }
+
+      if (windowStart + window.limit() < size) {
+        throw new IOException(String.format("The line at offset %d is too long.", position));
+      }
+    }
+
+    // The last line of the file has no line terminator.
+    return (int) (size - windowStart);
+  }
+
+  private static int findLineEnd(final MappedByteBuffer buffer, final int start) {
+    for (int index = start; index < buffer.limit(); index++) {
+      if (buffer.get(index) == '\n') {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private void map(final long start) throws IOException {
+    windowStart = start;
+    window = channel.map(
+        FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+  }
+
+  private TraceTransformer.Message parse(final int start, final int end) {
+    int fieldCount = 0;
+    int index = start;
+
+    while (fieldCount < FIELD_COUNT) {
+      while (index < end && isDelimiter(window.get(index))) {
+        index++;
+      }
+
+      if (index == end) {
+        break;
+      }
+
+      fieldStarts[fieldCount] = index;
+      while (index < end && !isDelimiter(window.get(index))) {
+        index++;
+      }
+      fieldEnds[fieldCount] = index;
+
+      // Lines that do not start with the tag are skipped without creating strings.
+      if (0 == fieldCount && !isTag(fieldStarts[0], fieldEnds[0])) {
+        return null;
+      }
+
+      fieldCount++;
+    }
+
+    // Skip incorrect messages.
+    if (fieldCount < FIELD_COUNT) {
+      return null;
+    }
+
+    return new TraceTransformer.Message(
+        TraceTransformer.TAG, getField(1), getField(2), getField(3));
+  }
+
+  private boolean isTag(final int start, final int end) {
+    if (end - start != TAG.length) {
+      return false;
+    }
+
+    for (int index = 0; index < TAG.length; index++) {
+      if (window.get(start + index) != TAG[index]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private String getField(final int index) {
+    final byte[] bytes = new byte[fieldEnds[index] - fieldStarts[index]];
+    for (int offset = 0; offset < bytes.length; offset++) {
+      bytes[offset] = window.get(fieldStarts[index] + offset);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static boolean isDelimiter(final byte value) {
+    // The same delimiters as used by StringTokenizer by default.
+    return value == ' ' || value == '\t' || value == '\n' || value == '\r' || value == '\f';
+  }
+
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+}
@@ -21,16 +21,13 @@ import ru.ispras.microtesk.options.Options;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.StringTokenizer;
 
 public final class TraceTransformer {
   public static final String TAG = "[test]";
@@ -80,36 +77,22 @@ public final class TraceTransformer {
     }
   }
 
-  private static Message parse(final String line) {
-    InvariantChecks.checkNotNull(line);
-
-    final StringTokenizer tokenizer = new StringTokenizer(line);
-
-    if (!tokenizer.hasMoreTokens()) {
-      return null;
-    }
-
-    InvariantChecks.checkTrue(tokenizer.hasMoreTokens());
-    final String tag = tokenizer.nextToken();
-
-    if (!TAG.equals(tag)) {
-      return null;
-    }
-
-    InvariantChecks.checkTrue(tokenizer.hasMoreTokens());
-    final String source = tokenizer.nextToken();
-
-    InvariantChecks.checkTrue(tokenizer.hasMoreTokens());
-    final String event = tokenizer.nextToken();
-
-    InvariantChecks.checkTrue(tokenizer.hasMoreTokens());
-    final String target = tokenizer.nextToken();
-
-    return new Message(tag, source, event, target);
-  }
-
   private TraceTransformer() {}
 
+  /**
+   * Inserts the messages of a trace into a template. Messages of a processing element are
+   * inserted after each comment line of the template that mentions the element identifier.
+   *
+   * <p>The trace is processed in a streaming fashion: messages are scanned in the memory-mapped
+   * trace file and spilled into temporary files (one per processing element), which are copied
+   * into the output. Therefore, memory consumption does not depend on the trace length.</p>
+   *
+   * @param options Options.
+   * @param modelName Model name.
+   * @param templateName Template file name.
+   * @param traceName Trace file name.
+   * @return {@code true} on success or {@code false} otherwise.
+   */
   public static boolean execute(
       final Options options,
       final String modelName,
@@ -120,82 +103,101 @@ public final class TraceTransformer {
     InvariantChecks.checkNotNull(templateName);
     InvariantChecks.checkNotNull(traceName);
 
-    // Maps a processing element identifier into the corresponding trace.
-    final Map<String, List<Message>> traces = new HashMap<>();
+    // Maps a processing element identifier into the file holding the corresponding trace.
+    final Map<String, Path> traces = new LinkedHashMap<>();
 
     try {
       final Path tracePath = Paths.get(traceName);
-      final BufferedReader traceReader =
-          new BufferedReader(new InputStreamReader(Files.newInputStream(tracePath)));
-
-      while (true) {
-        final String line = traceReader.readLine();
-
-        if (line == null) {
-          break;
-        }
-
-        final Message message = parse(line);
-
-        // Skip incorrect messages.
-        if (message == null) {
-          continue;
-        }
+      final Path outputPath = Paths.get(traceName + ".rb");
 
-        // Add the message to the corresponding trace.
-        List<Message> trace = traces.get(message.getSource());
-        if (trace == null) {
-          traces.put(message.getSource(), trace = new ArrayList<>());
+      try {
+        spill(tracePath, outputPath.toAbsolutePath().getParent(), traces);
+        insert(Paths.get(templateName), outputPath, traces);
+      } finally {
+        for (final Path path : traces.values()) {
+          Files.deleteIfExists(path);
         }
-
-        trace.add(message);
       }
+    } catch (final IOException e) {
+      Logger.error("IO error: %s", e.getMessage());
+      return false;
+    }
+
+    return true;
+  }
 
-      final Path inputPath = Paths.get(templateName);
-      final BufferedReader inputReader =
-          new BufferedReader(new InputStreamReader(Files.newInputStream(inputPath)));
+  private static void spill(
+      final Path tracePath,
+      final Path tempDir,
+      final Map<String, Path> traces) throws IOException {
+    final Map<String, BufferedWriter> writers = new HashMap<>();
 
-      final Path outputPath = Paths.get(traceName + ".rb");
-      final BufferedWriter outputWriter =
-          new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(outputPath)));
+    try (final TraceScanner scanner = new TraceScanner(tracePath)) {
+      Message message;
+      while ((message = scanner.next()) != null) {
+        final String source = message.getSource();
 
-      while (true) {
-        final String line = inputReader.readLine();
+        BufferedWriter writer = writers.get(source);
+        if (null == writer) {
+          final Path path = Files.createTempFile(tempDir, "trace", ".tmp");
+          traces.put(source, path);
 
-        if (line == null) {
-          break;
+          writer = Files.newBufferedWriter(path);
+          writers.put(source, writer);
         }
 
+        writer.write(message.getText());
+        writer.write('\n');
+      }
+    } finally {
+      for (final BufferedWriter writer : writers.values()) {
+        writer.close();
+      }
+    }
+  }
+
+  private static void insert(
+      final Path inputPath,
+      final Path outputPath,
+      final Map<String, Path> traces) throws IOException {
+    try (final BufferedReader inputReader =
+            Files.newBufferedReader(inputPath, Charset.defaultCharset());
+        final BufferedWriter outputWriter =
+            Files.newBufferedWriter(outputPath, Charset.defaultCharset())) {
+      String line;
+      while ((line = inputReader.readLine()) != null) {
         outputWriter.write(String.format("%s\n", line));
 
         final int i = line.indexOf(COMMENT);
+        if (i == -1) {
+          continue;
+        }
 
-        if (i != -1) {
-          final String indent = line.substring(0, i);
-
-          for (final Map.Entry<String, List<Message>> entry : traces.entrySet()) {
-            final String source = entry.getKey();
-
-            if (line.contains(source)) {
-              final List<Message> trace = entry.getValue();
-
-              for (final Message message : trace) {
-                outputWriter.write(String.format("%s%s\n", indent, message.getText()));
-              }
+        final String indent = line.substring(0, i);
+        final String source = findSource(line, traces.keySet());
 
-              break;
+        if (null != source) {
+          try (final BufferedReader traceReader = Files.newBufferedReader(traces.get(source))) {
+            String text;
+            while ((text = traceReader.readLine()) != null) {
+              outputWriter.write(String.format("%s%s\n", indent, text));
             }
           }
         }
       }
+    }
+  }
 
-      inputReader.close();
-      outputWriter.close();
-    } catch (final IOException e) {
-      Logger.error("IO error: %s", e.getMessage());
-      return false;
+  private static String findSource(final String line, final Iterable<String> sources) {
+    String result = null;
+
+    // The longest identifier is chosen (e.g. 'cpu10' rather than 'cpu1').
+    for (final String source : sources) {
+      if (line.contains(source) && (null == result || source.length() > result.length())) {
+        result = source;
+      }
     }
 
-    return true;
+    return result;
   }
 }
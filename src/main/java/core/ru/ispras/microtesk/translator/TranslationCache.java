@@ -0,0 +1,389 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.translator;
+
+import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.options.Option;
+import ru.ispras.microtesk.options.Options;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link TranslationCache} makes translation of specifications incremental.
+ *
+ * <p>The cache keeps a manifest in the output directory. There is a separate manifest for each
+ * model, so several models can be translated into the same directory. The manifest stores a key,
+ * which is a hash of the translator build, the options, the revisions and the arguments, the
+ * hashes of all source files read by the translators (including the included ones) and the list
+ * of files generated by the previous translation. If the key and all source hashes match,
+ * translation is skipped.</p>
+ *
+ * <p>Otherwise, the translators write their output to a staging directory, which is then
+ * merged into the output directory. Only the files whose contents have changed are rewritten,
+ * so unchanged files keep their timestamps and are not recompiled. Files generated by the
+ * previous translation and not generated by the current one are deleted.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class TranslationCache {
+  private static final String MANIFEST = ".translation-";
+  private static final String STAGING = ".staging-";
+
+  private static final String KEY = "key";
+  private static final String SOURCE = "source";
+  private static final String OUTPUT = "output";
+
+  private final Path outDir;
+  private final String modelName;
+  private final String key;
+
+  private final Map<String, String> sources;
+  private final Set<String> outputs;
+
+  public TranslationCache(
+      final Path outDir,
+      final Options options,
+      final Set<String> revisions,
+      final String[] arguments) {
+    InvariantChecks.checkNotNull(outDir);
+    InvariantChecks.checkNotNull(options);
+    InvariantChecks.checkNotNull(revisions);
+    InvariantChecks.checkNotNull(arguments);
+
+    this.outDir = outDir;
+    this.modelName = getModelName(options, arguments);
+    this.key = newKey(options, revisions, arguments);
+    this.sources = new TreeMap<>();
+    this.outputs = new TreeSet<>();
+
+    readManifest();
+  }
+
+  public Path getOutDir() {
+    return outDir;
+  }
+
+  /**
+   * Checks whether the output directory holds the result of translating the same sources
+   * with the same settings.
+   *
+   * @return {@code true} if translation can be skipped or {@code false} otherwise.
+   */
+  public boolean isUpToDate() {
+    if (null == key || sources.isEmpty()) {
+      return false;
+    }
+
+    for (final Map.Entry<String, String> entry : sources.entrySet()) {
+      final Path path = Paths.get(entry.getKey());
+      if (!Files.isRegularFile(path) || !entry.getValue().equals(hashFile(path))) {
+        return false;
+      }
+    }
+
+    for (final String output : outputs) {
+      if (!Files.isRegularFile(outDir.resolve(output))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Creates an empty directory for the translators to write their output to.
+   *
+   * @return Path to the staging directory.
+   * @throws IOException if the directory cannot be created.
+   */
+  public Path newStagingDir() throws IOException {
+    final Path stagingDir = outDir.resolve(STAGING + modelName);
+    deleteDirectory(stagingDir);
+    return Files.createDirectories(stagingDir);
+  }
+
+  /**
+   * Merges the output of translation into the output directory and saves the manifest.
+   *
+   * @param stagingDir Directory that holds the output of translation.
+   * @param sourceFiles Source files read by the translators.
+   * @throws IOException if an I/O error occurs.
+   */
+  public void commit(
+      final Path stagingDir,
+      final Collection<String> sourceFiles) throws IOException {
+    InvariantChecks.checkNotNull(stagingDir);
+    InvariantChecks.checkNotNull(sourceFiles);
+
+    final List<Path> files;
+    try (final Stream<Path> stream = Files.walk(stagingDir)) {
+      files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+    }
+
+    final Set<String> newOutputs = new TreeSet<>();
+    int updated = 0;
+
+    for (final Path file : files) {
+      final String output = toString(stagingDir.relativize(file));
+      final Path target = outDir.resolve(output);
+
+      if (copyIfChanged(file, target)) {
+        updated++;
+      }
+
+      newOutputs.add(output);
+    }
+
+    int deleted = 0;
+    for (final String output : outputs) {
+      if (!newOutputs.contains(output) && Files.deleteIfExists(outDir.resolve(output))) {
+        deleted++;
+      }
+    }
+
+    deleteDirectory(stagingDir);
+
+    sources.clear();
+    for (final String sourceFile : new LinkedHashSet<>(sourceFiles)) {
+      final Path path = Paths.get(sourceFile).toAbsolutePath().normalize();
+      sources.put(toString(path), hashFile(path));
+    }
+
+    outputs.clear();
+    outputs.addAll(newOutputs);
+
+    writeManifest();
+
+    Logger.message("Generated %d files: %d updated, %d unchanged, %d deleted.",
+        newOutputs.size(), updated, newOutputs.size() - updated, deleted);
+  }
+
+  public void discard(final Path stagingDir) {
+    InvariantChecks.checkNotNull(stagingDir);
+    try {
+      deleteDirectory(stagingDir);
+    } catch (final IOException e) {
+      Logger.warning("Failed to delete %s: %s", stagingDir, e.getMessage());
+    }
+  }
+
+  private void readManifest() {
+    final Path manifest = outDir.resolve(MANIFEST + modelName);
+    if (null == key || !Files.isRegularFile(manifest)) {
+      return;
+    }
+
+    try (final BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+      final String header = reader.readLine();
+      if (!(KEY + " " + key).equals(header)) {
+        return;
+      }
+
+      String line;
+      while (null != (line = reader.readLine())) {
+        final String[] tokens = line.split(" ", 3);
+        if (tokens.length == 3 && SOURCE.equals(tokens[0])) {
+          sources.put(tokens[2], tokens[1]);
+        } else if (tokens.length == 2 && OUTPUT.equals(tokens[0])) {
+          outputs.add(tokens[1]);
+        } else {
+          Logger.warning("Malformed translation manifest %s: %s", manifest, line);
+          sources.clear();
+          return;
+        }
+      }
+    } catch (final IOException e) {
+      Logger.warning("Failed to read %s: %s", manifest, e.getMessage());
+      sources.clear();
+    }
+  }
+
+  private void writeManifest() throws IOException {
+    final Path manifest = outDir.resolve(MANIFEST + modelName);
+    if (null == key) {
+      Files.deleteIfExists(manifest);
+      return;
+    }
+
+    Files.createDirectories(outDir);
+    try (final BufferedWriter writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+      writer.write(KEY + " " + key);
+      writer.newLine();
+
+      for (final Map.Entry<String, String> entry : sources.entrySet()) {
+        writer.write(SOURCE + " " + entry.getValue() + " " + entry.getKey());
+        writer.newLine();
+      }
+
+      for (final String output : outputs) {
+        writer.write(OUTPUT + " " + output);
+        writer.newLine();
+      }
+    }
+  }
+
+  private static boolean copyIfChanged(final Path source, final Path target) throws IOException {
+    final byte[] bytes = Files.readAllBytes(source);
+
+    if (Files.isRegularFile(target)
+        && Files.size(target) == bytes.length
+        && Arrays.equals(bytes, Files.readAllBytes(target))) {
+      return false;
+    }
+
+    Files.createDirectories(target.getParent());
+    Files.write(target, bytes);
+    return true;
+  }
+
+  private static void deleteDirectory(final Path dir) throws IOException {
+    if (!Files.exists(dir)) {
+      return;
+    }
+
+    final List<Path> paths;
+    try (final Stream<Path> stream = Files.walk(dir)) {
+      paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+    }
+
+    for (final Path path : paths) {
+      Files.delete(path);
+    }
+  }
+
+  /**
+   * Returns the name of the model being translated. If it is not specified explicitly, it is built
+   * from the names of the specification files.
+   */
+  private static String getModelName(final Options options, final String[] arguments) {
+    final Set<String> modelNames = new TreeSet<>();
+    for (final String argument : arguments) {
+      modelNames.add(Translator.getModelName(options, argument));
+    }
+
+    return String.join("-", modelNames);
+  }
+
+  /**
+   * Builds the key that identifies translation settings. Returns {@code null} if the translator
+   * is not run from a jar file: in this case, changes in the translator cannot be tracked and
+   * nothing is cached.
+   */
+  private static String newKey(
+      final Options options,
+      final Set<String> revisions,
+      final String[] arguments) {
+    final Path toolPath = getToolPath();
+    if (null == toolPath) {
+      return null;
+    }
+
+    final StringBuilder sb = new StringBuilder();
+
+    try {
+      sb.append(toolPath).append(' ')
+        .append(Files.size(toolPath)).append(' ')
+        .append(Files.getLastModifiedTime(toolPath).toMillis()).append('\n');
+    } catch (final IOException e) {
+      return null;
+    }
+
+    for (final Option option : Option.values()) {
+      final Option dependency = option.getDependency();
+      if (option != Option.OUTPUT_DIR
+          && (null == dependency || Option.TRANSLATE == dependency)) {
+        sb.append(option.getName()).append('=').append(options.getValue(option)).append('\n');
+      }
+    }
+
+    // The buffer configuration is read bypassing the preprocessor.
+    final String bufferConfig = options.getValueAsString(Option.MMU_BUFFER_CONFIG);
+    if (!bufferConfig.isEmpty()) {
+      sb.append(hashFile(Paths.get(bufferConfig))).append('\n');
+    }
+
+    sb.append(new TreeSet<>(revisions)).append('\n');
+
+    for (final String argument : arguments) {
+      sb.append(toString(Paths.get(argument).toAbsolutePath().normalize())).append('\n');
+    }
+
+    return hash(sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Path getToolPath() {
+    final CodeSource codeSource = TranslationCache.class.getProtectionDomain().getCodeSource();
+    if (null == codeSource || null == codeSource.getLocation()) {
+      return null;
+    }
+
+    try {
+      final Path path = Paths.get(codeSource.getLocation().toURI());
+      return Files.isRegularFile(path) ? path : null;
+    } catch (final URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String hashFile(final Path path) {
+    try {
+      return hash(Files.readAllBytes(path));
+    } catch (final IOException e) {
+      return "";
+    }
+  }
+
+  private static String hash(final byte[] bytes) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      final byte[] hash = digest.digest(bytes);
+
+      final StringBuilder hex = new StringBuilder(2 * hash.length);
+      for (final byte b : hash) {
+        hex.append(String.format("%02x", b & 0xff));
+      }
+
+      return hex.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toString(final Path path) {
+    return path.toString().replace('\\', '/');
+  }
+}
@@ -25,6 +25,7 @@ import ru.ispras.microtesk.options.Option;
 import ru.ispras.microtesk.options.Options;
 import ru.ispras.microtesk.translator.antlrex.Preprocessor;
 import ru.ispras.microtesk.translator.antlrex.log.LogStore;
+import ru.ispras.microtesk.translator.antlrex.log.LogStoreBuffer;
 import ru.ispras.microtesk.translator.antlrex.log.LogStoreConsole;
 import ru.ispras.microtesk.translator.antlrex.symbols.SymbolTable;
 import ru.ispras.microtesk.translator.codegen.PackageInfo;
@@ -35,6 +36,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The {@link Translator} is a base class for all translators. It implements all common
@@ -54,6 +59,9 @@ public abstract class Translator<Ir> {
   private Set<String> revisions;
   private LogStore log;
 
+  // Log stores of independent handlers running in the current thread.
+  private final ThreadLocal<LogStore> handlerLog = new ThreadLocal<>();
+
   private final Preprocessor preprocessor;
   private TokenSourceStack source;
 
@@ -80,15 +88,94 @@ public abstract class Translator<Ir> {
 
   protected final void processIr(final Ir ir, final Options opts) {
     InvariantChecks.checkNotNull(ir);
+
+    final List<TranslatorHandler<Ir>> independentHandlers = new ArrayList<>();
     for (final TranslatorHandler<Ir> handler : handlers) {
-      handler.processIr(ir, opts);
+      if (handler.isIndependent()) {
+        independentHandlers.add(handler);
+      } else {
+        processIr(handler, ir, opts);
+      }
     }
 
+    processIrConcurrently(independentHandlers, ir, opts);
+
     if (null != context) {
       context.addIr(ir);
     }
   }
 
+  private void processIrConcurrently(
+      final List<TranslatorHandler<Ir>> independentHandlers,
+      final Ir ir,
+      final Options opts) {
+    if (independentHandlers.size() <= 1) {
+      for (final TranslatorHandler<Ir> handler : independentHandlers) {
+        processIr(handler, ir, opts);
+      }
+      return;
+    }
+
+    final int threadCount =
+        Math.min(independentHandlers.size(), Runtime.getRuntime().availableProcessors());
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+    final List<LogStoreBuffer> logs = new ArrayList<>();
+    final List<Future<?>> futures = new ArrayList<>();
+
+    try {
+      for (final TranslatorHandler<Ir> handler : independentHandlers) {
+        final LogStoreBuffer handlerLogBuffer = new LogStoreBuffer();
+        logs.add(handlerLogBuffer);
+
+        futures.add(executor.submit(() -> {
+          handlerLog.set(handlerLogBuffer);
+          try {
+            processIr(handler, ir, opts);
+          } finally {
+            handlerLog.remove();
+          }
+        }));
+      }
+
+      Throwable exception = null;
+      for (int index = 0; index < futures.size(); index++) {
+        try {
+          futures.get(index).get();
+        } catch (final ExecutionException e) {
+          if (null == exception) {
+            exception = e.getCause();
+          }
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(e);
+        }
+
+        // Entries are passed to the log in the order the handlers were added.
+        logs.get(index).flush(log);
+      }
+
+      // The first failure is rethrown as if the handlers were run sequentially.
+      if (exception instanceof RuntimeException) {
+        throw (RuntimeException) exception;
+      } else if (exception instanceof Error) {
+        throw (Error) exception;
+      } else if (null != exception) {
+        throw new IllegalStateException(exception);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void processIr(final TranslatorHandler<Ir> handler, final Ir ir, final Options opts) {
+    final long startTime = System.currentTimeMillis();
+    handler.processIr(ir, opts);
+
+    Logger.debug("%s: %d ms",
+        handler.getClass().getSimpleName(), System.currentTimeMillis() - startTime);
+  }
+
   protected final SymbolTable getSymbols() {
     return symbols;
   }
@@ -124,7 +211,8 @@ public abstract class Translator<Ir> {
   }
 
   public final LogStore getLog() {
-    return log;
+    final LogStore currentHandlerLog = handlerLog.get();
+    return null != currentHandlerLog ? currentHandlerLog : log;
   }
 
   public final void setLog(final LogStore log) {
@@ -136,6 +224,10 @@ public abstract class Translator<Ir> {
     return preprocessor;
   }
 
+  public final Set<String> getSourceFiles() {
+    return preprocessor.getSourceFiles();
+  }
+
   public final void addPath(final String path) {
     preprocessor.addPath(path);
   }
@@ -22,4 +22,15 @@ public interface TranslatorHandler<Ir> {
   default void processIr(Ir ir, Options options) {
     processIr(ir);
   }
+
+  /**
+   * Checks whether the handler is independent. Independent handlers (e.g. code generators)
+   * only read the IR and do not depend on each other. They are run concurrently after all
+   * other handlers have finished.
+   *
+   * @return {@code true} if the handler is independent or {@code false} otherwise.
+   */
+  default boolean isIndependent() {
+    return false;
+  }
 }
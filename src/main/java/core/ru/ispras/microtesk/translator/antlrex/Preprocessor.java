@@ -23,8 +23,10 @@ import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.microtesk.translator.Translator;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -41,6 +43,7 @@ public class Preprocessor {
   private final IncludeFileFinder finder = new IncludeFileFinder();
   private final Map<String, String> defines = new LinkedHashMap<>();
   private final Deque<IfDefScope> ifdefs = new ArrayDeque<>();
+  private final Set<String> sourceFiles = new LinkedHashSet<>();
 
   public Preprocessor(final Translator<?> translator) {
     InvariantChecks.checkNotNull(translator);
@@ -55,9 +58,19 @@ public class Preprocessor {
     }
 
     Logger.message("Included: " + filename);
+    sourceFiles.add(null != stream.getSourceName() ? stream.getSourceName() : filename);
     translator.startLexer(stream);
   }
 
+  /**
+   * Returns the names of all files that have been read, including the included ones.
+   *
+   * @return Unmodifiable set of file names.
+   */
+  public Set<String> getSourceFiles() {
+    return Collections.unmodifiableSet(sourceFiles);
+  }
+
   public void includeTokensFromString(final String substitution) {
     final CharStream stream = this.tokenStreamFromString(substitution);
     if (stream != null) {
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.translator.antlrex.log;
+
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link LogStoreBuffer} is a thread-safe log store that keeps entries until they are passed
+ * to another log store. It is used by handlers that run concurrently, so that their entries
+ * are not interleaved.
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class LogStoreBuffer implements LogStore {
+  private final List<LogEntry> entries = new ArrayList<>();
+
+  @Override
+  public synchronized void append(final LogEntry entry) {
+    InvariantChecks.checkNotNull(entry);
+    entries.add(entry);
+  }
+
+  /**
+   * Passes all stored entries to the specified log store and clears the buffer.
+   *
+   * @param log Log store to receive the entries.
+   */
+  public synchronized void flush(final LogStore log) {
+    InvariantChecks.checkNotNull(log);
+
+    for (final LogEntry entry : entries) {
+      log.append(entry);
+    }
+
+    entries.clear();
+  }
+}
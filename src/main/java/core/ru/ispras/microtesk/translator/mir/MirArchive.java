@@ -71,19 +71,22 @@ public class MirArchive {
     private static final String SUFFIX = ".mir";
 
     private final ZipFile zip;
+    private final Map<String, Entry> index;
     private final Set<Map.Entry<String, MirContext>> entrySet;
 
     MirLibrary(final ZipFile zip) {
       this.zip = zip;
+      this.index = new java.util.HashMap<>();
 
-      final var entries = new java.util.HashSet<Map.Entry<String, MirContext>>();
       for (final ZipEntry entry : Collections.list(zip.entries())) {
         final String name = entry.getName();
         if (name.endsWith(SUFFIX)) {
-          entries.add(new Entry(name.substring(0, name.length() - SUFFIX.length())));
+          final String key = name.substring(0, name.length() - SUFFIX.length());
+          index.put(key, new Entry(key));
         }
       }
-      this.entrySet = Collections.unmodifiableSet(entries);
+      this.entrySet = Collections.<Map.Entry<String, MirContext>>unmodifiableSet(
+          new java.util.HashSet<>(index.values()));
     }
 
     @Override
@@ -91,11 +94,29 @@ public class MirArchive {
       return entrySet;
     }
 
+    @Override
+    public boolean containsKey(final Object key) {
+      return index.containsKey(key);
+    }
+
+    @Override
+    public MirContext get(final Object key) {
+      final Entry entry = index.get(key);
+      return null != entry ? entry.getValue() : null;
+    }
+
+    @Override
+    public int size() {
+      return index.size();
+    }
+
     private final class Entry implements Map.Entry<String, MirContext> {
       private final String key;
+      private MirContext value;
 
       Entry(final String key) {
         this.key = key;
+        this.value = null;
       }
 
       @Override
@@ -103,12 +124,21 @@ public class MirArchive {
         return key;
       }
 
+      /**
+       * Parses the MIR text on first access. Parsed contexts are shared: clients
+       * (e.g. {@link InlinePass}) must copy them before modification.
+       */
       @Override
-      public MirContext getValue() {
+      public synchronized MirContext getValue() {
+        if (null != value) {
+          return value;
+        }
+
         final var entry = zip.getEntry(key + SUFFIX);
         try {
           final var parser = new MirParser(zip.getInputStream(entry));
-          return parser.parse();
+          value = parser.parse();
+          return value;
         } catch (final IOException e) {
           throw new IllegalStateException(
             String.format("Unable to load MIR '%s'", entry.getName()), e);
@@ -24,6 +24,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static ru.ispras.microtesk.translator.mir.Instruction.Call;
 
@@ -34,28 +41,51 @@ public class MirPassDriver {
     }
   }.setComment("input");
 
+  private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
   private final List<Pass> passList;
   private Map<String, MirContext> storage;
 
+  /**
+   * Creates fresh instances of the pass sequence for worker threads (passes are stateful).
+   * {@code null} if the pass list has been built manually, which disables parallel runs.
+   */
+  private Supplier<List<Pass>> passFactory;
+
   public MirPassDriver(final Pass... passes) {
     this(Arrays.asList(passes));
   }
 
   public MirPassDriver(final List<Pass> passList) {
     this.passList = new java.util.ArrayList<>(passList);
+    this.passFactory = null;
     setStorage(new java.util.HashMap<String, MirContext>());
   }
 
+  private static MirPassDriver newDriver(final Supplier<List<Pass>> passFactory) {
+    final MirPassDriver driver = new MirPassDriver(passFactory.get());
+    driver.passFactory = passFactory;
+    return driver;
+  }
+
   public static MirPassDriver newDefault() {
-    return new MirPassDriver(
-      new InlinePass().setComment("inline calls"),
-      new ForwardPass().setComment("propagate"),
-      new ConcFlowPass().setComment("inline blocks")
-    );
+    return newDriver(MirPassDriver::defaultSequence);
   }
 
   public static MirPassDriver newOptimizing() {
-    return MirPassDriver.newDefault().addAll(ssaOptimizeSequence());
+    return newDriver(() -> {
+      final List<Pass> passes = defaultSequence();
+      passes.addAll(ssaOptimizeSequence());
+      return passes;
+    });
+  }
+
+  private static List<Pass> defaultSequence() {
+    return new java.util.ArrayList<>(Arrays.asList(
+      new InlinePass().setComment("inline calls"),
+      new ForwardPass().setComment("propagate"),
+      new ConcFlowPass().setComment("inline blocks")
+    ));
   }
 
   public static List<Pass> ssaOptimizeSequence() {
@@ -78,7 +108,7 @@ public class MirPassDriver {
   public MirContext apply(final MirContext source) {
     MirContext ctx = source;
     debugReport(NO_PASS, source);
-    for (final Pass pass : getPasses()) {
+    for (final Pass pass : passList) {
       final int nlocals = ctx.locals.size();
       ctx = pass.apply(ctx);
       debugReport(pass, ctx);
@@ -93,42 +123,202 @@ public class MirPassDriver {
     }
   }
 
+  /**
+   * Optimizes all functions of the source map and puts the results into the storage.
+   *
+   * <p>A function is optimized after all its callees, so that they can be inlined in
+   * their optimized form. Callees include the functions of primitives whose closures are
+   * used by the function. Functions that depend on each other in a cycle are optimized
+   * one after another in a fixed order. For drivers created by {@link #newDefault()} and
+   * {@link #newOptimizing()}, independent functions are processed concurrently on
+   * a fork-join pool, each worker thread using its own pass instances.</p>
+   *
+   * @param source Map of functions to be optimized.
+   * @return Unmodifiable view of the storage sorted by function names.
+   */
   public Map<String, MirContext> run(final Map<String, MirContext> source) {
     Logger.message("  list dependencies...");
-    final List<String> ordered = dependencyOrder(source);
+    final Map<String, List<String>> functions = groupByPrimitive(source);
+    final Map<String, List<String>> deps = new java.util.LinkedHashMap<>();
+    for (final MirContext ctx : source.values()) {
+      deps.put(ctx.name, listDeps(ctx, source, functions));
+    }
 
-    final int threshold = Math.min(500, Math.max(ordered.size() / 5 - 1, 1));
+    final List<String> ordered = dependencyOrder(deps);
+    final Progress progress = new Progress(deps.size());
 
-    int n = 0;
-    for (final String name : ordered) {
-      final MirContext ctx = apply(source.get(name));
-      storage.put(name, ctx);
-      if (++n % threshold == 0) {
-        Logger.message("  %d/%d...", n, ordered.size());
+    if (null == passFactory || PARALLELISM <= 1 || Logger.isDebug()) {
+      for (final String name : ordered) {
+        final MirContext ctx = apply(source.get(name));
+        storage.put(name, ctx);
+        progress.step();
+      }
+    } else {
+      new Scheduler(source, deps, ordered, progress).run();
+    }
+
+    return Collections.unmodifiableMap(new java.util.TreeMap<>(storage));
+  }
+
+  private static final class Progress {
+    private final int total;
+    private final int threshold;
+    private final AtomicInteger count;
+
+    private Progress(final int total) {
+      this.total = total;
+      this.threshold = Math.min(500, Math.max(total / 5 - 1, 1));
+      this.count = new AtomicInteger();
+    }
+
+    private void step() {
+      final int n = count.incrementAndGet();
+      if (n % threshold == 0) {
+        Logger.message("  %d/%d...", n, total);
+      }
+    }
+  }
+
+  /**
+   * Schedules functions on a fork-join pool in dependency order: a function is submitted
+   * once the last of its callees has been optimized. Functions that form a dependency cycle
+   * are scheduled as a single task, which optimizes them in the sequential order.
+   */
+  private final class Scheduler {
+    private final Map<String, MirContext> source;
+    private final Map<String, MirContext> shared;
+    private final List<List<String>> components;
+    private final List<List<Integer>> callers;
+    private final List<AtomicInteger> pending;
+    private final Progress progress;
+
+    private final ThreadLocal<MirPassDriver> drivers;
+    private final ForkJoinPool pool;
+    private final CountDownLatch done;
+    private final AtomicReference<Throwable> failure;
+
+    private Scheduler(
+        final Map<String, MirContext> source,
+        final Map<String, List<String>> deps,
+        final List<String> ordered,
+        final Progress progress) {
+      this.source = source;
+      this.shared = new ConcurrentHashMap<>(storage);
+      this.components = stronglyConnectedComponents(deps, ordered);
+      this.callers = new java.util.ArrayList<>(components.size());
+      this.pending = new java.util.ArrayList<>(components.size());
+      this.progress = progress;
+
+      final Map<String, Integer> componentIndices = new java.util.HashMap<>();
+      for (int index = 0; index < components.size(); index++) {
+        for (final String name : components.get(index)) {
+          componentIndices.put(name, index);
+        }
+        callers.add(new java.util.ArrayList<Integer>());
+      }
+
+      for (int index = 0; index < components.size(); index++) {
+        final Set<Integer> depIndices = new java.util.TreeSet<>();
+        for (final String name : components.get(index)) {
+          for (final String dep : deps.get(name)) {
+            depIndices.add(componentIndices.get(dep));
+          }
+        }
+        depIndices.remove(index);
+
+        for (final int depIndex : depIndices) {
+          callers.get(depIndex).add(index);
+        }
+        pending.add(new AtomicInteger(depIndices.size()));
+      }
+
+      this.drivers = ThreadLocal.withInitial(
+          () -> new MirPassDriver(passFactory.get()).setStorage(shared));
+      this.pool = new ForkJoinPool(PARALLELISM);
+      this.done = new CountDownLatch(components.size());
+      this.failure = new AtomicReference<>();
+    }
+
+    private void run() {
+      try {
+        for (int index = 0; index < components.size(); index++) {
+          if (pending.get(index).get() == 0) {
+            submit(index);
+          }
+        }
+
+        // Functions that depend on a failed one are never submitted.
+        while (!done.await(100, TimeUnit.MILLISECONDS) && null == failure.get()) {
+          // Wait.
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } finally {
+        pool.shutdownNow();
+      }
+
+      final Throwable error = failure.get();
+      if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      } else if (error instanceof Error) {
+        throw (Error) error;
+      } else if (null != error) {
+        throw new IllegalStateException(error);
+      }
+
+      storage.putAll(shared);
+    }
+
+    private void submit(final int index) {
+      pool.execute(() -> process(index));
+    }
+
+    private void process(final int index) {
+      try {
+        if (null != failure.get()) {
+          return;
+        }
+
+        for (final String name : components.get(index)) {
+          final MirContext ctx = drivers.get().apply(source.get(name));
+          shared.put(name, ctx);
+          progress.step();
+        }
+
+        for (final int caller : callers.get(index)) {
+          if (pending.get(caller).decrementAndGet() == 0) {
+            submit(caller);
+          }
+        }
+      } catch (final Throwable e) {
+        failure.compareAndSet(null, e);
+      } finally {
+        done.countDown();
       }
     }
-    return Collections.unmodifiableMap(this.storage);
   }
 
   public MirPassDriver add(final Pass pass) {
     passList.add(pass);
+    passFactory = null;
     return this;
   }
 
   public MirPassDriver addAll(final Collection<Pass> passes) {
     passList.addAll(passes);
+    passFactory = null;
     return this;
   }
 
   public List<Pass> getPasses() {
+    // The list can be modified by the caller and would no longer match the factory.
+    passFactory = null;
     return passList;
   }
 
-  private static List<String> dependencyOrder(final Map<String, MirContext> source) {
-    final Map<String, List<String>> deps = new java.util.HashMap<>();
-    for (final MirContext ctx : source.values()) {
-      deps.put(ctx.name, listDeps(ctx, source));
-    }
+  private static List<String> dependencyOrder(final Map<String, List<String>> dependencies) {
+    final Map<String, List<String>> deps = new java.util.LinkedHashMap<>(dependencies);
     final List<String> ordered = new java.util.ArrayList<>();
     while (!deps.isEmpty()) {
       orderDeps(deps.keySet().iterator().next(), ordered, deps);
@@ -140,17 +330,128 @@ public class MirPassDriver {
       final String name,
       final List<String> ordered,
       final Map<String, List<String>> deps) {
-    if (deps.containsKey(name)) {
-      for (final String dep : deps.get(name)) {
+    // The function is removed before its callees are visited to stop at dependency cycles.
+    final List<String> names = deps.remove(name);
+    if (null != names) {
+      for (final String dep : names) {
         orderDeps(dep, ordered, deps);
       }
       ordered.add(name);
-      deps.remove(name);
     }
   }
 
-  private static List<String> listDeps(final MirContext ctx, final Map<String, MirContext> source) {
-    final Set<String> deps = new java.util.HashSet<>();
+  /**
+   * Splits functions into strongly connected components of the dependency graph (Tarjan's
+   * algorithm). Components are listed in dependency order; functions of a component are
+   * listed in the sequential order.
+   *
+   * @param deps Dependencies of functions.
+   * @param ordered Functions in the sequential order.
+   * @return List of components.
+   */
+  private static List<List<String>> stronglyConnectedComponents(
+      final Map<String, List<String>> deps,
+      final List<String> ordered) {
+    final Map<String, Integer> positions = new java.util.HashMap<>();
+    for (final String name : ordered) {
+      positions.put(name, positions.size());
+    }
+
+    final Tarjan tarjan = new Tarjan(deps);
+    for (final String name : ordered) {
+      if (!tarjan.indices.containsKey(name)) {
+        tarjan.visit(name);
+      }
+    }
+
+    for (final List<String> component : tarjan.components) {
+      component.sort(java.util.Comparator.comparing(positions::get));
+    }
+
+    return tarjan.components;
+  }
+
+  private static final class Tarjan {
+    private final Map<String, List<String>> deps;
+    private final Map<String, Integer> indices = new java.util.HashMap<>();
+    private final Map<String, Integer> lowLinks = new java.util.HashMap<>();
+    private final java.util.Deque<String> stack = new java.util.ArrayDeque<>();
+    private final Set<String> onStack = new java.util.HashSet<>();
+    private final List<List<String>> components = new java.util.ArrayList<>();
+
+    private Tarjan(final Map<String, List<String>> deps) {
+      this.deps = deps;
+    }
+
+    private void visit(final String name) {
+      final int index = indices.size();
+      indices.put(name, index);
+      lowLinks.put(name, index);
+      stack.push(name);
+      onStack.add(name);
+
+      for (final String dep : deps.get(name)) {
+        if (!indices.containsKey(dep)) {
+          visit(dep);
+          lowLinks.put(name, Math.min(lowLinks.get(name), lowLinks.get(dep)));
+        } else if (onStack.contains(dep)) {
+          lowLinks.put(name, Math.min(lowLinks.get(name), indices.get(dep)));
+        }
+      }
+
+      if (lowLinks.get(name) == index) {
+        final List<String> component = new java.util.ArrayList<>();
+        String member;
+        do {
+          member = stack.pop();
+          onStack.remove(member);
+          component.add(member);
+        } while (!member.equals(name));
+
+        components.add(component);
+      }
+    }
+  }
+
+  /**
+   * Groups functions by the names of the primitives they belong to: the primitive name is
+   * the part of the function name before the first dot.
+   */
+  private static Map<String, List<String>> groupByPrimitive(
+      final Map<String, MirContext> source) {
+    final Map<String, List<String>> functions = new java.util.HashMap<>();
+    for (final String name : source.keySet()) {
+      final int dot = name.indexOf('.');
+      final String primitive = dot >= 0 ? name.substring(0, dot) : name;
+      functions.computeIfAbsent(primitive, k -> new java.util.ArrayList<>()).add(name);
+    }
+    return functions;
+  }
+
+  /**
+   * Lists the functions the given function depends on: statically called functions and
+   * functions of the primitives whose closures (including nested ones) are used by it.
+   * Calls through closures are resolved only by {@link InlinePass}, so all functions of such
+   * primitives are considered.
+   */
+  private static List<String> listDeps(
+      final MirContext ctx,
+      final Map<String, MirContext> source,
+      final Map<String, List<String>> functions) {
+    final Set<String> deps = new java.util.TreeSet<>();
+    final OperandWalker<Void> walker = new OperandWalker<>(new OperandVisitor<Void>() {
+      @Override
+      public Void visitClosure(final Closure opnd, final List<Void> upvalues) {
+        deps.addAll(functions.getOrDefault(opnd.callee, Collections.<String>emptyList()));
+        return null;
+      }
+
+      @Override
+      public Void visitOperand(final Operand opnd) {
+        return null;
+      }
+    });
+
     for (final BasicBlock bb : ctx.blocks) {
       for (final Instruction insn : bb.insns) {
         if (insn instanceof Call) {
@@ -160,6 +461,7 @@ public class MirPassDriver {
             deps.add(dep);
           }
         }
+        insn.accept(walker);
       }
     }
     if (deps.isEmpty()) {
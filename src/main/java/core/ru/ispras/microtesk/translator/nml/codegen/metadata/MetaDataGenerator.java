@@ -45,6 +45,11 @@ public final class MetaDataGenerator implements TranslatorHandler<Ir> {
     return translator.getOutDir() + "/src/java";
   }
 
+  @Override
+  public boolean isIndependent() {
+    return true;
+  }
+
   @Override
   public void processIr(final Ir ir) {
     InvariantChecks.checkNotNull(ir);
@@ -35,6 +35,11 @@ public final class Generator implements TranslatorHandler<Ir> {
     this.translator = translator;
   }
 
+  @Override
+  public boolean isIndependent() {
+    return true;
+  }
+
   @Override
   public void processIr(final Ir ir) {
     InvariantChecks.checkNotNull(ir);
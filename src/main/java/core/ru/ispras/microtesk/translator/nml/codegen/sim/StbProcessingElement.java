@@ -115,8 +115,7 @@ public final class StbProcessingElement implements StringTemplateBuilder {
       tMemory.add("alias", false);
     } else {
       if (MemoryAlias.Kind.LOCATION == alias.getKind()) {
-        PrinterLocation.addPE = false;
-        tMemory.add("alias", PrinterLocation.toString(alias.getLocation()));
+        tMemory.add("alias", PrinterLocation.toString(alias.getLocation(), false));
       } else {
         tMemory.add("alias", String.format("%s, %d, %d",
             alias.getName(), alias.getMin(), alias.getMax()));
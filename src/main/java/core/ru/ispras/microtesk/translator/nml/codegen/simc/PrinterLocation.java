@@ -28,9 +28,11 @@ public final class PrinterLocation {
 
   private PrinterLocation() {}
 
-  public static boolean addPE = true;
-
   public static String toString(final Location location) {
+    return toString(location, true);
+  }
+
+  public static String toString(final Location location, final boolean addPE) {
     InvariantChecks.checkNotNull(location);
     final StringBuilder sb = new StringBuilder();
 
@@ -61,7 +63,6 @@ public final class PrinterLocation {
       );
     }
 
-    addPE = true;
     return sb.toString();
   }
 }
@@ -39,6 +39,11 @@ public final class WhymlGenerator implements TranslatorHandler<Ir> {
     this.ir = null;
   }
 
+  @Override
+  public boolean isIndependent() {
+    return true;
+  }
+
   @Override
   public void processIr(final Ir ir) {
     InvariantChecks.checkNotNull(ir);
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.translator.nml.coverage;
+
+import ru.ispras.fortress.expression.Node;
+import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.SysUtils;
+import ru.ispras.microtesk.translator.mir.Mir2Node;
+import ru.ispras.microtesk.translator.mir.MirArchive;
+import ru.ispras.microtesk.translator.mir.MirContext;
+import ru.ispras.microtesk.translator.mir.MirPassDriver;
+import ru.ispras.microtesk.translator.mir.MirText;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link MirCache} keeps the MIR library of a model in memory and memoizes the results
+ * of optimizing linked instruction calls.
+ *
+ * <p>The MIR archive of a model is opened once and reopened (with the memoized results
+ * dropped) when its modification time or size changes, e.g. after the model is recompiled
+ * while a generation server is running. Functions stored in the archive are parsed
+ * on first access. Optimized MIR and its formulae are indexed by the text of the linked MIR,
+ * which describes the instruction hierarchy and the bound arguments.</p>
+ *
+ * <p>The cache is shared by generation sessions running in different threads.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+final class MirCache {
+  private static final Map<String, MirCache> instances = new ConcurrentHashMap<>();
+
+  private final MirArchive archive;
+  private final String stamp;
+  private final Map<String, Entry> entries;
+
+  public static MirCache get(final String modelName) {
+    InvariantChecks.checkNotNull(modelName);
+
+    final Path path = Paths.get(SysUtils.getHomeDir(), "gen", modelName + ".zip");
+    final String stamp = getStamp(path);
+
+    return instances.compute(modelName, (name, cache) ->
+        null != cache && cache.stamp.equals(stamp)
+            ? cache
+            : new MirCache(MirArchive.open(path), stamp));
+  }
+
+  private static String getStamp(final Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis() + ":" + Files.size(path);
+    } catch (final IOException e) {
+      // The archive is missing: it will be reopened when it appears.
+      return "";
+    }
+  }
+
+  public static void reset() {
+    instances.clear();
+  }
+
+  private MirCache(final MirArchive archive, final String stamp) {
+    InvariantChecks.checkNotNull(archive);
+    InvariantChecks.checkNotNull(stamp);
+
+    this.archive = archive;
+    this.stamp = stamp;
+    this.entries = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns the optimized version of the specified linked MIR.
+   *
+   * @param linked Linked MIR of an instruction call.
+   * @return Cache entry holding the optimized MIR and its formulae.
+   */
+  public Entry optimize(final MirContext linked) {
+    InvariantChecks.checkNotNull(linked);
+
+    final String key = MirText.toString(linked);
+    Entry entry = entries.get(key);
+
+    if (null == entry) {
+      final MirPassDriver driver =
+          MirPassDriver.newOptimizing().setStorage(archive.loadAll());
+
+      // Concurrent sessions may optimize the same call: the first result is kept.
+      final Entry newEntry = new Entry(driver.apply(linked));
+      entry = entries.putIfAbsent(key, newEntry);
+      if (null == entry) {
+        entry = newEntry;
+      }
+    }
+
+    return entry;
+  }
+
+  public static final class Entry {
+    private final MirContext mir;
+    private List<Node> formulae;
+
+    private Entry(final MirContext mir) {
+      this.mir = mir;
+      this.formulae = null;
+    }
+
+    public MirContext getMir() {
+      return mir;
+    }
+
+    public synchronized List<Node> getFormulae() {
+      if (null == formulae) {
+        final Mir2Node pass = new Mir2Node();
+        pass.apply(mir);
+        formulae = Collections.unmodifiableList(pass.getFormulae());
+      }
+
+      return formulae;
+    }
+  }
+}
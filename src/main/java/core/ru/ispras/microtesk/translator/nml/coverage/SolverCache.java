@@ -0,0 +1,440 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.translator.nml.coverage;
+
+import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.data.Data;
+import ru.ispras.fortress.data.DataTypeId;
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.fortress.expression.ExprTreeVisitorDefault;
+import ru.ispras.fortress.expression.ExprTreeWalker;
+import ru.ispras.fortress.expression.Node;
+import ru.ispras.fortress.expression.NodeValue;
+import ru.ispras.fortress.expression.NodeVariable;
+import ru.ispras.fortress.expression.Nodes;
+import ru.ispras.fortress.randomizer.Randomizer;
+import ru.ispras.fortress.solver.SolverId;
+import ru.ispras.fortress.solver.SolverResult;
+import ru.ispras.fortress.solver.constraint.ConstraintUtils;
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link SolverCache} is a persistent content-addressed cache of constraint solver results.
+ *
+ * <p>Each constraint is identified by a SHA-256 hash of its canonical text, which includes
+ * the formulae, the types of their variables and the names of the variables whose values are
+ * requested. Results are stored in separate files of the cache directory, so they can be reused
+ * across runs. When the number of cached constraints exceeds the limit, the least recently used
+ * files are deleted. Errors are never cached.</p>
+ *
+ * <p>Up to {@code maxSolutions} distinct solutions can be cached for a constraint. Until
+ * the limit is reached, each request for a satisfiable constraint invokes the solver with
+ * the known solutions excluded. After that, a solution is chosen with {@link Randomizer}.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+final class SolverCache {
+  private static final String FILE_SUFFIX = ".sol";
+
+  private static final String SAT = "SAT";
+  private static final String UNSAT = "UNSAT";
+  private static final String EXHAUSTED = "EXHAUSTED";
+  private static final String SOLUTION = "SOLUTION";
+
+  private final File directory;
+  private final int maxSize;
+  private final int maxSolutions;
+
+  private int size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Holds a solution (values of the requested variables) or errors.
+   */
+  public static final class Solution {
+    private final SolverResult.Status status;
+    private final Map<String, Data> values;
+    private final List<String> errors;
+
+    private Solution(
+        final SolverResult.Status status,
+        final Map<String, Data> values,
+        final List<String> errors) {
+      this.status = status;
+      this.values = values;
+      this.errors = errors;
+    }
+
+    public static Solution valueOf(final SolverResult result, final Set<String> names) {
+      InvariantChecks.checkNotNull(result);
+      InvariantChecks.checkNotNull(names);
+
+      final Map<String, Data> values = TestBase.valueMap(result.getVariables());
+      values.keySet().retainAll(names);
+
+      return new Solution(result.getStatus(), values, result.getErrors());
+    }
+
+    public SolverResult.Status getStatus() {
+      return status;
+    }
+
+    public Map<String, Data> getValues() {
+      return values;
+    }
+
+    public List<String> getErrors() {
+      return errors;
+    }
+  }
+
+  private static final class Entry {
+    private boolean sat = false;
+    private boolean exhausted = false;
+    private final List<Map<String, Data>> solutions = new ArrayList<>();
+  }
+
+  public SolverCache(final Path path, final int maxSize, final int maxSolutions) {
+    InvariantChecks.checkNotNull(path);
+    InvariantChecks.checkGreaterThanZero(maxSize);
+    InvariantChecks.checkGreaterThanZero(maxSolutions);
+
+    this.directory = path.toFile();
+    this.maxSize = maxSize;
+    this.maxSolutions = maxSolutions;
+
+    if (!directory.exists() && !directory.mkdirs()) {
+      Logger.warning("SolverCache: failed to create directory '%s'.", directory);
+    }
+
+    final File[] files = listFiles();
+    this.size = files.length;
+
+    this.hits = 0;
+    this.misses = 0;
+    this.evictions = 0;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public long getEvictions() {
+    return evictions;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public Solution solve(
+      final SolverId solverId,
+      final List<Node> formulae,
+      final Set<String> names) {
+    InvariantChecks.checkNotNull(solverId);
+    InvariantChecks.checkNotNull(formulae);
+    InvariantChecks.checkNotNull(names);
+
+    final String key = newKey(solverId, formulae, names);
+    final File file = new File(directory, key + FILE_SUFFIX);
+
+    final Entry entry = file.exists() ? readEntry(file) : null;
+    if (null != entry && isComplete(entry)) {
+      hits++;
+      file.setLastModified(System.currentTimeMillis());
+      return newSolution(entry);
+    }
+
+    misses++;
+
+    final List<Node> constraint = new ArrayList<>(formulae);
+    if (null != entry) {
+      for (final Map<String, Data> solution : entry.solutions) {
+        constraint.add(newExclusion(solution));
+      }
+    }
+
+    final SolverResult result =
+        solverId.getSolver().solve(ConstraintUtils.newConstraint(constraint));
+    final Solution solution = Solution.valueOf(result, names);
+
+    if (solution.getStatus() != SolverResult.Status.SAT
+        && solution.getStatus() != SolverResult.Status.UNSAT) {
+      return solution;
+    }
+
+    final Entry newEntry = null != entry ? entry : new Entry();
+    if (solution.getStatus() == SolverResult.Status.SAT) {
+      newEntry.sat = true;
+      newEntry.solutions.add(solution.getValues());
+    } else if (newEntry.sat) {
+      // No more solutions: the previously found ones are served.
+      newEntry.exhausted = true;
+    }
+
+    writeEntry(file, newEntry, null == entry);
+
+    // A freshly found solution is returned as is to diversify the test data.
+    return newEntry.exhausted ? newSolution(newEntry) : solution;
+  }
+
+  private boolean isComplete(final Entry entry) {
+    return !entry.sat || entry.exhausted || entry.solutions.size() >= maxSolutions;
+  }
+
+  private Solution newSolution(final Entry entry) {
+    if (!entry.sat) {
+      return new Solution(SolverResult.Status.UNSAT,
+          Collections.<String, Data>emptyMap(), Collections.<String>emptyList());
+    }
+
+    final Map<String, Data> values = entry.solutions.size() == 1
+        ? entry.solutions.get(0)
+        : Randomizer.get().choose(entry.solutions);
+
+    return new Solution(SolverResult.Status.SAT,
+        new java.util.HashMap<>(values), Collections.<String>emptyList());
+  }
+
+  private static Node newExclusion(final Map<String, Data> solution) {
+    final List<Node> operands = new ArrayList<>(solution.size());
+    for (final Map.Entry<String, Data> e : solution.entrySet()) {
+      final Data data = e.getValue();
+      operands.add(Nodes.noteq(new NodeVariable(e.getKey(), data.getType()), new NodeValue(data)));
+    }
+    return operands.size() == 1 ? operands.get(0) : Nodes.or(operands);
+  }
+
+  private static String newKey(
+      final SolverId solverId,
+      final List<Node> formulae,
+      final Set<String> names) {
+    final Set<String> variables = new TreeSet<>();
+    final ExprTreeWalker walker = new ExprTreeWalker(new ExprTreeVisitorDefault() {
+      @Override
+      public void onVariable(final NodeVariable variable) {
+        variables.add(variable.getName() + ":" + variable.getDataType());
+      }
+    });
+    walker.visit(formulae);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append(solverId.name()).append('\n');
+
+    for (final Node node : formulae) {
+      sb.append(node).append('\n');
+    }
+
+    sb.append(variables).append('\n');
+    sb.append(new TreeSet<>(names)).append('\n');
+
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      final byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+
+      final StringBuilder hex = new StringBuilder(2 * hash.length);
+      for (final byte b : hash) {
+        hex.append(String.format("%02x", b & 0xff));
+      }
+
+      return hex.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Entry readEntry(final File file) {
+    final Entry entry = new Entry();
+    Map<String, Data> solution = null;
+
+    try (final BufferedReader reader =
+             Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+      String line;
+      while (null != (line = reader.readLine())) {
+        if (line.isEmpty()) {
+          continue;
+        }
+
+        final String[] tokens = line.split(" ");
+        switch (tokens[0]) {
+          case SAT:
+            entry.sat = true;
+            break;
+
+          case UNSAT:
+            entry.sat = false;
+            break;
+
+          case EXHAUSTED:
+            entry.exhausted = true;
+            break;
+
+          case SOLUTION:
+            solution = new java.util.HashMap<>();
+            entry.solutions.add(solution);
+            break;
+
+          default:
+            InvariantChecks.checkNotNull(solution);
+            InvariantChecks.checkTrue(tokens.length == 3, line);
+            solution.put(tokens[0], parseData(tokens[1], tokens[2]));
+            break;
+        }
+      }
+    } catch (final Exception e) {
+      Logger.warning("SolverCache: failed to read '%s': %s", file, e.getMessage());
+      return null;
+    }
+
+    return entry;
+  }
+
+  private void writeEntry(final File file, final Entry entry, final boolean isNew) {
+    for (final Map<String, Data> solution : entry.solutions) {
+      for (final Data data : solution.values()) {
+        if (null == formatData(data)) {
+          // Values of this type are not supported by the cache.
+          return;
+        }
+      }
+    }
+
+    // The entry is written to a temporary file and then moved, so that generators running
+    // concurrently with the same cache directory never read a partially written entry.
+    final File tempFile = new File(file.getPath() + ".tmp" + Thread.currentThread().getId());
+    try (final PrintWriter writer = new PrintWriter(
+             Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8))) {
+      writer.println(entry.sat ? SAT : UNSAT);
+
+      if (entry.exhausted) {
+        writer.println(EXHAUSTED);
+      }
+
+      for (final Map<String, Data> solution : entry.solutions) {
+        writer.println(SOLUTION);
+        for (final Map.Entry<String, Data> e : solution.entrySet()) {
+          writer.println(e.getKey() + " " + formatData(e.getValue()));
+        }
+      }
+    } catch (final IOException e) {
+      Logger.warning("SolverCache: failed to write '%s': %s", file, e.getMessage());
+      tempFile.delete();
+      return;
+    }
+
+    try {
+      Files.move(tempFile.toPath(), file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      Logger.warning("SolverCache: failed to write '%s': %s", file, e.getMessage());
+      tempFile.delete();
+      return;
+    }
+
+    if (isNew && ++size > maxSize) {
+      evict();
+    }
+  }
+
+  private static String formatData(final Data data) {
+    final DataTypeId typeId = data.getType().getTypeId();
+
+    if (typeId == DataTypeId.BIT_VECTOR) {
+      final BitVector value = data.getBitVector();
+      return String.format("%d %s", value.getBitSize(), value.toHexString());
+    }
+
+    if (typeId == DataTypeId.LOGIC_BOOLEAN) {
+      return String.format("bool %s", data.getBoolean());
+    }
+
+    return null;
+  }
+
+  private static Data parseData(final String type, final String value) {
+    if ("bool".equals(type)) {
+      return Data.newBoolean(Boolean.parseBoolean(value));
+    }
+
+    final int bitSize = Integer.parseInt(type);
+    return Data.newBitVector(BitVector.valueOf(value, 16, bitSize));
+  }
+
+  private File[] listFiles() {
+    final File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+    return null != files ? files : new File[0];
+  }
+
+  private void evict() {
+    final File[] files = listFiles();
+
+    // Evicts the least recently used entries down to 90% of the limit.
+    final int target = Math.max(0, files.length - (maxSize - maxSize / 10));
+    if (0 == target) {
+      size = files.length;
+      return;
+    }
+
+    final List<File> sorted = new ArrayList<>(files.length);
+    Collections.addAll(sorted, files);
+    Collections.sort(sorted, new Comparator<File>() {
+      @Override
+      public int compare(final File first, final File second) {
+        return Long.compare(first.lastModified(), second.lastModified());
+      }
+    });
+
+    int deleted = 0;
+    for (final File file : sorted.subList(0, target)) {
+      if (file.delete()) {
+        deleted++;
+      }
+    }
+
+    evictions += deleted;
+    size = files.length - deleted;
+  }
+
+  public String getStatisticsText() {
+    final long total = hits + misses;
+    final long ratio = total > 0 ? (hits * 100) / total : 0;
+    return String.format("Solver cache hits/misses/evictions: %d/%d/%d (%d%% hit rate)",
+        hits, misses, evictions, ratio);
+  }
+}
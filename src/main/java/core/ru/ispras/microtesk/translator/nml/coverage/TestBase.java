@@ -35,11 +35,10 @@ import ru.ispras.fortress.util.InvariantChecks;
 import ru.ispras.fortress.util.Pair;
 import ru.ispras.microtesk.SysUtils;
 import ru.ispras.microtesk.translator.mir.Mir2Node;
-import ru.ispras.microtesk.translator.mir.MirArchive;
 import ru.ispras.microtesk.translator.mir.MirBuilder;
 import ru.ispras.microtesk.translator.mir.MirContext;
-import ru.ispras.microtesk.translator.mir.MirPassDriver;
 import ru.ispras.microtesk.translator.mir.MirText;
+import ru.ispras.microtesk.utils.Session;
 import ru.ispras.testbase.TestBaseContext;
 import ru.ispras.testbase.TestBaseQuery;
 import ru.ispras.testbase.TestBaseQueryResult;
@@ -58,6 +57,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -67,22 +67,37 @@ public final class TestBase {
   private final Path outputDir;
   private final ru.ispras.testbase.TestBase testBase;
 
-  private static TestBase instance = null;
-  private static SolverId solverId = SolverId.CVC4_TEXT;
+  private SolverId solverId = SolverId.CVC4_TEXT;
+  private SolverCache solverCache = null;
+
+  private static final Session.Key<TestBase> KEY = Session.newKey(TestBase::new);
 
   public static TestBase get() {
-    if (null == instance) {
-      instance = new TestBase();
-    }
-    return instance;
+    return Session.get().get(KEY);
   }
 
   public static void setSolverId(final SolverId value) {
     InvariantChecks.checkNotNull(value);
-    solverId = value;
+    get().solverId = value;
     ru.ispras.testbase.TestBase.setSolverId(value);
   }
 
+  /**
+   * Enables the persistent cache of solver results.
+   *
+   * @param path Cache directory or {@code null} to disable the cache.
+   * @param maxSize Maximum number of cached constraints.
+   * @param maxSolutions Maximum number of solutions cached for a constraint.
+   */
+  public static void setSolverCache(final Path path, final int maxSize, final int maxSolutions) {
+    get().solverCache = null != path ? new SolverCache(path, maxSize, maxSolutions) : null;
+  }
+
+  public static String getSolverCacheStatistics() {
+    final SolverCache solverCache = get().solverCache;
+    return null != solverCache ? solverCache.getStatisticsText() : null;
+  }
+
   private TestBase(final String path) {
     this.outputDir = Paths.get(path);
     this.testBase = ru.ispras.testbase.TestBase.get();
@@ -102,9 +117,16 @@ public final class TestBase {
     try {
       final String testCase = (String) query.getContext().get(TestBaseContext.TESTCASE);
       final MirInvoke invoke = buildMir(query);
-      final Constraint c = invoke.newConstraint(testCase);
+      final List<Node> formulae = invoke.newFormulae(testCase);
+      final Set<String> names = query.getBindings().keySet();
+
+      if (null != solverCache) {
+        return forwardResult(query, solverCache.solve(solverId, formulae, names));
+      }
+
+      final Constraint c = ConstraintUtils.newConstraint(formulae);
       final SolverResult result = solverId.getSolver().solve(c);
-      return forwardResult(query, result);
+      return forwardResult(query, SolverCache.Solution.valueOf(result, names));
     } catch (final Throwable e) {
       final List<String> errors =
           new java.util.ArrayList<>(rc.getErrors().size() + 1);
@@ -121,14 +143,12 @@ public final class TestBase {
   private static MirInvoke buildMir(final TestBaseQuery query) {
     final String modelName =
         (String) query.getContext().get(TestBaseContext.PROCESSOR);
-    final Path path = Paths.get(SysUtils.getHomeDir(), "gen", modelName + ".zip");
-    final MirArchive archive = MirArchive.open(path);
+    final MirCache cache = MirCache.get(modelName);
 
     final MirInvoke invoke = MirLinker.invoke(query);
-    final MirPassDriver mirc =
-        MirPassDriver.newOptimizing().setStorage(archive.loadAll());
+    final MirCache.Entry optimized = cache.optimize(invoke.mir);
 
-    return new MirInvoke(mirc.apply(invoke.mir), invoke.args);
+    return new MirInvoke(optimized.getMir(), optimized.getFormulae(), invoke.args);
   }
 
   private static boolean isOrderedSubset(
@@ -161,7 +181,7 @@ public final class TestBase {
   }
 
   private static TestBaseQueryResult forwardResult(
-      final TestBaseQuery query, final SolverResult result) {
+      final TestBaseQuery query, final SolverCache.Solution result) {
     switch (result.getStatus()) {
     default:
       return TestBaseQueryResult.success(EmptyIterator.<TestData>get());
@@ -170,8 +190,7 @@ public final class TestBase {
       return TestBaseQueryResult.reportErrors(result.getErrors());
 
     case SAT:
-      final Map<String, Data> values = valueMap(result.getVariables());
-      values.keySet().retainAll(query.getBindings().keySet());
+      final Map<String, Data> values = result.getValues();
       final Map<String, Object> valuesOpaque =
           new java.util.HashMap<>(values.size());
       for (final Map.Entry<String, Data> entry : values.entrySet()) {
@@ -280,18 +299,24 @@ public final class TestBase {
 
   private static final class MirInvoke {
     final MirContext mir;
+    final List<Node> formulae;
     final List<Node> args;
 
     MirInvoke(final MirContext mir, final List<Node> args) {
+      this(mir, null, args);
+    }
+
+    MirInvoke(final MirContext mir, final List<Node> formulae, final List<Node> args) {
       this.mir = mir;
+      this.formulae = formulae;
       this.args = args;
     }
 
-    Constraint newConstraint(final String qualifier) {
+    List<Node> newFormulae(final String qualifier) {
       final List<Node> nodes = bindArguments(this.args);
-      nodes.addAll(asNodes(mir));
+      nodes.addAll(null != formulae ? formulae : asNodes(mir));
       collectConstraints(qualifier, nodes, nodes);
-      return ConstraintUtils.newConstraint(nodes);
+      return nodes;
     }
 
     static void collectConstraints(
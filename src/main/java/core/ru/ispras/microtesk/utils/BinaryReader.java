@@ -14,77 +14,117 @@
 
 package ru.ispras.microtesk.utils;
 
-import org.apache.commons.lang.ArrayUtils;
 import ru.ispras.fortress.data.types.bitvector.BitVector;
 import ru.ispras.fortress.util.InvariantChecks;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * {@link BinaryReader} reads data items from a binary file mapped into memory.
+ *
+ * <p>The reader can move back to any position that has been read before. Slices of the file
+ * can be read independently by different threads.</p>
+ *
+ * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
+ */
 public final class BinaryReader {
-  private final InputStream inputStream;
+  private final ByteBuffer buffer;
   private final boolean bigEndian;
-  private boolean open;
-
-  private final byte[] buffer = new byte[1024];
-  private int lastBytesRead = 0;
-  private int position = 0;
 
   public BinaryReader(final File file, final boolean bigEndian) throws IOException {
     InvariantChecks.checkNotNull(file);
 
-    this.inputStream = new FileInputStream(file);
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(String.format("The %s file is too large.", file.getPath()));
+      }
+
+      // The mapping remains valid after the channel is closed.
+      this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    this.bigEndian = bigEndian;
+  }
+
+  private BinaryReader(final ByteBuffer buffer, final boolean bigEndian) {
+    this.buffer = buffer;
     this.bigEndian = bigEndian;
-    this.open = true;
   }
 
+  /**
+   * Returns the file size in bytes (or the size of the slice).
+   *
+   * @return Size in bytes.
+   */
+  public int getSize() {
+    return buffer.limit();
+  }
+
+  /**
+   * Returns the current position (the number of bytes read).
+   *
+   * @return Current position.
+   */
+  public int getPosition() {
+    return buffer.position();
+  }
+
+  /**
+   * Returns a reader of the specified part of the file. The new reader has its own position.
+   *
+   * @param start Start position (inclusive).
+   * @param end End position (exclusive).
+   * @return Reader of the slice.
+   */
+  public BinaryReader slice(final int start, final int end) {
+    InvariantChecks.checkBoundsInclusive(start, end);
+    InvariantChecks.checkBoundsInclusive(end, getSize());
+
+    final ByteBuffer slice = buffer.duplicate();
+    slice.limit(end).position(start);
+
+    return new BinaryReader(slice.slice(), bigEndian);
+  }
+
+  /**
+   * Reads a data item of the specified size. If there are fewer bytes left, the data item
+   * is padded with zeros.
+   *
+   * @param byteSize Data item size in bytes.
+   * @return Data item or {@code null} if the end of the file has been reached.
+   */
   public BitVector read(final int byteSize) {
-    InvariantChecks.checkBounds(byteSize, buffer.length);
-
-    if (position + byteSize > lastBytesRead) {
-      try {
-        lastBytesRead = inputStream.read(buffer, 0, buffer.length);
-        if (lastBytesRead <= 0) {
-          return null;
-        }
-        position = 0;
-      } catch (final IOException e) {
-        throw new IllegalStateException(e);
-      }
+    InvariantChecks.checkGreaterThanZero(byteSize);
+
+    final int remaining = buffer.remaining();
+    if (0 == remaining) {
+      return null;
     }
 
-    final byte[] bytes = Arrays.copyOfRange(buffer, position, position + byteSize);
+    final byte[] bytes = new byte[byteSize];
+    final int bytesRead = Math.min(byteSize, remaining);
 
     if (bigEndian) {
-      ArrayUtils.reverse(bytes);
+      for (int index = byteSize - 1; index >= byteSize - bytesRead; index--) {
+        bytes[index] = buffer.get();
+      }
+    } else {
+      buffer.get(bytes, 0, bytesRead);
     }
 
-    final BitVector data = BitVector.valueOf(bytes, byteSize * 8);
-    position += byteSize;
-
-    return data;
+    return BitVector.valueOf(bytes, byteSize * 8);
   }
 
   public void close() {
-    if (!open) {
-      return;
-    }
-
-    if (null != inputStream) {
-      try {
-        inputStream.close();
-        open = false;
-      } catch (final IOException e) {
-        throw new IllegalStateException(e);
-      }
-    }
+    // Nothing to do: the mapping is released by the garbage collector.
   }
 
   public void retreat(final int byteSize) {
-    InvariantChecks.checkBoundsInclusive(byteSize, position);
-    position -= byteSize;
+    InvariantChecks.checkBoundsInclusive(byteSize, buffer.position());
+    buffer.position(buffer.position() - byteSize);
   }
 }
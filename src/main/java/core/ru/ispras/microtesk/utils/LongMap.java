@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.utils;
+
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.util.Arrays;
+
+/**
+ * The {@link LongMap} class is an open-addressing hash table with primitive {@code long} keys.
+ * Unlike {@link java.util.HashMap}, it does not box keys, so lookups do not allocate memory.
+ * {@code null} values are not allowed.
+ *
+ * @param <T> Value type.
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class LongMap<T> {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] keys;
+  private Object[] values;
+  private int size;
+
+  public LongMap() {
+    this.keys = new long[INITIAL_CAPACITY];
+    this.values = new Object[INITIAL_CAPACITY];
+    this.size = 0;
+  }
+
+  /**
+   * Creates a shallow copy of the specified map. Values are shared.
+   *
+   * @param other Map to be copied.
+   */
+  public LongMap(final LongMap<T> other) {
+    InvariantChecks.checkNotNull(other);
+
+    this.keys = other.keys.clone();
+    this.values = other.values.clone();
+    this.size = other.size;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public T get(final long key) {
+    final int mask = keys.length - 1;
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      final Object value = values[index];
+      if (null == value || keys[index] == key) {
+        return (T) value;
+      }
+    }
+  }
+
+  public void put(final long key, final T value) {
+    InvariantChecks.checkNotNull(value);
+
+    final int mask = keys.length - 1;
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      if (null == values[index]) {
+        keys[index] = key;
+        values[index] = value;
+
+        if (++size * 2 > keys.length) {
+          resize(keys.length * 2);
+        }
+        return;
+      }
+
+      if (keys[index] == key) {
+        values[index] = value;
+        return;
+      }
+    }
+  }
+
+  public boolean containsKey(final long key) {
+    return null != get(key);
+  }
+
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  private void resize(final int capacity) {
+    final long[] oldKeys = keys;
+    final Object[] oldValues = values;
+
+    keys = new long[capacity];
+    values = new Object[capacity];
+
+    final int mask = capacity - 1;
+    for (int oldIndex = 0; oldIndex < oldKeys.length; oldIndex++) {
+      if (null != oldValues[oldIndex]) {
+        int index = hash(oldKeys[oldIndex]) & mask;
+        while (null != values[index]) {
+          index = (index + 1) & mask;
+        }
+
+        keys[index] = oldKeys[oldIndex];
+        values[index] = oldValues[oldIndex];
+      }
+    }
+  }
+
+  private static int hash(final long key) {
+    final long value = key * 0x9E3779B97F4A7C15L;
+    return (int) (value ^ (value >>> 32));
+  }
+}
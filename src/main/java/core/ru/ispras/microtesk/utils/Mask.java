@@ -28,44 +28,103 @@ import java.util.regex.Pattern;
 /**
  * The {@link Mask} class implements masks applied to bit vectors.
  *
+ * <p>Masks are compiled into bytes of significant bits and their values. This allows
+ * checking a bit vector without converting it into a string.</p>
+ *
  * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
  */
 public final class Mask {
   // First: mask text, second: true for binary format, false for hexadecimal.
   private final List<Pair<String, Boolean>> masks;
+  private final List<CompiledMask> compiledMasks;
+
+  private static final class CompiledMask {
+    private final int bitSize;
+    private final byte[] care;
+    private final byte[] value;
+
+    private CompiledMask(final String text, final boolean isBinary) {
+      final int digitSize = isBinary ? 1 : 4;
+
+      this.bitSize = text.length() * digitSize;
+      this.care = new byte[(bitSize + Byte.SIZE - 1) / Byte.SIZE];
+      this.value = new byte[care.length];
+
+      for (int index = 0; index < text.length(); ++index) {
+        final char ch = text.charAt(index);
+        if (ch == 'X') {
+          continue;
+        }
+
+        final int digit = Character.digit(ch, 16);
+        final int lowBit = bitSize - (index + 1) * digitSize;
+
+        for (int bit = 0; bit < digitSize; ++bit) {
+          final int position = lowBit + bit;
+          final int mask = 1 << (position % Byte.SIZE);
+
+          care[position / Byte.SIZE] |= mask;
+          if (0 != (digit & (1 << bit))) {
+            value[position / Byte.SIZE] |= mask;
+          }
+        }
+      }
+    }
+
+    private boolean isMatch(final BitVector data) {
+      for (int index = 0; index < care.length; ++index) {
+        if (0 != ((data.getByte(index) ^ value[index]) & care[index])) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
 
   private Mask(final List<Pair<String, Boolean>> masks) {
     InvariantChecks.checkNotEmpty(masks);
     this.masks = masks;
+    this.compiledMasks = new ArrayList<>(masks.size());
+
+    for (final Pair<String, Boolean> mask : masks) {
+      compiledMasks.add(new CompiledMask(mask.first, mask.second));
+    }
   }
 
   public boolean isMatch(final BitVector value) {
     InvariantChecks.checkNotNull(value);
 
-    String binText = null;
-    String hexText = null;
+    final int bitSize = value.getBitSize();
+    for (int index = 0; index < masks.size(); ++index) {
+      final CompiledMask compiledMask = compiledMasks.get(index);
 
-    for (final Pair<String, Boolean> mask: masks) {
-      final String maskText = mask.first;
-      final boolean isBinary = mask.second;
-
-      if (isBinary) {
-        if (null == binText) {
-          binText = value.toBinString();
+      if (bitSize == compiledMask.bitSize) {
+        if (compiledMask.isMatch(value)) {
+          return true;
         }
-      } else {
-        if (null == hexText) {
-          final int hexLenght = value.getBitSize() / 4 + value.getBitSize() % 4;
-          hexText = value.toHexString();
-
-          // Need all hexadecimal digits including trailing zeros.
-          if (hexLenght != hexText.length()) {
-            hexText = String.format("%0" + (hexLenght - hexText.length()) + "d%s", 0, hexText);
-          }
+      } else if (!masks.get(index).second && bitSize % 4 != 0) {
+        // The text of values that do not consist of whole hexadecimal digits
+        // is padded in a special way: such values are matched as strings.
+        if (testMask(masks.get(index).first, toHexText(value))) {
+          return true;
         }
       }
+    }
 
-      if (testMask(maskText, isBinary ? binText : hexText)) {
+    return false;
+  }
+
+  /**
+   * Checks whether the mask can match bit vectors of the specified size.
+   *
+   * @param bitSize Bit vector size.
+   * @return {@code true} if there is a mask applicable to bit vectors of the given size.
+   */
+  public boolean isApplicable(final int bitSize) {
+    for (int index = 0; index < masks.size(); ++index) {
+      if (bitSize == compiledMasks.get(index).bitSize
+          || (!masks.get(index).second && bitSize % 4 != 0)) {
         return true;
       }
     }
@@ -73,6 +132,18 @@ public final class Mask {
     return false;
   }
 
+  private static String toHexText(final BitVector value) {
+    final int hexLenght = value.getBitSize() / 4 + value.getBitSize() % 4;
+    final String hexText = value.toHexString();
+
+    // Need all hexadecimal digits including trailing zeros.
+    if (hexLenght != hexText.length()) {
+      return String.format("%0" + (hexLenght - hexText.length()) + "d%s", 0, hexText);
+    }
+
+    return hexText;
+  }
+
   private static boolean testMask(final String mask, final String value) {
     if (mask.length() != value.length()) {
       return false;
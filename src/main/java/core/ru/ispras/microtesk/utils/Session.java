@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.utils;
+
+import ru.ispras.fortress.util.InvariantChecks;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link Session} holds the objects that belong to a single run of a tool (for example,
+ * generation of test programs for a test template).
+ *
+ * <p>Objects that used to be process-wide singletons are stored in a session and accessed
+ * by keys. A session is bound to the thread that performs the run, so several runs can be
+ * performed concurrently in different threads of the same process. Threads that do the work
+ * of a run on its behalf must be bound to its session with {@link #bind(Session)}.</p>
+ *
+ * <p>Each thread has a default session, which is used until another one is opened.
+ * Sessions are not synchronized: threads sharing a session must not access it concurrently.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class Session {
+  /**
+   * {@link Key} identifies an object stored in a session.
+   *
+   * @param <T> Object type.
+   */
+  public static final class Key<T> {
+    private final int index;
+    private final Supplier<T> factory;
+
+    private Key(final int index, final Supplier<T> factory) {
+      this.index = index;
+      this.factory = factory;
+    }
+  }
+
+  private static final AtomicInteger keyCount = new AtomicInteger();
+  private static final ThreadLocal<Session> current = ThreadLocal.withInitial(Session::new);
+
+  private Object[] objects;
+
+  private Session() {
+    this.objects = new Object[keyCount.get()];
+  }
+
+  /**
+   * Creates a new key.
+   *
+   * @param <T> Object type.
+   * @param factory Creates an object when it is requested for the first time in a session
+   *        or {@code null} if there is no default object.
+   * @return New key.
+   */
+  public static <T> Key<T> newKey(final Supplier<T> factory) {
+    return new Key<>(keyCount.getAndIncrement(), factory);
+  }
+
+  /**
+   * Returns the session the current thread is bound to.
+   *
+   * @return Current session.
+   */
+  public static Session get() {
+    return current.get();
+  }
+
+  /**
+   * Creates a new session and binds it to the current thread.
+   *
+   * @return New session.
+   */
+  public static Session open() {
+    final Session session = new Session();
+    current.set(session);
+    return session;
+  }
+
+  /**
+   * Binds the current thread to the specified session.
+   *
+   * @param session Session to be used by the current thread.
+   */
+  public static void bind(final Session session) {
+    InvariantChecks.checkNotNull(session);
+    current.set(session);
+  }
+
+  /**
+   * Returns the object stored in the session. If there is no such object and the key has
+   * a factory, a new object is created and stored.
+   *
+   * @param <T> Object type.
+   * @param key Object key.
+   * @return Object or {@code null} if it is not set.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(final Key<T> key) {
+    InvariantChecks.checkNotNull(key);
+
+    Object object = key.index < objects.length ? objects[key.index] : null;
+    if (null == object && null != key.factory) {
+      object = key.factory.get();
+      set(key, (T) object);
+    }
+
+    return (T) object;
+  }
+
+  /**
+   * Stores the object in the session.
+   *
+   * @param <T> Object type.
+   * @param key Object key.
+   * @param object Object or {@code null} to remove the object.
+   */
+  public <T> void set(final Key<T> key, final T object) {
+    InvariantChecks.checkNotNull(key);
+
+    if (key.index >= objects.length) {
+      objects = Arrays.copyOf(objects, keyCount.get());
+    }
+
+    objects[key.index] = object;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.utils;
+
+import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.randomizer.RandomGenerator;
+import ru.ispras.fortress.randomizer.Randomizer;
+
+import java.util.Random;
+
+/**
+ * {@link SessionRandomGenerator} makes the Fortress {@link Randomizer} use a separate random
+ * generator in each {@link Session}.
+ *
+ * <p>{@link Randomizer} is a process-wide singleton, which is used by the generator and by
+ * the libraries it relies on. When installed, this class becomes its generator and forwards
+ * all requests to the generator of the current session. Thus, seeding the randomizer affects
+ * only the current session, and concurrent runs with the same seed produce the same results
+ * as sequential ones.</p>
+ *
+ * <p>Session generators are instances of the original generator class of the randomizer,
+ * so a seed produces the same sequence of values as before.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class SessionRandomGenerator implements RandomGenerator {
+  private static SessionRandomGenerator instance = null;
+
+  private final Class<? extends RandomGenerator> generatorClass;
+  private final Session.Key<RandomGenerator> key;
+
+  /**
+   * Makes {@link Randomizer} use session generators. Calling the method again has no effect.
+   */
+  public static synchronized void install() {
+    if (null == instance) {
+      final Randomizer randomizer = Randomizer.get();
+      instance = new SessionRandomGenerator(randomizer.getGenerator().getClass());
+      randomizer.setGenerator(instance);
+    }
+  }
+
+  private SessionRandomGenerator(final Class<? extends RandomGenerator> generatorClass) {
+    this.generatorClass = generatorClass;
+    this.key = Session.newKey(this::newGenerator);
+  }
+
+  private RandomGenerator newGenerator() {
+    try {
+      return generatorClass.getDeclaredConstructor().newInstance();
+    } catch (final ReflectiveOperationException e) {
+      Logger.warning("Failed to create a random generator of class %s: %s",
+          generatorClass.getName(), e.getMessage());
+      return new DefaultGenerator();
+    }
+  }
+
+  private RandomGenerator getGenerator() {
+    return Session.get().get(key);
+  }
+
+  @Override
+  public void seed(final int seed) {
+    getGenerator().seed(seed);
+  }
+
+  @Override
+  public int next() {
+    return getGenerator().next();
+  }
+
+  /**
+   * Generator used when the original generator class cannot be instantiated.
+   */
+  private static final class DefaultGenerator implements RandomGenerator {
+    private final Random random = new Random();
+
+    @Override
+    public void seed(final int seed) {
+      random.setSeed(seed);
+    }
+
+    @Override
+    public int next() {
+      return random.nextInt();
+    }
+  }
+}
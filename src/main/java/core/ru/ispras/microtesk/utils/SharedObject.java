@@ -50,7 +50,7 @@ public abstract class SharedObject<T extends SharedObject<T>> {
   /**
    * Table shared copies. Key is original object, value is its shared copy.
    */
-  private static Map<Object, Object> sharedObjects = null;
+  private static final Session.Key<Map<Object, Object>> SHARED_OBJECTS = Session.newKey(null);
 
   /**
    * Constructs a new shared object.
@@ -79,7 +79,7 @@ public abstract class SharedObject<T extends SharedObject<T>> {
    * Frees all shared objects.
    */
   public static void freeSharedCopies() {
-    sharedObjects = null;
+    Session.get().set(SHARED_OBJECTS, null);
   }
 
   /**
@@ -194,8 +194,10 @@ public abstract class SharedObject<T extends SharedObject<T>> {
     InvariantChecks.checkNotNull(original);
     InvariantChecks.checkNotNull(copy);
 
+    Map<Object, Object> sharedObjects = Session.get().get(SHARED_OBJECTS);
     if (null == sharedObjects) {
       sharedObjects = new IdentityHashMap<>();
+      Session.get().set(SHARED_OBJECTS, sharedObjects);
     }
 
     sharedObjects.put(original, copy);
@@ -213,6 +215,7 @@ public abstract class SharedObject<T extends SharedObject<T>> {
   private static <U> U getSharedCopyFor(final Object original) {
     InvariantChecks.checkNotNull(original);
 
+    final Map<Object, Object> sharedObjects = Session.get().get(SHARED_OBJECTS);
     if (null == sharedObjects) {
       return null;
     }
@@ -21,16 +21,62 @@ import java.math.BigInteger;
 import java.util.Map;
 import java.util.TreeMap;
 
+/**
+ * The {@link SparseArray} class implements an array that stores only elements that have
+ * been set.
+ *
+ * <p>Arrays of up to {@code 2^16} elements (e.g. sets of caches and TLBs) are backed by plain
+ * Java arrays indexed by {@code int}. Longer arrays are backed by maps.</p>
+ *
+ * <p>An array can be created as an overlay of another array (base). The overlay shares all
+ * elements with the base and stores only elements that have been set in it. Creating an overlay
+ * costs O(1) for long arrays and O(length) for short ones, which allows using it as a snapshot.
+ * The base must not be modified while the overlay is used.</p>
+ *
+ * @param <T> Element type.
+ *
+ * @author <a href="mailto:andrewt@ispras.ru">Andrei Tatarnikov</a>
+ */
 public class SparseArray<T> {
+  /** Arrays that are not longer than this are backed by Java arrays. */
+  private static final int MAX_DENSE_LENGTH = 1 << 16;
+
   private final Map<BigInteger, T> indexMap;
+  private final T[] elements;
   private final BigInteger arrayLength;
+  private final SparseArray<T> base;
 
   public SparseArray(final BigInteger length) {
     InvariantChecks.checkNotNull(length);
     InvariantChecks.checkGreaterThan(length, BigInteger.ZERO);
 
-    this.indexMap = new TreeMap<>();
+    this.indexMap = isDense(length) ? null : new TreeMap<>();
+    this.elements = isDense(length) ? newElements(length.intValue()) : null;
     this.arrayLength = length;
+    this.base = null;
+  }
+
+  /**
+   * Creates an overlay of the specified array.
+   *
+   * @param base Array to be overlaid.
+   */
+  public SparseArray(final SparseArray<T> base) {
+    InvariantChecks.checkNotNull(base);
+
+    this.indexMap = null != base.indexMap ? new TreeMap<>() : null;
+    this.elements = null != base.elements ? newElements(base.elements.length) : null;
+    this.arrayLength = base.arrayLength;
+    this.base = base;
+  }
+
+  private static boolean isDense(final BigInteger length) {
+    return length.compareTo(BigInteger.valueOf(MAX_DENSE_LENGTH)) <= 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T[] newElements(final int length) {
+    return (T[]) new Object[length];
   }
 
   public BigInteger length() {
@@ -40,20 +86,93 @@ public class SparseArray<T> {
   public T get(final BitVector index) {
     InvariantChecks.checkNotNull(index);
 
+    if (null != elements) {
+      return get(getDenseIndex(index));
+    }
+
     final BigInteger indexValue = index.bigIntegerValue(false);
     InvariantChecks.checkGreaterThan(arrayLength, indexValue);
 
-    return indexMap.get(indexValue);
+    return get(indexValue);
+  }
+
+  private T get(final int index) {
+    final T value = elements[index];
+    return null != value || null == base ? value : base.get(index);
+  }
+
+  private T get(final BigInteger index) {
+    final T value = indexMap.get(index);
+    return null != value || null == base ? value : base.get(index);
+  }
+
+  private int getDenseIndex(final BitVector index) {
+    final int indexValue = index.getBitSize() < Integer.SIZE
+        ? index.intValue()
+        : index.bigIntegerValue(false).min(arrayLength).intValue();
+
+    InvariantChecks.checkBounds(indexValue, elements.length);
+    return indexValue;
+  }
+
+  /**
+   * Checks whether the element with the specified index is shared with the base array,
+   * i.e. it has not been set in this array.
+   *
+   * @param index Element index.
+   * @return {@code true} if the element is taken from the base array or {@code false} otherwise.
+   */
+  public boolean isShared(final BitVector index) {
+    InvariantChecks.checkNotNull(index);
+
+    if (null != elements) {
+      final int indexValue = getDenseIndex(index);
+      return null != base && null == elements[indexValue] && null != base.get(indexValue);
+    }
+
+    final BigInteger indexValue = index.bigIntegerValue(false);
+    return null != base && !indexMap.containsKey(indexValue) && null != base.get(indexValue);
   }
 
   public T set(final BitVector index, final T value) {
     InvariantChecks.checkNotNull(index);
     InvariantChecks.checkNotNull(value);
 
+    if (null != elements) {
+      final int indexValue = getDenseIndex(index);
+      final T previous = elements[indexValue];
+
+      elements[indexValue] = value;
+      return null != previous || null == base ? previous : base.get(indexValue);
+    }
+
     final BigInteger indexValue = index.bigIntegerValue(false);
     InvariantChecks.checkGreaterThan(arrayLength, indexValue);
 
-    return indexMap.put(indexValue, value);
+    final T previous = indexMap.put(indexValue, value);
+    return null != previous || null == base ? previous : base.get(indexValue);
+  }
+
+  private Map<BigInteger, T> getAll() {
+    if (null != elements) {
+      final Map<BigInteger, T> result = new TreeMap<>();
+      for (int index = 0; index < elements.length; index++) {
+        final T value = get(index);
+        if (null != value) {
+          result.put(BigInteger.valueOf(index), value);
+        }
+      }
+      return result;
+    }
+
+    if (null == base) {
+      return indexMap;
+    }
+
+    final Map<BigInteger, T> result = new TreeMap<>(base.getAll());
+    result.putAll(indexMap);
+
+    return result;
   }
 
   @Override
@@ -61,7 +180,7 @@ public class SparseArray<T> {
     final StringBuilder sb = new StringBuilder();
     sb.append('[');
 
-    for (final Map.Entry<BigInteger, T> e : indexMap.entrySet()) {
+    for (final Map.Entry<BigInteger, T> e : getAll().entrySet()) {
       sb.append(System.lineSeparator());
       sb.append(String.format("%d: %s", e.getKey(), e.getValue()));
     }
@@ -33,6 +33,7 @@ import ru.ispras.microtesk.test.engine.Engine;
 import ru.ispras.microtesk.test.engine.InitializerMaker;
 import ru.ispras.microtesk.translator.Translator;
 import ru.ispras.microtesk.translator.codegen.PackageInfo;
+import ru.ispras.microtesk.utils.Session;
 import ru.ispras.testbase.generator.DataGenerator;
 
 import java.util.LinkedHashMap;
@@ -45,12 +46,18 @@ import java.util.Map;
  * @author <a href="mailto:kamkin@ispras.ru">Alexander Kamkin</a>
  */
 public final class MmuPlugin implements Plugin {
-  private static MmuSubsystem spec = null;
-  private static MmuModel model = null;
+  /** MMU specification and model of a generation session. */
+  private static final class State {
+    private MmuSubsystem spec = null;
+    private MmuModel model = null;
+  }
+
+  private static final Session.Key<State> STATE = Session.newKey(State::new);
 
   public static MmuSubsystem getSpecification() {
-    if (null != spec) {
-      return spec;
+    final State state = Session.get().get(STATE);
+    if (null != state.spec) {
+      return state.spec;
     }
 
     final TestEngine testEngine = TestEngine.getInstance();
@@ -65,24 +72,26 @@ public final class MmuPlugin implements Plugin {
         (MmuSubsystem.Holder) SysUtils.loadFromModel(specClassName);
     InvariantChecks.checkNotNull(specHolder, "Failed to load " + specClassName);
 
-    spec = specHolder.getSpecification();
+    final MmuSubsystem spec = specHolder.getSpecification();
 
     final GeneratorSettings settings = GeneratorSettings.get();
     if (null != settings) {
       spec.setSettings(settings);
     }
 
+    state.spec = spec;
     return spec;
   }
 
   public static void setSpecification(final MmuSubsystem mmu) {
     InvariantChecks.checkNotNull(mmu);
-    spec = mmu;
+    Session.get().get(STATE).spec = mmu;
   }
 
   public static MmuModel getMmuModel() {
-    if (null != model) {
-      return model;
+    final State state = Session.get().get(STATE);
+    if (null != state.model) {
+      return state.model;
     }
 
     final TestEngine testEngine = TestEngine.getInstance();
@@ -95,8 +104,8 @@ public final class MmuPlugin implements Plugin {
 
     final MmuModel mmuModel = (MmuModel) SysUtils.loadFromModel(modelClassName);
 
-    model = mmuModel;
-    return model;
+    state.model = mmuModel;
+    return mmuModel;
   }
 
   private static Model getModel() {
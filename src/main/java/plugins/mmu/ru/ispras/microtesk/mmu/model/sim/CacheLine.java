@@ -41,6 +41,11 @@ public class CacheLine<E extends Struct<?>, A extends Address<?>>
   /** Entry address. */
   private A address;
 
+  /** Entry tag (see {@link Matcher#isTagged()}). */
+  private long tag;
+  /** Whether the entry tag is known. */
+  private boolean tagged;
+
   /** Dirty bit used to implement the write-back policy. */
   private boolean dirty;
   /** Coherence protocol state. */
@@ -68,6 +73,35 @@ public class CacheLine<E extends Struct<?>, A extends Address<?>>
     resetState();
   }
 
+  /**
+   * Constructs a copy of the given cache line.
+   *
+   * @param other the cache line to be copied.
+   */
+  protected CacheLine(final CacheLine<E, A> other) {
+    InvariantChecks.checkNotNull(other);
+
+    this.matcher = other.matcher;
+    this.cache = other.cache;
+    this.protocol = other.protocol;
+
+    this.entry = other.entry != null ? cache.newEntry(other.entry.asBitVector().copy()) : null;
+    this.address = other.address;
+    this.tag = other.tag;
+    this.tagged = other.tagged;
+    this.dirty = other.dirty;
+    this.state = other.state;
+  }
+
+  /**
+   * Creates a copy of the line (can be overridden in a subclass).
+   *
+   * @return the copy.
+   */
+  protected CacheLine<E, A> copy() {
+    return new CacheLine<>(this);
+  }
+
   public final boolean isValid() {
     return entry != null && protocol.isValid(state);
   }
@@ -78,6 +112,8 @@ public class CacheLine<E extends Struct<?>, A extends Address<?>>
 
   public final void setEntry(final BitVector entry) {
     this.entry.asBitVector().assign(entry);
+    // The tag fields may have been changed.
+    this.tagged = false;
   }
 
   public final A getAddress() {
@@ -94,8 +130,23 @@ public class CacheLine<E extends Struct<?>, A extends Address<?>>
 
   @Override
   public boolean isHit(final A address) {
+    return isHit(address, matcher.isTagged() ? matcher.getTag(address) : 0);
+  }
+
+  /**
+   * Checks whether the line matches the given address.
+   *
+   * @param address the address.
+   * @param addressTag the address tag (used if the matcher is tagged).
+   * @return {@code true} iff the line matches the address.
+   */
+  boolean isHit(final A address, final long addressTag) {
     // After allocation, when the entry is invalid but not null, the method may return true.
-    return entry != null ? matcher.areMatching(entry, address) : false;
+    if (entry == null) {
+      return false;
+    }
+
+    return tagged ? tag == addressTag : matcher.areMatching(entry, address);
   }
 
   @Override
@@ -171,6 +222,8 @@ public class CacheLine<E extends Struct<?>, A extends Address<?>>
 
     this.entry = cache.newEntry(address);
     this.address = address;
+    this.tagged = matcher.isTagged();
+    this.tag = tagged ? matcher.getTag(address) : 0;
 
     state = protocol.onReset();
     InvariantChecks.checkTrue(cache.isCoherent(address));
@@ -261,6 +314,8 @@ public class CacheLine<E extends Struct<?>, A extends Address<?>>
   public void resetState() {
     entry = null;
     address = null;
+    tag = 0;
+    tagged = false;
     dirty = false;
     state = protocol.onReset();
   }
@@ -86,6 +86,36 @@ public class CacheSet<E extends Struct<?>, A extends Address<?>>
     this.evictionPolicy = policy.eviction.newPolicy(associativity);
   }
 
+  /**
+   * Constructs a copy of the given cache set.
+   *
+   * @param other the cache set to be copied.
+   */
+  protected CacheSet(final CacheSet<E, A> other) {
+    InvariantChecks.checkNotNull(other);
+
+    this.index = other.index;
+    this.policy = other.policy;
+    this.matcher = other.matcher;
+    this.cache = other.cache;
+    this.next = other.next;
+
+    for (final CacheLine<E, A> line : other.lines) {
+      lines.add(line.copy());
+    }
+
+    this.evictionPolicy = other.evictionPolicy.copy();
+  }
+
+  /**
+   * Creates a copy of the set (can be overridden in a subclass).
+   *
+   * @return the copy.
+   */
+  protected CacheSet<E, A> copy() {
+    return new CacheSet<>(this);
+  }
+
   protected CacheLine<E, A> newLine(final int way) {
     return new CacheLine<>(policy, matcher, cache);
   }
@@ -236,12 +266,14 @@ public class CacheSet<E extends Struct<?>, A extends Address<?>>
   }
 
   final int getWay(final A address) {
+    // The address tag is computed once for all lines.
+    final long tag = matcher.isTagged() ? matcher.getTag(address) : 0;
     int way = -1;
 
     for (int i = 0; i < lines.size(); i++) {
       final CacheLine<E, A> line = lines.get(i);
 
-      if (line.isHit(address)) {
+      if (line.isHit(address, tag)) {
         InvariantChecks.checkTrue(way == -1,
             String.format("Multiple hits in a cache set: address=%s:0x%s, lines=%s",
                 address.getClass().getSimpleName(),
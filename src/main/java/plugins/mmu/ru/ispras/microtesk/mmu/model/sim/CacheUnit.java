@@ -540,6 +540,10 @@ public abstract class CacheUnit<E extends Struct<?>, A extends Address<?>>
     if (set == null) {
       set = newSet(index);
       sets.set(index, set);
+    } else if (sets.isShared(index)) {
+      // The set is shared with the saved state: copy it before it is modified.
+      set = set.copy();
+      sets.set(index, set);
     }
 
     return set;
@@ -585,7 +589,8 @@ public abstract class CacheUnit<E extends Struct<?>, A extends Address<?>>
 
     if (value) {
       savedSets = sets;
-      sets = new SparseArray<>(sets.length()); // TODO: NEED A FULL COPY HERE
+      // Sets are copied on first access, so the temporary state starts as an exact copy.
+      sets = new SparseArray<>(savedSets);
     } else {
       sets = savedSets;
       savedSets = null;
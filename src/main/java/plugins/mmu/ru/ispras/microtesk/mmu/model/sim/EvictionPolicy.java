@@ -60,4 +60,11 @@ abstract class EvictionPolicy {
    * Resets the state of the policy object.
    */
   public abstract void resetState();
+
+  /**
+   * Creates a copy of the policy object including its state.
+   *
+   * @return the copy.
+   */
+  public abstract EvictionPolicy copy();
 }
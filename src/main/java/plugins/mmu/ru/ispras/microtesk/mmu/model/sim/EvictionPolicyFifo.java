@@ -33,6 +33,12 @@ final class EvictionPolicyFifo extends EvictionPolicy {
     resetState();
   }
 
+  private EvictionPolicyFifo(final EvictionPolicyFifo other) {
+    super(other.associativity);
+    free.addAll(other.free);
+    used.addAll(other.used);
+  }
+
   @Override
   public void onAccess(final int index) {
     if (remove(used, index) || remove(free, index)) {
@@ -71,4 +77,9 @@ final class EvictionPolicyFifo extends EvictionPolicy {
       free.add(i);
     }
   }
+
+  @Override
+  public EvictionPolicy copy() {
+    return new EvictionPolicyFifo(this);
+  }
 }
@@ -32,6 +32,13 @@ final class EvictionPolicyLru extends EvictionPolicy {
     resetState();
   }
 
+  private EvictionPolicyLru(final EvictionPolicyLru other) {
+    super(other.associativity);
+
+    this.times = other.times.clone();
+    this.time = other.time;
+  }
+
   @Override
   public void onAccess(final int index) {
     times[index] = ++time;
@@ -64,4 +71,9 @@ final class EvictionPolicyLru extends EvictionPolicy {
       times[i] = 0;
     }
   }
+
+  @Override
+  public EvictionPolicy copy() {
+    return new EvictionPolicyLru(this);
+  }
 }
@@ -47,4 +47,9 @@ final class EvictionPolicyNone extends EvictionPolicy {
   public void resetState() {
     // Do nothing.
   }
+
+  @Override
+  public EvictionPolicy copy() {
+    return this; // Stateless.
+  }
 }
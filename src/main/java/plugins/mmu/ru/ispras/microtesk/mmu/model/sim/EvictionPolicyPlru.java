@@ -41,6 +41,13 @@ final class EvictionPolicyPlru extends EvictionPolicy {
     resetState();
   }
 
+  private EvictionPolicyPlru(final EvictionPolicyPlru other) {
+    super(other.associativity);
+
+    this.bits = other.bits;
+    this.last = other.last;
+  }
+
   @Override
   public void onAccess(final int index) {
     final int mask = (1 << index);
@@ -77,4 +84,9 @@ final class EvictionPolicyPlru extends EvictionPolicy {
     bits = 0;
     last = 0;
   }
+
+  @Override
+  public EvictionPolicy copy() {
+    return new EvictionPolicyPlru(this);
+  }
 }
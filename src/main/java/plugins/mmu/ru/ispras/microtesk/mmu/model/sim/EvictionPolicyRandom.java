@@ -46,4 +46,9 @@ final class EvictionPolicyRandom extends EvictionPolicy {
   public void resetState() {
     // Do nothing.
   }
+
+  @Override
+  public EvictionPolicy copy() {
+    return this; // Stateless.
+  }
 }
@@ -14,6 +14,8 @@
 
 package ru.ispras.microtesk.mmu.model.sim;
 
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+
 /**
  * {@link Matcher} is a generic interface of a cache line matcher (hit checker).
  *
@@ -33,6 +35,28 @@ public interface Matcher<E extends Struct<?>, A extends Address<?>> {
    */
   boolean areMatching(E entry, A address);
 
+  /**
+   * Checks whether the matcher compares tags, i.e. an entry matches an address iff the tag
+   * assigned to the entry from some address is equal to the tag of the given one.
+   *
+   * <p>Such matchers allow checking hits by comparing {@code long} values.</p>
+   *
+   * @return {@code true} iff {@link #getTag(Address)} is supported.
+   */
+  default boolean isTagged() {
+    return false;
+  }
+
+  /**
+   * Returns the tag of the given address (up to 64 bits).
+   *
+   * @param address the address.
+   * @return the tag.
+   */
+  default long getTag(A address) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Extracts the tag from the given address and assigns it to the given entry.
    *
@@ -41,4 +65,17 @@ public interface Matcher<E extends Struct<?>, A extends Address<?>> {
    * @return the input data w/ the assigned tag.
    */
   E assignTag(E entry, A address);
+
+  /**
+   * Appends a field to a tag (used to construct tags in generated matchers).
+   *
+   * @param tag the tag.
+   * @param field the field.
+   * @param bitSize the field size.
+   * @return the extended tag.
+   */
+  static long appendTag(final long tag, final BitVector field, final int bitSize) {
+    final long mask = bitSize < Long.SIZE ? (1L << bitSize) - 1 : -1L;
+    return (bitSize < Long.SIZE ? tag << bitSize : 0L) | (field.longValue() & mask);
+  }
 }
@@ -80,6 +80,12 @@ public abstract class RegisterMapping<E extends Struct<?>, A extends Address<?>>
       return matcher.areMatching(entry, address);
     }
 
+    @Override
+    boolean isHit(final A address, final long addressTag) {
+      // Entries are stored in registers and may be changed bypassing the line.
+      return isHit(address);
+    }
+
     @Override
     public Pair<E, Boolean> readEntry(final A address, final boolean invalidate) {
       final MemoryDevice storage = getRegisterDevice();
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.mmu.test.engine.memory;
+
+import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.SysUtils;
+import ru.ispras.microtesk.mmu.basis.MemoryAccessType;
+import ru.ispras.microtesk.mmu.model.spec.MmuSubsystem;
+import ru.ispras.microtesk.mmu.test.template.AccessConstraints;
+import ru.ispras.microtesk.utils.Session;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link AccessCatalog} is a persistent catalog of feasibility verdicts for memory access paths.
+ *
+ * <p>A catalog is identified by a SHA-256 hash of the MMU specification (its text and the files
+ * of the models and the tool) and the access constraints, which include the region
+ * settings. It maps a memory access type and a path prefix into the result of the feasibility
+ * check of the last path entry. A prefix is encoded as a sequence of indices of the outgoing
+ * edges taken in the memory graph ({@code h} stands for a hammock). Feasibility of complete
+ * paths is stored separately.</p>
+ *
+ * <p>Verdicts do not depend on the random order of path enumeration. Therefore, later runs
+ * prune known infeasible prefixes at once and do not call the solver for known feasible ones.
+ * Prefixes that include recursive memory calls are not cataloged, because inner paths are
+ * chosen at random. Constraints on variable values are not cataloged either.</p>
+ *
+ * <p>Catalogs are shared by generation sessions running in different threads. Each catalog is
+ * stored in a separate file of the catalog directory, which is updated by {@link #save()}.
+ * A catalog is kept in memory while it is used by some session: {@link #release()} saves the
+ * catalogs of the current session and drops those that are no longer used.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class AccessCatalog {
+  private static final String FILE_SUFFIX = ".paths";
+
+  private static final char ENTRY = 'E';
+  private static final char ACCESS = 'A';
+  private static final char FEASIBLE = '+';
+  private static final char INFEASIBLE = '-';
+
+  private static final Map<Path, AccessCatalog> instances = new ConcurrentHashMap<>();
+
+  /** Catalog settings of a generation session. */
+  private static final class State {
+    private Path directory = null;
+    private MmuSubsystem memory = null;
+    private String memoryKey = null;
+    private final Map<Path, AccessCatalog> catalogs = new HashMap<>();
+  }
+
+  private static final Session.Key<State> STATE = Session.newKey(State::new);
+
+  private final Path file;
+  private final Map<String, Boolean> verdicts;
+  private volatile boolean modified;
+
+  /** Number of sessions using the catalog (guarded by the {@code instances} entry). */
+  private int users;
+
+  /**
+   * Sets the directory where the catalogs of the current session are stored.
+   *
+   * @param directory Catalog directory or {@code null} to disable the catalog.
+   */
+  public static void setDirectory(final Path directory) {
+    Session.get().get(STATE).directory = directory;
+  }
+
+  /**
+   * Returns the catalog for the specified MMU specification and access constraints.
+   *
+   * @param memory MMU specification.
+   * @param constraints Access constraints.
+   * @return Catalog or {@code null} if the catalog is disabled or the constraints
+   *         cannot be cataloged.
+   */
+  public static AccessCatalog get(final MmuSubsystem memory, final AccessConstraints constraints) {
+    InvariantChecks.checkNotNull(memory);
+    InvariantChecks.checkNotNull(constraints);
+
+    final State state = Session.get().get(STATE);
+    if (null == state.directory || !constraints.getVariableConstraints().isEmpty()) {
+      return null;
+    }
+
+    // The specification is hashed only once per session.
+    if (memory != state.memory) {
+      state.memory = memory;
+      state.memoryKey = hash(newMemoryKey(memory));
+    }
+
+    final String key = hash(state.memoryKey + '\n' + constraints);
+    final Path file = state.directory.resolve(key + FILE_SUFFIX);
+
+    AccessCatalog catalog = state.catalogs.get(file);
+    if (null == catalog) {
+      catalog = instances.compute(file, (path, current) -> {
+        final AccessCatalog result = null != current ? current : new AccessCatalog(path);
+        result.users++;
+        return result;
+      });
+      state.catalogs.put(file, catalog);
+    }
+
+    return catalog;
+  }
+
+  /**
+   * Saves the catalogs used by the current session and drops from memory those that are
+   * not used by other sessions.
+   */
+  public static void release() {
+    final State state = Session.get().get(STATE);
+
+    for (final AccessCatalog catalog : state.catalogs.values()) {
+      catalog.save();
+      instances.computeIfPresent(catalog.file, (path, current) -> {
+        if (current == catalog) {
+          current.users--;
+        }
+        return current.users > 0 ? current : null;
+      });
+    }
+
+    state.catalogs.clear();
+  }
+
+  /**
+   * Drops the catalogs loaded into memory. Catalogs are loaded again on next access.
+   */
+  static void reset() {
+    instances.clear();
+    Session.get().get(STATE).catalogs.clear();
+  }
+
+  /**
+   * Saves all modified catalogs.
+   */
+  public static void saveAll() {
+    for (final AccessCatalog catalog : instances.values()) {
+      catalog.save();
+    }
+  }
+
+  private AccessCatalog(final Path file) {
+    this.file = file;
+    this.verdicts = new ConcurrentHashMap<>();
+    this.modified = false;
+    this.users = 0;
+
+    read(file, verdicts);
+    Logger.debug("AccessCatalog: %d verdicts are loaded from '%s'", verdicts.size(), file);
+  }
+
+  public Boolean getEntryVerdict(final MemoryAccessType type, final String path) {
+    return verdicts.get(newKey(ENTRY, type, path));
+  }
+
+  public void putEntryVerdict(final MemoryAccessType type, final String path, final boolean value) {
+    put(newKey(ENTRY, type, path), value);
+  }
+
+  public Boolean getAccessVerdict(final MemoryAccessType type, final String path) {
+    return verdicts.get(newKey(ACCESS, type, path));
+  }
+
+  public void putAccessVerdict(
+      final MemoryAccessType type, final String path, final boolean value) {
+    put(newKey(ACCESS, type, path), value);
+  }
+
+  public int size() {
+    return verdicts.size();
+  }
+
+  private void put(final String key, final boolean value) {
+    if (null == verdicts.putIfAbsent(key, value)) {
+      modified = true;
+    }
+  }
+
+  private static String newKey(final char kind, final MemoryAccessType type, final String path) {
+    InvariantChecks.checkNotNull(type);
+    InvariantChecks.checkNotNull(path);
+    return kind + " " + path + " " + type;
+  }
+
+  /**
+   * Writes the catalog to its file. Verdicts stored in the file by other processes
+   * are kept.
+   */
+  public synchronized void save() {
+    if (!modified) {
+      return;
+    }
+
+    modified = false;
+    read(file, verdicts);
+
+    Path tempFile = null;
+    try {
+      Files.createDirectories(file.getParent());
+
+      // The file is replaced atomically, so that processes sharing the catalog directory
+      // never read a partially written catalog. Each writer uses its own temporary file.
+      tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+      try (final PrintWriter writer = new PrintWriter(
+               Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8))) {
+        for (final Map.Entry<String, Boolean> entry : verdicts.entrySet()) {
+          writer.print(entry.getValue() ? FEASIBLE : INFEASIBLE);
+          writer.println(entry.getKey());
+        }
+      }
+
+      Files.move(tempFile, file,
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      Logger.warning("AccessCatalog: failed to write '%s': %s", file, e.getMessage());
+
+      try {
+        if (null != tempFile) {
+          Files.deleteIfExists(tempFile);
+        }
+      } catch (final IOException e2) {
+        // Nothing can be done.
+      }
+    }
+  }
+
+  private static void read(final Path file, final Map<String, Boolean> verdicts) {
+    if (!Files.isRegularFile(file)) {
+      return;
+    }
+
+    try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      int invalidLines = 0;
+
+      String line;
+      while (null != (line = reader.readLine())) {
+        final char verdict = !line.isEmpty() ? line.charAt(0) : ' ';
+
+        // A corrupted line must not be taken for an infeasibility verdict.
+        if (line.length() < 2 || (verdict != FEASIBLE && verdict != INFEASIBLE)) {
+          invalidLines++;
+          continue;
+        }
+
+        verdicts.putIfAbsent(line.substring(1), verdict == FEASIBLE);
+      }
+
+      if (invalidLines != 0) {
+        Logger.warning("AccessCatalog: %d invalid lines are skipped in '%s'", invalidLines, file);
+      }
+    } catch (final IOException e) {
+      Logger.warning("AccessCatalog: failed to read '%s': %s", file, e.getMessage());
+    }
+  }
+
+  private static String newMemoryKey(final MmuSubsystem memory) {
+    final StringBuilder sb = new StringBuilder();
+
+    // The specification text does not include all details (e.g. assignments):
+    // the files of the models and the tool are taken into account to track changes.
+    appendFileKey(sb, SysUtils.getModelsJarPath());
+    appendFileKey(sb, getToolPath());
+
+    sb.append(memory);
+    return sb.toString();
+  }
+
+  private static void appendFileKey(final StringBuilder sb, final Path path) {
+    if (null == path) {
+      return;
+    }
+
+    try {
+      sb.append(path).append(' ');
+
+      if (Files.isDirectory(path)) {
+        // Classes are loaded from a directory: any change of its files changes the key.
+        try (final Stream<Path> files = Files.walk(path)) {
+          files.filter(Files::isRegularFile).sorted().forEach(file -> appendFileKey(sb, file));
+        } catch (final UncheckedIOException e) {
+          throw e.getCause();
+        }
+      } else {
+        sb.append(Files.size(path)).append(' ')
+          .append(Files.getLastModifiedTime(path).toMillis()).append('\n');
+      }
+    } catch (final IOException e) {
+      sb.append('\n');
+    }
+  }
+
+  private static Path getToolPath() {
+    final CodeSource codeSource = AccessCatalog.class.getProtectionDomain().getCodeSource();
+    if (null == codeSource || null == codeSource.getLocation()) {
+      return null;
+    }
+
+    try {
+      final Path path = Paths.get(codeSource.getLocation().toURI());
+      return Files.exists(path) ? path : null;
+    } catch (final URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String hash(final String text) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      final byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+
+      final StringBuilder hex = new StringBuilder(2 * hash.length);
+      for (final byte b : hash) {
+        hex.append(String.format("%02x", b & 0xff));
+      }
+
+      return hex.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.mmu.test.engine.memory;
+
+import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.util.InvariantChecks;
+import ru.ispras.microtesk.SysUtils;
+import ru.ispras.microtesk.mmu.MmuPlugin;
+import ru.ispras.microtesk.mmu.basis.MemoryAccessType;
+import ru.ispras.microtesk.mmu.basis.MemoryDataType;
+import ru.ispras.microtesk.mmu.model.spec.MmuSubsystem;
+import ru.ispras.microtesk.mmu.test.template.AccessConstraints;
+import ru.ispras.microtesk.translator.codegen.PackageInfo;
+import ru.ispras.microtesk.utils.Session;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The {@link AccessCatalogBuilder} class fills the {@link AccessCatalog} of a model offline.
+ *
+ * <p>Usage: {@code AccessCatalogBuilder <model name> [<catalog dir>] [<threads>]}. If the
+ * catalog directory is not specified, {@code cache/mmu} in the MicroTESK home is used.
+ * By default, the number of threads is equal to the number of available processors.</p>
+ *
+ * <p>All memory access paths of all load and store types are enumerated with the default
+ * engine parameters and without access constraints. Each access type is processed in a separate
+ * session with its own copy of the MMU specification.</p>
+ *
+ * <p>Only the catalog for empty access constraints is filled. The constraints of a template
+ * (including the memory region settings, which are part of the catalog key) select other
+ * catalogs, which are filled during generation.</p>
+ *
+ * <p>If some access type fails, nothing is saved and the exit status is nonzero.</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class AccessCatalogBuilder {
+  private AccessCatalogBuilder() {}
+
+  public static void main(final String[] args) throws InterruptedException {
+    if (args.length < 1 || args.length > 3) {
+      System.err.println("Usage: AccessCatalogBuilder <model name> [<catalog dir>] [<threads>]");
+      System.exit(1);
+    }
+
+    final String modelName = args[0];
+    final Path directory = args.length >= 2
+        ? Paths.get(args[1])
+        : Paths.get(SysUtils.getHomeDir(), "cache", "mmu");
+    final int threadCount = args.length == 3
+        ? Integer.parseInt(args[2])
+        : Runtime.getRuntime().availableProcessors();
+
+    try {
+      final long paths = build(modelName, directory, threadCount);
+      System.out.printf("%d memory access paths of %s have been cataloged in %s%n",
+          paths, modelName, directory);
+    } catch (final ExecutionException e) {
+      System.err.printf("Failed to catalog memory access paths of %s: %s%n",
+          modelName, e.getCause());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Enumerates memory access paths of the specified model and stores their feasibility
+   * in the catalog.
+   *
+   * @param modelName Model name.
+   * @param directory Catalog directory.
+   * @param threadCount Number of threads.
+   * @return Number of feasible memory access paths.
+   * @throws InterruptedException if the current thread is interrupted.
+   * @throws ExecutionException if some access type fails (the catalog is not saved).
+   */
+  public static long build(
+      final String modelName,
+      final Path directory,
+      final int threadCount) throws InterruptedException, ExecutionException {
+    InvariantChecks.checkNotNull(modelName);
+    InvariantChecks.checkNotNull(directory);
+    InvariantChecks.checkGreaterThanZero(threadCount);
+
+    final List<MemoryAccessType> types = new ArrayList<>();
+    for (final MemoryDataType dataType : MemoryDataType.values()) {
+      types.add(MemoryAccessType.LOAD(dataType));
+      types.add(MemoryAccessType.STORE(dataType));
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    final List<Future<Long>> futures = new ArrayList<>();
+
+    try {
+      for (final MemoryAccessType type : types) {
+        futures.add(executor.submit(() -> build(modelName, directory, type)));
+      }
+
+      long paths = 0;
+      ExecutionException failure = null;
+
+      for (final Future<Long> future : futures) {
+        try {
+          paths += future.get();
+        } catch (final ExecutionException e) {
+          Logger.error("AccessCatalogBuilder: %s", e.getCause());
+          failure = null != failure ? failure : e;
+        }
+      }
+
+      // A partially filled catalog is not saved.
+      if (null != failure) {
+        throw failure;
+      }
+
+      AccessCatalog.saveAll();
+      return paths;
+    } finally {
+      executor.shutdownNow();
+      AccessCatalog.reset();
+    }
+  }
+
+  private static long build(
+      final String modelName,
+      final Path directory,
+      final MemoryAccessType type) {
+    Session.open();
+
+    final MmuSubsystem memory = loadSpecification(modelName);
+    MmuPlugin.setSpecification(memory);
+    AccessCatalog.setDirectory(directory);
+
+    final TrajectoryExtractor.Result extracted = new TrajectoryExtractor(memory).apply(
+        type, MemoryEngine.PARAM_ABSTRACTION.getDefaultValue());
+
+    long paths = 0;
+    for (final List<Object> trajectory : extracted.getTrajectories()) {
+      final AccessIterator iterator = new AccessIterator(
+          memory,
+          trajectory,
+          extracted.getGraph(),
+          type,
+          AccessConstraints.EMPTY,
+          MemoryEngine.PARAM_RECURSION_LIMIT.getDefaultValue());
+
+      while (iterator.hasNext()) {
+        iterator.next();
+        paths++;
+      }
+    }
+
+    Logger.message("AccessCatalogBuilder: %s: %d paths, %s",
+        type, paths, MemoryEngineUtils.getStatistics());
+
+    return paths;
+  }
+
+  private static MmuSubsystem loadSpecification(final String modelName) {
+    final String specClassName =
+        String.format("%s.%s.mmu.spec.Specification", PackageInfo.MODEL_PACKAGE, modelName);
+
+    final MmuSubsystem.Holder specHolder =
+        (MmuSubsystem.Holder) SysUtils.loadFromModel(specClassName);
+    InvariantChecks.checkNotNull(specHolder, "Failed to load " + specClassName);
+
+    return specHolder.getSpecification();
+  }
+}
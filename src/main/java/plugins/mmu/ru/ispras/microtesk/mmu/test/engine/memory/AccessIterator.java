@@ -130,6 +130,8 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
     public final MmuAction action;
     public final List<Object> trajectorySuffix;
     public final List<Graph.Edge> outgoingEdges;
+    /** Path prefix in the access catalog ({@code null} if the prefix is not cataloged). */
+    public final String pathKey;
 
     private OutgoingEdgeIterator iterator;
     private SymbolicResult result;
@@ -138,7 +140,8 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
         final int rollbackCount,
         final MmuAction action,
         final List<Object> trajectorySuffix,
-        final SymbolicResult result) {
+        final SymbolicResult result,
+        final String pathKey) {
       InvariantChecks.checkNotNull(action);
       // Parameter trajectorySuffix can be null.
       InvariantChecks.checkNotNull(result);
@@ -163,6 +166,7 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
       this.action = action;
       this.trajectorySuffix = trajectorySuffix;
       this.outgoingEdges = outgoingEdges;
+      this.pathKey = pathKey;
       this.iterator = new OutgoingEdgeIterator(outgoingEdges);
       this.result = result;
     }
@@ -230,6 +234,8 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
   private final MemoryAccessType type;
   /** User-defined constraints for selecting memory access paths. */
   private final AccessConstraints constraints;
+  /** Catalog of feasible paths ({@code null} if the catalog is not used). */
+  private final AccessCatalog catalog;
 
   private final Stack<SearchStackEntry> searchStack = new Stack<>();
   private final List<AccessPath.Entry> currentPath = new ArrayList<>();
@@ -246,13 +252,7 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
       final MemoryAccessType type,
       final AccessConstraints constraints,
       final int recursionLimit) {
-    this(
-        memory,
-        graph,
-        type,
-        constraints,
-        MemoryEngineUtils.newSymbolicResult(),
-        recursionLimit);
+    this(memory, null, graph, type, constraints, recursionLimit);
   }
 
   public AccessIterator(
@@ -269,6 +269,7 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
         type,
         constraints,
         MemoryEngineUtils.newSymbolicResult(),
+        AccessCatalog.get(memory, constraints),
         recursionLimit);
   }
 
@@ -290,6 +291,19 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
       final AccessConstraints constraints,
       final SymbolicResult result,
       final int recursionLimit) {
+    // Paths that start from a given symbolic state are not cataloged.
+    this(memory, trajectory, graph, type, constraints, result, null, recursionLimit);
+  }
+
+  private AccessIterator(
+      final MmuSubsystem memory,
+      final List<Object> trajectory,
+      final Graph graph,
+      final MemoryAccessType type,
+      final AccessConstraints constraints,
+      final SymbolicResult result,
+      final AccessCatalog catalog,
+      final int recursionLimit) {
     InvariantChecks.checkNotNull(memory);
     // Parameter trajectory can be null (in this case, the trajectory is ignored).
     InvariantChecks.checkNotNull(graph);
@@ -301,11 +315,13 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
     this.graph = graph;
     this.type = type;
     this.constraints = constraints;
+    this.catalog = catalog;
     this.recursionLimit = recursionLimit;
 
     if (type.getOperation() != MemoryOperation.NONE) {
       final MmuAction startAction = memory.getStartAction();
-      final SearchStackEntry searchEntry = new SearchStackEntry(0, startAction, trajectory, result);
+      final SearchStackEntry searchEntry =
+          new SearchStackEntry(0, startAction, trajectory, result, catalog != null ? "" : null);
 
       this.searchStack.push(searchEntry);
 
@@ -448,6 +464,30 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
     return program;
   }
 
+  private String getPathKey(final SearchStackEntry searchEntry, final MmuProgram program) {
+    if (searchEntry.pathKey == null) {
+      return null;
+    }
+
+    final String step;
+    if (program.isAtomic()) {
+      // Edges are identified by their positions in the graph (the order of traversal is random).
+      final List<Graph.Edge> edges = graph.getEdges(searchEntry.action);
+
+      int index = 0;
+      while (edges.get(index).getTransition() != program.getTransition()) {
+        index++;
+      }
+
+      step = Integer.toString(index);
+    } else {
+      // Hammocks are built in a deterministic way.
+      step = "h";
+    }
+
+    return searchEntry.pathKey.isEmpty() ? step : searchEntry.pathKey + '.' + step;
+  }
+
   private static void accessBuffer(final MmuProgram program, final MemoryAccessContext context) {
     for (final MmuTransition transition : program.getTransitions()) {
       for (final MmuBufferAccess bufferAccess : transition.getBufferAccesses(context)) {
@@ -521,7 +561,21 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
         final boolean isStart = searchStack.size() == 1;
         final AccessPath.Entry entry = getEntry(isStart, program, result.getContext());
 
-        if (MemoryEngineUtils.isFeasibleEntry(entry, type, constraints, result /* INOUT */)) {
+        final String pathKey = getPathKey(searchEntry, program);
+        final Boolean verdict = pathKey != null ? catalog.getEntryVerdict(type, pathKey) : null;
+
+        if (verdict != null && !verdict) {
+          continue;
+        }
+
+        final boolean isFeasible = MemoryEngineUtils.isFeasibleEntry(
+            entry, type, constraints, result /* INOUT */, verdict != null);
+
+        if (pathKey != null && verdict == null) {
+          catalog.putEntryVerdict(type, pathKey, isFeasible);
+        }
+
+        if (isFeasible) {
           canProlongPath = true;
 
           // Entries to be added to the memory access path.
@@ -581,7 +635,12 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
           if (canProlongPath) {
             final List<Object> suffix = getTrajectorySuffix(trajectory, program.getLabel());
 
-            searchStack.push(new SearchStackEntry(entries.size(), newTarget, suffix, newResult));
+            // Inner paths are chosen at random: the path is not cataloged after a call.
+            final String newPathKey =
+                entry.getKind() == AccessPath.Entry.Kind.NORMAL ? pathKey : null;
+
+            searchStack.push(
+                new SearchStackEntry(entries.size(), newTarget, suffix, newResult, newPathKey));
             currentPath.addAll(entries);
 
             break;
@@ -612,7 +671,7 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
           Logger.debug("Checking feasibility of the memory access: %s", constraints);
 
           // User-defined constraints are checked on entire paths, not fragments.
-          if (!stack.isEmpty() || MemoryEngineUtils.isFeasibleAccess(access)) {
+          if (!stack.isEmpty() || isFeasibleAccess(access, topEntry.pathKey)) {
             Logger.debug("Memory access %s of length %d for trajectory %s",
                 (stack.isEmpty() ? "path" : "fragment"), path.size(), trajectory);
 
@@ -629,6 +688,22 @@ public final class AccessIterator implements Iterator<AccessIterator.Result> {
     return null;
   }
 
+  private boolean isFeasibleAccess(final Access access, final String pathKey) {
+    if (pathKey == null) {
+      return MemoryEngineUtils.isFeasibleAccess(access);
+    }
+
+    final Boolean verdict = catalog.getAccessVerdict(type, pathKey);
+    if (verdict != null) {
+      return verdict;
+    }
+
+    final boolean isFeasible = MemoryEngineUtils.isFeasibleAccess(access);
+    catalog.putAccessVerdict(type, pathKey, isFeasible);
+
+    return isFeasible;
+  }
+
   @Override
   public void remove() {
     throw new UnsupportedOperationException();
@@ -17,10 +17,13 @@ package ru.ispras.microtesk.mmu.test.engine.memory;
 import ru.ispras.castle.util.Logger;
 import ru.ispras.fortress.util.InvariantChecks;
 
+import ru.ispras.microtesk.SysUtils;
 import ru.ispras.microtesk.mmu.basis.MemoryAccessType;
 import ru.ispras.microtesk.mmu.basis.MemoryDataType;
 import ru.ispras.microtesk.mmu.basis.MemoryOperation;
 import ru.ispras.microtesk.mmu.test.template.AccessConstraints;
+import ru.ispras.microtesk.options.Option;
+import ru.ispras.microtesk.options.Options;
 import ru.ispras.microtesk.test.engine.AbstractSequence;
 import ru.ispras.microtesk.test.engine.Engine;
 import ru.ispras.microtesk.test.engine.EngineContext;
@@ -31,6 +34,8 @@ import ru.ispras.microtesk.test.template.Primitive;
 import ru.ispras.microtesk.test.template.Situation;
 import ru.ispras.testbase.knowledge.iterator.Iterator;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -218,6 +223,7 @@ public final class MemoryEngine implements Engine {
     InvariantChecks.checkNotNull(abstractSequence);
 
     Logger.debug("MemoryEngine.solve: %s", abstractSequence.getSequence());
+    setCatalog(engineContext.getOptions());
 
     final AccessConstraints globalConstraints = AccessConstraints.EMPTY;
     Logger.debug("MemoryEngine.solve: globalConstraints=%s", globalConstraints);
@@ -246,6 +252,8 @@ public final class MemoryEngine implements Engine {
     Logger.debug("MemoryEngine.solve: accessTypes=%s", accessTypes);
     Logger.debug("MemoryEngine.solve: accessConstraints=%s", accessConstraints);
 
+    MemoryEngineUtils.getStatistics().reset();
+
     final Iterator<List<Access>> accessIterator =
         new AccessesIterator(
             abstraction,
@@ -297,6 +305,7 @@ public final class MemoryEngine implements Engine {
           @Override
           public void stop() {
             accessIterator.stop();
+            Logger.debug("MemoryEngine.solve: %s", MemoryEngineUtils.getStatistics());
           }
 
           @Override
@@ -308,9 +317,25 @@ public final class MemoryEngine implements Engine {
     return solutionIterator;
   }
 
+  private static void setCatalog(final Options options) {
+    if (!options.getValueAsBoolean(Option.MMU_CATALOG_ENABLED)) {
+      AccessCatalog.setDirectory(null);
+      return;
+    }
+
+    final String catalogDir = options.getValueAsString(Option.MMU_CATALOG_DIR);
+    final Path catalogPath = !catalogDir.isEmpty()
+        ? Paths.get(catalogDir)
+        : Paths.get(SysUtils.getHomeDir(), "cache", "mmu");
+
+    AccessCatalog.setDirectory(catalogPath);
+  }
+
   @Override
   public void onStartProgram() {}
 
   @Override
-  public void onEndProgram() {}
+  public void onEndProgram() {
+    AccessCatalog.release();
+  }
 }
@@ -16,6 +16,7 @@ package ru.ispras.microtesk.mmu.test.engine.memory;
 
 import java.util.LinkedHashMap;
 import ru.ispras.castle.util.Logger;
+import ru.ispras.fortress.data.Data;
 import ru.ispras.fortress.data.Variable;
 import ru.ispras.fortress.data.types.bitvector.BitVector;
 import ru.ispras.fortress.expression.Node;
@@ -27,6 +28,7 @@ import ru.ispras.fortress.solver.constraint.ConstraintEncoder;
 import ru.ispras.fortress.solver.constraint.Sat4jFormulaEncoder;
 import ru.ispras.fortress.solver.engine.sat.Initializer;
 import ru.ispras.fortress.solver.engine.sat.Sat4jSolver;
+import ru.ispras.fortress.transformer.ValueProvider;
 import ru.ispras.fortress.util.InvariantChecks;
 
 import ru.ispras.microtesk.mmu.basis.BufferAccessEvent;
@@ -42,9 +44,11 @@ import ru.ispras.microtesk.mmu.model.spec.MmuProgram;
 import ru.ispras.microtesk.mmu.model.spec.MmuTransition;
 import ru.ispras.microtesk.settings.RegionSettings;
 import ru.ispras.microtesk.utils.FortressUtils;
+import ru.ispras.microtesk.utils.Session;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +61,67 @@ import java.util.Set;
 public final class MemoryEngineUtils {
   private MemoryEngineUtils() {}
 
+  /**
+   * {@link Statistics} accumulates the costs of the feasibility checks.
+   */
+  public static final class Statistics {
+    /** Number of formulae checked incrementally. */
+    private long formulae;
+    /** Number of checks resolved by the previously found solution. */
+    private long modelHits;
+    /** Number of checks resolved by the access catalog. */
+    private long catalogHits;
+    /** Number of solver calls. */
+    private long solverCalls;
+    /** Time spent in the solver (in nanoseconds). */
+    private long solverTime;
+
+    private Statistics() {
+      reset();
+    }
+
+    public void reset() {
+      formulae = 0;
+      modelHits = 0;
+      catalogHits = 0;
+      solverCalls = 0;
+      solverTime = 0;
+    }
+
+    public long getFormulae() {
+      return formulae;
+    }
+
+    public long getModelHits() {
+      return modelHits;
+    }
+
+    public long getCatalogHits() {
+      return catalogHits;
+    }
+
+    public long getSolverCalls() {
+      return solverCalls;
+    }
+
+    public long getSolverTime() {
+      return solverTime;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "formulae=%d, model hits=%d, catalog hits=%d, solver calls=%d, solver time=%d ms",
+          formulae, modelHits, catalogHits, solverCalls, solverTime / 1000000);
+    }
+  }
+
+  private static final Session.Key<Statistics> STATISTICS = Session.newKey(Statistics::new);
+
+  public static Statistics getStatistics() {
+    return Session.get().get(STATISTICS);
+  }
+
   public static boolean isValidTransition(
       final MmuTransition transition,
       final MemoryAccessType type) {
@@ -161,6 +226,26 @@ public final class MemoryEngineUtils {
       final MemoryAccessType type,
       final AccessConstraints constraints,
       final SymbolicResult partialResult /* INOUT */) {
+    return isFeasibleEntry(entry, type, constraints, partialResult, false);
+  }
+
+  /**
+   * Checks whether the entry can prolong the path described by the partial result.
+   *
+   * @param entry the entry to be checked.
+   * @param type the memory access type.
+   * @param constraints the access constraints.
+   * @param partialResult the symbolic result of the path (it is updated).
+   * @param isKnownFeasible the flag indicating that the entry is known to be feasible
+   *        (in this case, the solver is not called).
+   * @return {@code true} iff the entry is feasible.
+   */
+  public static boolean isFeasibleEntry(
+      final AccessPath.Entry entry,
+      final MemoryAccessType type,
+      final AccessConstraints constraints,
+      final SymbolicResult partialResult /* INOUT */,
+      final boolean isKnownFeasible) {
     InvariantChecks.checkNotNull(entry);
     InvariantChecks.checkNotNull(constraints);
     InvariantChecks.checkNotNull(partialResult);
@@ -183,6 +268,12 @@ public final class MemoryEngineUtils {
       return status;
     }
 
+    // Unchecked formulae are kept: they are checked together with the next ones.
+    if (isKnownFeasible) {
+      getStatistics().catalogHits++;
+      return true;
+    }
+
     // Integer constraints are not applied, because they are relevant only for
     // latest assignments and latest buffer accesses.
 
@@ -254,11 +345,28 @@ public final class MemoryEngineUtils {
       return resultBuilder.build();
     }
 
+    // The search stack keeps a symbolic result per path prefix. If the solution found for
+    // the prefix satisfies the formulae added after it, the whole formula is satisfiable.
+    final Statistics statistics = getStatistics();
+    final List<Node> uncheckedNodes = symbolicResult.getUncheckedNodes();
+    statistics.formulae += uncheckedNodes.size();
+
+    if (isSatisfied(uncheckedNodes, symbolicResult.getModel())) {
+      statistics.modelHits++;
+      symbolicResult.setChecked(symbolicResult.getModel());
+      return new SolverResultBuilder(Status.SAT).build();
+    }
+
     final ConstraintEncoder encoder = symbolicResult.getEncoder();
-    final Solver solver = newSolver();
-    final SolverResult result = solver.solve(encoder.encode()); // FIXME: mode
+    final SolverResult result = solve(encoder); // FIXME: mode
 
-    if (result.getStatus() != SolverResult.Status.SAT) {
+    if (result.getStatus() == SolverResult.Status.SAT) {
+      final Map<String, BitVector> model = new HashMap<>();
+      result.getVariables().stream().forEach(
+          v -> model.put(v.getName(), v.getData().getBitVector()));
+
+      symbolicResult.setChecked(model);
+    } else {
       for (final String error : result.getErrors()) {
         Logger.debug("Error: %s", error);
       }
@@ -267,6 +375,43 @@ public final class MemoryEngineUtils {
     return result;
   }
 
+  private static boolean isSatisfied(
+      final List<Node> formulae,
+      final Map<String, BitVector> model) {
+    if (model == null) {
+      return false;
+    }
+
+    final ValueProvider valueProvider = new ValueProvider() {
+      @Override
+      public Data getVariableValue(final Variable variable) {
+        final BitVector value = model.get(variable.getName());
+        return value != null ? Data.newBitVector(value) : null;
+      }
+    };
+
+    for (final Node formula : formulae) {
+      // Formulae with variables that are not in the solution cannot be evaluated.
+      if (!Boolean.TRUE.equals(FortressUtils.evaluateBoolean(formula, valueProvider))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static SolverResult solve(final ConstraintEncoder encoder) {
+    final long startTime = System.nanoTime();
+    final Solver solver = newSolver();
+    final SolverResult result = solver.solve(encoder.encode());
+
+    final Statistics statistics = getStatistics();
+    statistics.solverCalls++;
+    statistics.solverTime += System.nanoTime() - startTime;
+
+    return result;
+  }
+
   private static SolverResult solve(
       final Access access,
       final Collection<Node> conditions,
@@ -311,8 +456,7 @@ public final class MemoryEngineUtils {
       encoder.addNode(constraint);
     }
 
-    final Solver solver = newSolver();
-    final SolverResult result = solver.solve(encoder.encode()/*mode*/);
+    final SolverResult result = solve(encoder/*mode*/);
 
     if (result.getStatus() != SolverResult.Status.SAT) {
       Logger.debug("Access: %s", access);
@@ -336,9 +480,7 @@ public final class MemoryEngineUtils {
 
     final SymbolicResult symbolicResult = symbolicExecutor.getResult();
     final ConstraintEncoder encoder = symbolicResult.getEncoder();
-    final Solver solver = newSolver();
-
-    return solver.solve(encoder.encode() /*, mode*/);
+    return solve(encoder /*, mode*/);
   }
 
   public static ConstraintEncoder newEncoder() {
@@ -34,9 +34,12 @@ import ru.ispras.microtesk.mmu.model.spec.MmuProgram;
 import ru.ispras.microtesk.mmu.model.spec.MmuTransition;
 import ru.ispras.microtesk.utils.HierarchicalMap;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -74,6 +77,12 @@ public final class SymbolicResult {
   /** Maps a variable to the derived values (constant propagation). */
   private final Map<Variable, BitVector> constants;
 
+  /** Formulae added after the last satisfiability check. */
+  private final List<Node> uncheckedNodes = new ArrayList<>();
+
+  /** Maps a variable name to its value in the last found solution ({@code null} if unknown). */
+  private Map<String, BitVector> model = null;
+
   private SymbolicResult(
       final ConstraintEncoder encoder,
       final Map<Integer, MemoryAccessContext> contexts,
@@ -125,6 +134,10 @@ public final class SymbolicResult {
 
   public SymbolicResult(final SymbolicResult other) {
     this(other.encoder.clone(), other);
+
+    // The formula is the same: the solution of the original result is valid for the copy.
+    this.uncheckedNodes.addAll(other.uncheckedNodes);
+    this.model = other.model;
   }
 
   public boolean hasConflict() {
@@ -173,6 +186,37 @@ public final class SymbolicResult {
 
   public void addNode(final Node formula) {
     encoder.addNode(formula);
+    uncheckedNodes.add(formula);
+  }
+
+  /**
+   * Returns the formulae added after the last call of {@link #setChecked(Map)}.
+   *
+   * @return the list of unchecked formulae.
+   */
+  public List<Node> getUncheckedNodes() {
+    return Collections.unmodifiableList(uncheckedNodes);
+  }
+
+  /**
+   * Returns the solution of the formula found by the last satisfiability check.
+   *
+   * @return the variable values indexed by names or {@code null} if there is no solution.
+   */
+  public Map<String, BitVector> getModel() {
+    return model;
+  }
+
+  /**
+   * Marks the formula as satisfiable and remembers its solution.
+   *
+   * @param model the variable values indexed by names.
+   */
+  public void setChecked(final Map<String, BitVector> model) {
+    InvariantChecks.checkNotNull(model);
+
+    this.uncheckedNodes.clear();
+    this.model = model;
   }
 
   public MemoryAccessContext getContext() {
@@ -201,6 +201,11 @@ final class StbBuffer extends StbCommon implements StringTemplateBuilder {
     stMatcher.add("expr", matchToExprString(buffer.getMatch()));
     stMatcher.add("stmts", matchToStmtStrings(buffer.getMatch(), buffer.getAddressArg().getName()));
 
+    final String tag = matchToTagString(buffer.getMatch(), buffer.getAddressArg().getName());
+    if (null != tag) {
+      stMatcher.add("tag", tag);
+    }
+
     st.add("members", stMatcher);
   }
 
@@ -285,8 +290,8 @@ final class StbBuffer extends StbCommon implements StringTemplateBuilder {
         final Node operand0 = node.getOperand(0);
         final Node operand1 = node.getOperand(1);
 
-        final boolean isTag0 = !isConstantOrDependsOnAddress(operand0);
-        final boolean isTag1 = !isConstantOrDependsOnAddress(operand1);
+        final boolean isTag0 = !isConstantOrDependsOnAddress(operand0, addressVar);
+        final boolean isTag1 = !isConstantOrDependsOnAddress(operand1, addressVar);
 
         if (isTag0 != isTag1) {
           final Node lhs = isTag0 ? operand0 : operand1;
@@ -298,19 +303,19 @@ final class StbBuffer extends StbCommon implements StringTemplateBuilder {
         }
       }
     }
+  }
 
-    private final boolean isConstantOrDependsOnAddress(final Node node) {
-      final Collection<NodeVariable> variables = ExprUtils.getVariables(node);
-      for (final NodeVariable variable : variables) {
-        final String name = variable.getName();
+  private static boolean isConstantOrDependsOnAddress(final Node node, final String addressVar) {
+    final Collection<NodeVariable> variables = ExprUtils.getVariables(node);
+    for (final NodeVariable variable : variables) {
+      final String name = variable.getName();
 
-        if (!name.equals(addressVar) && !name.startsWith(addressVar + ".")) {
-          return false;
-        }
+      if (!name.equals(addressVar) && !name.startsWith(addressVar + ".")) {
+        return false;
       }
-
-      return true;
     }
+
+    return true;
   }
 
   private Collection<String> matchToStmtStrings(final Node expr, final String addr) {
@@ -323,6 +328,85 @@ final class StbBuffer extends StbCommon implements StringTemplateBuilder {
     return visitor.getAssigns();
   }
 
+  /**
+   * Builds an expression that computes the tag of an address. This is possible if the match
+   * predicate is a conjunction of equalities between entry fields and address-dependent values,
+   * whose total size does not exceed 64 bits.
+   *
+   * @param expr the match predicate.
+   * @param addr the address variable name.
+   * @return the tag expression or {@code null} if the predicate does not compare tags.
+   */
+  private String matchToTagString(final Node expr, final String addr) {
+    final List<NodeOperation> equalities = new ArrayList<>();
+    if (!collectEqualities(expr, equalities)) {
+      return null;
+    }
+
+    String tag = "0L";
+    int bitSize = 0;
+
+    for (final NodeOperation equality : equalities) {
+      final Node operand0 = equality.getOperand(0);
+      final Node operand1 = equality.getOperand(1);
+
+      final boolean isTag0 = !isConstantOrDependsOnAddress(operand0, addr);
+      final boolean isTag1 = !isConstantOrDependsOnAddress(operand1, addr);
+
+      if (isTag0 == isTag1) {
+        return null;
+      }
+
+      final Node lhs = isTag0 ? operand0 : operand1;
+      final Node rhs = isTag0 ? operand1 : operand0;
+
+      if (lhs.getDataType().getTypeId() != DataTypeId.BIT_VECTOR) {
+        return null;
+      }
+
+      final int fieldSize = lhs.getDataType().getSize();
+      bitSize += fieldSize;
+
+      if (bitSize > Long.SIZE) {
+        return null;
+      }
+
+      tag = String.format("%s.appendTag(%s, %s, %d)",
+          MATCHER_CLASS.getSimpleName(), tag, ExprPrinter.get().toString(rhs), fieldSize);
+    }
+
+    return tag;
+  }
+
+  private static boolean collectEqualities(final Node expr, final List<NodeOperation> result) {
+    if (expr.getKind() != Node.Kind.OPERATION) {
+      return false;
+    }
+
+    final NodeOperation operation = (NodeOperation) expr;
+
+    if (operation.getOperationId() == StandardOperation.EQ) {
+      if (operation.getOperandCount() != 2) {
+        return false;
+      }
+
+      result.add(operation);
+      return true;
+    }
+
+    if (operation.getOperationId() == StandardOperation.AND) {
+      for (final Node operand : operation.getOperands()) {
+        if (!collectEqualities(operand, result)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    return false;
+  }
+
   private abstract class BuildStrategy {
     abstract void build(ST st, STGroup group);
 
@@ -74,6 +74,9 @@ abstract class StbCommon {
   public static final Class<?> MEMORY_CLASS =
       ru.ispras.microtesk.mmu.model.sim.Memory.class;
 
+  public static final Class<?> MATCHER_CLASS =
+      ru.ispras.microtesk.mmu.model.sim.Matcher.class;
+
   public static final Class<?> POLICY_CLASS =
       CachePolicy.class;
   public static final Class<?> EVICT_POLICY_ID_CLASS =
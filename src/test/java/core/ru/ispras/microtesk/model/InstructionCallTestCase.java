@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.microtesk.model.data.Type;
+import ru.ispras.microtesk.model.memory.Location;
+import ru.ispras.microtesk.model.memory.Memory;
+import ru.ispras.microtesk.model.memory.Memory.Kind;
+
+import java.math.BigInteger;
+
+public final class InstructionCallTestCase {
+  /** Jump whose image includes the target address (a label reference). */
+  private static final class Jump extends IsaPrimitive {
+    private final Location target;
+    private int imageCount = 0;
+
+    private Jump(final Location target) {
+      this.target = target;
+    }
+
+    @Override
+    public String image(final TemporaryVariables temporaryVariables) {
+      imageCount++;
+      return "0001" + target.toBinString();
+    }
+  }
+
+  @Test
+  public void testImage() {
+    final Location target = Memory.def(Kind.VAR, "target", Type.CARD(8), 1).access();
+    target.setValue(BigInteger.valueOf(0x10));
+
+    final Jump jump = new Jump(target);
+    final InstructionCall call = new InstructionCall(new TemporaryVariables() {}, jump);
+
+    final BitVector image = call.getImage();
+    Assert.assertEquals("000100010000", image.toBinString());
+    Assert.assertEquals(2, call.getByteSize());
+
+    // The image is built once.
+    Assert.assertSame(image, call.getImage());
+    Assert.assertEquals(1, jump.imageCount);
+
+    // The label reference is patched with the label address: the image is rebuilt.
+    target.setValue(BigInteger.valueOf(0x20));
+    call.resetImage();
+
+    Assert.assertEquals("000100100000", call.getImage().toBinString());
+    Assert.assertEquals(2, jump.imageCount);
+  }
+}
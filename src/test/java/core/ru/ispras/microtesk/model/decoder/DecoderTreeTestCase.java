@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.model.decoder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.fortress.data.types.bitvector.BitVectorMath;
+import ru.ispras.fortress.randomizer.Randomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DecoderTreeTestCase {
+  private static final int IMAGE_SIZE = 16;
+
+  /**
+   * Test decoder that reports its identifier as the result bit size.
+   */
+  private static final class TestDecoder extends Decoder {
+    private final int id;
+
+    private TestDecoder(final int id, final String opc, final String opcMask) {
+      super(IMAGE_SIZE, true, opc, opcMask);
+      this.id = id;
+    }
+
+    @Override
+    public DecoderResult decode(final BitVector image) {
+      return isOpcMatch(image) ? new DecoderResult(null, id) : null;
+    }
+  }
+
+  private static final class TestDecoderGroup extends DecoderGroup {
+    private TestDecoderGroup(final List<Decoder> decoders, final boolean useTree) {
+      super(IMAGE_SIZE, true, null);
+
+      for (final Decoder decoder : decoders) {
+        add(decoder);
+      }
+
+      if (useTree) {
+        buildDecoderTree();
+      }
+    }
+  }
+
+  @Test
+  public void testRandomOpcodes() {
+    for (int iteration = 0; iteration < 100; iteration++) {
+      final List<Decoder> decoders = new ArrayList<>();
+
+      for (int id = 0; id < 64; id++) {
+        final String opcMask;
+        final String opc;
+
+        if (Randomizer.get().nextIntRange(0, 15) == 0) {
+          // Decoder without an opcode: matches any image.
+          opcMask = null;
+          opc = null;
+        } else {
+          final int maskBits = Randomizer.get().nextIntRange(2, 8);
+          final BitVector mask = BitVector.newEmpty(IMAGE_SIZE);
+          mask.field(IMAGE_SIZE - maskBits, IMAGE_SIZE - 1).setAll();
+
+          final BitVector value = BitVector.newEmpty(IMAGE_SIZE);
+          Randomizer.get().fill(value);
+
+          opcMask = mask.toBinString();
+          opc = BitVectorMath.and(value, mask).toBinString();
+        }
+
+        decoders.add(new TestDecoder(id, opc, opcMask));
+      }
+
+      final Decoder linear = new TestDecoderGroup(decoders, false);
+      final Decoder tree = new TestDecoderGroup(decoders, true);
+
+      for (int index = 0; index < 1000; index++) {
+        final BitVector image = BitVector.newEmpty(IMAGE_SIZE);
+        Randomizer.get().fill(image);
+
+        final DecoderResult expected = linear.decode(image);
+        final DecoderResult actual = tree.decode(image);
+
+        if (null == expected) {
+          Assert.assertNull(actual);
+        } else {
+          Assert.assertNotNull(actual);
+          Assert.assertEquals(expected.getBitSize(), actual.getBitSize());
+        }
+      }
+    }
+  }
+}
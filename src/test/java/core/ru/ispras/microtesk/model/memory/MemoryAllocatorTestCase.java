@@ -18,9 +18,11 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.fortress.randomizer.Randomizer;
 import ru.ispras.fortress.util.Pair;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 public class MemoryAllocatorTestCase {
   private static final int ADDRESSABLE_UNIT_SIZE = 8;
@@ -106,6 +108,55 @@ public class MemoryAllocatorTestCase {
     dumpMemory(memory);
   }
 
+  @Test
+  public void testBulk() {
+    testBulk(32, 8, 16, 3);
+    testBulk(24, 8, 16, 5);
+    testBulk(64, 16, 32, 2);
+  }
+
+  private static void testBulk(
+      final int regionSize,
+      final int unitSize,
+      final int elementSize,
+      final int startAddress) {
+    final int regionCount = 8192;
+    final MemoryStorage expected = new MemoryStorage(regionCount, regionSize);
+    final MemoryStorage actual = new MemoryStorage(regionCount, regionSize);
+
+    // The data crosses page boundaries and has unaligned head and tail.
+    final byte[] data = new byte[(regionCount / 2) * (regionSize / 8) + elementSize / 8];
+    for (int index = 0; index < data.length; index++) {
+      data[index] = (byte) Randomizer.get().nextInt();
+    }
+
+    final MemoryAllocator elementAllocator =
+        new MemoryAllocator(expected, unitSize, BigInteger.ZERO);
+
+    final int elementByteSize = elementSize / 8;
+    BigInteger current = BigInteger.valueOf(startAddress);
+
+    for (int index = 0; index < data.length; index += elementByteSize) {
+      final BitVector element = BitVector.valueOf(
+          Arrays.copyOfRange(data, index, index + elementByteSize), elementSize);
+      current = elementAllocator.allocate(current, element, false).second;
+    }
+
+    final MemoryAllocator bulkAllocator =
+        new MemoryAllocator(actual, unitSize, BigInteger.ZERO);
+
+    final Pair<BigInteger, BigInteger> addressPair =
+        bulkAllocator.allocate(BigInteger.valueOf(startAddress), data, elementSize, false);
+
+    Assert.assertEquals(BigInteger.valueOf(startAddress), addressPair.first);
+    Assert.assertEquals(current, addressPair.second);
+
+    for (int index = 0; index < regionCount; index++) {
+      Assert.assertEquals(expected.read(index), actual.read(index));
+      Assert.assertEquals(expected.isInitialized(index), actual.isInitialized(index));
+    }
+  }
+
   private void testAlignAddress() {
     Assert.assertEquals(BigInteger.valueOf(0),   alignAddress(0, 4));
     Assert.assertEquals(BigInteger.valueOf(4),   alignAddress(1, 4));
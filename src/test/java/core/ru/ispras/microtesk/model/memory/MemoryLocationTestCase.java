@@ -95,6 +95,31 @@ public final class MemoryLocationTestCase {
     }
   }
 
+  @Test
+  public void testCopyOnWrite() {
+    for (final Memory.Kind kind : new Memory.Kind[] {Memory.Kind.REG, Memory.Kind.MEM}) {
+      final Memory original = Memory.def(kind, "M", WORD, COUNT);
+      original.access(1).store(Data.valueOf(WORD, 0x11));
+      original.access(2).store(Data.valueOf(WORD, 0x22));
+
+      final Memory copy = original.copy();
+      Assert.assertEquals(0x11, copy.access(1).load().getRawData().intValue());
+      Assert.assertEquals(0x22, copy.access(2).load().getRawData().intValue());
+
+      copy.access(1).store(Data.valueOf(WORD, 0x33));
+      original.access(2).store(Data.valueOf(WORD, 0x44));
+
+      Assert.assertEquals(0x11, original.access(1).load().getRawData().intValue());
+      Assert.assertEquals(0x44, original.access(2).load().getRawData().intValue());
+      Assert.assertEquals(0x33, copy.access(1).load().getRawData().intValue());
+      Assert.assertEquals(0x22, copy.access(2).load().getRawData().intValue());
+
+      copy.reset();
+      Assert.assertEquals(0, copy.access(1).load().getRawData().intValue());
+      Assert.assertEquals(0x11, original.access(1).load().getRawData().intValue());
+    }
+  }
+
   @Test
   public void test2() {
     /*
@@ -137,4 +137,34 @@ public final class MemoryStorageTestCase {
     Assert.assertEquals(BitVector.valueOf(0x10L, regionBitSize), storage1.read(0xDEADBEEF));
     Assert.assertEquals(BitVector.valueOf(0x20L, regionBitSize), storage1.read(0xBAADF00D));
   }
+
+  @Test
+  public void testLoadStore() {
+    for (int regionBitSize = 8; regionBitSize <= 64; regionBitSize *= 2) {
+      final MemoryStorage ms = new MemoryStorage(BigInteger.ONE.shiftLeft(40), regionBitSize);
+      Assert.assertTrue(ms.isLongAccessSupported());
+
+      for (int i = 0; i < 1000; i++) {
+        final BitVector address = BitVector.newEmpty(ms.getAddressBitSize());
+        Randomizer.get().fill(address);
+
+        final BitVector data = BitVector.newEmpty(regionBitSize);
+        Randomizer.get().fill(data);
+
+        ms.store(address.longValue(), data.longValue());
+
+        Assert.assertTrue(ms.isInitialized(address));
+        Assert.assertEquals(data, ms.read(address));
+        Assert.assertEquals(data.longValue(), ms.load(address.longValue()));
+
+        final BitVector field = BitVector.newEmpty(regionBitSize / 2);
+        Randomizer.get().fill(field);
+
+        ms.write(address, regionBitSize / 2, field);
+        data.field(regionBitSize / 2, regionBitSize - 1).assign(field);
+
+        Assert.assertEquals(data.longValue(), ms.load(address.longValue()));
+      }
+    }
+  }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.model.minimips;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.microtesk.Config;
+import ru.ispras.microtesk.Plugin;
+import ru.ispras.microtesk.options.Option;
+import ru.ispras.microtesk.options.OptionReader;
+import ru.ispras.microtesk.options.Options;
+import ru.ispras.microtesk.test.Statistics;
+import ru.ispras.microtesk.test.TestEngine;
+import ru.ispras.microtesk.test.engine.EngineConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs several minimips demo templates concurrently in one JVM and compares the results with
+ * the results of sequential runs.
+ *
+ * <p>All runs use the same random seed. Each run has its own random generator, so the programs
+ * generated concurrently must be the same as the programs generated sequentially (except for
+ * the generation time).</p>
+ *
+ * @author <a href="mailto:agent@local">agent</a>
+ */
+public final class ConcurrentGenerationTestCase {
+  private static final String MODEL_NAME = "minimips";
+  private static final String TEMPLATE_DIR = "build/target/arch/demo/minimips/templates";
+
+  private static final List<String> TEMPLATES =
+      Arrays.asList("euclid.rb", "bubble_sort.rb", "int_sqrt.rb", "block_random.rb");
+
+  private static final class Result {
+    private final long programs;
+    private final long sequences;
+    private final long instructions;
+    private final List<String> files;
+    private final List<String> contents;
+
+    private Result(final Statistics statistics, final Path outDir) throws IOException {
+      this.programs = statistics.getPrograms();
+      this.sequences = statistics.getSequences();
+      this.instructions = statistics.getInstructions();
+
+      final String[] names = outDir.toFile().list();
+      Assert.assertNotNull(names);
+      Arrays.sort(names);
+
+      this.files = Arrays.asList(names);
+      this.contents = new ArrayList<>(names.length);
+
+      for (final String name : names) {
+        contents.add(readContents(outDir.resolve(name)));
+      }
+    }
+
+    private static String readContents(final Path file) throws IOException {
+      // The generation time is printed in the file header.
+      return Files.readAllLines(file).stream()
+          .filter(line -> !line.contains("Generation started:"))
+          .collect(Collectors.joining(System.lineSeparator()));
+    }
+  }
+
+  @Test
+  public void test() throws Exception {
+    final List<Plugin> plugins = Config.loadPlugins();
+    for (final Plugin plugin : plugins) {
+      EngineConfig.registerPlugin(plugin);
+    }
+
+    final Path root = Files.createTempDirectory("microtesk");
+
+    final List<Result> expected = new ArrayList<>();
+    for (final String template : TEMPLATES) {
+      expected.add(generate(template, root.resolve("sequential"), plugins));
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(TEMPLATES.size());
+    try {
+      final List<Future<Result>> futures = new ArrayList<>();
+      for (final String template : TEMPLATES) {
+        final Callable<Result> task = () -> generate(template, root.resolve("concurrent"), plugins);
+        futures.add(executor.submit(task));
+      }
+
+      for (int index = 0; index < TEMPLATES.size(); index++) {
+        final Result expectedResult = expected.get(index);
+        final Result actualResult = futures.get(index).get();
+
+        final String template = TEMPLATES.get(index);
+        Assert.assertEquals(template, expectedResult.programs, actualResult.programs);
+        Assert.assertEquals(template, expectedResult.sequences, actualResult.sequences);
+        Assert.assertEquals(template, expectedResult.instructions, actualResult.instructions);
+        Assert.assertEquals(template, expectedResult.files, actualResult.files);
+
+        for (int file = 0; file < expectedResult.files.size(); file++) {
+          Assert.assertEquals(template + ": " + expectedResult.files.get(file),
+              expectedResult.contents.get(file), actualResult.contents.get(file));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static Result generate(
+      final String template,
+      final Path dir,
+      final List<Plugin> plugins) throws Exception {
+    final String prefix = template.substring(0, template.lastIndexOf('.'));
+    final Path outDir = dir.resolve(prefix);
+
+    final String[] args = {
+        "-" + Option.GENERATE.getShortName(),
+        "-" + Option.ASSERTS_ENABLED.getShortName(),
+        "-" + Option.OUTPUT_DIR.getShortName(), outDir.toString(),
+        "-" + Option.CODE_FILE_PREFIX.getShortName(), prefix,
+        "-" + Option.RANDOM_SEED.getShortName(), "0",
+        MODEL_NAME,
+        TEMPLATE_DIR + File.separator + template
+    };
+
+    final OptionReader reader = new OptionReader(Config.loadSettings(), args);
+    reader.read();
+
+    final Options options = reader.getOptions();
+    final String templateFile = args[args.length - 1];
+
+    try {
+      Assert.assertTrue(template, TestEngine.generate(options, MODEL_NAME, templateFile, plugins));
+    } catch (final Exception | Error e) {
+      throw e;
+    } catch (final Throwable e) {
+      throw new Exception(e);
+    }
+
+    return new Result(TestEngine.getInstance().getStatistics(), outDir);
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.model.tracer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.fortress.randomizer.Randomizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class RecordTestCase {
+  @Test
+  public void testBinaryForm() throws IOException {
+    final List<Record> records = new ArrayList<>();
+
+    for (int index = 0; index < 100; index++) {
+      final BitVector data = BitVector.newEmpty(8 * Randomizer.get().nextIntRange(1, 16));
+      Randomizer.get().fill(data);
+
+      final long address = Randomizer.get().nextLongRange(0, 0xFFFFFFFFL);
+
+      records.add(Record.newMemoryAccess(address, data, index % 2 == 0));
+      records.add(Record.newRegisterWrite("GPR" + index, data));
+    }
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      for (final Record record : records) {
+        record.write(out);
+      }
+    }
+
+    try (final DataInputStream in =
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      for (final Record record : records) {
+        final Record copy = Record.read(in);
+
+        Assert.assertEquals(record.getKind(), copy.getKind());
+        Assert.assertEquals(record.toString(), copy.toString());
+      }
+
+      Assert.assertEquals(0, in.available());
+    }
+  }
+}
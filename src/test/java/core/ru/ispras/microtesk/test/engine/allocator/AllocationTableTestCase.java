@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.test.engine.allocator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.randomizer.Randomizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class AllocationTableTestCase {
+  private static final int SIZE = 100;
+
+  private static AllocationTable<Integer> newTable(final Allocator allocator) {
+    final List<Integer> objects = new ArrayList<>();
+    for (int index = 0; index < SIZE; index++) {
+      objects.add(index);
+    }
+
+    return new AllocationTable<>(new AllocationData<Integer>(allocator), objects);
+  }
+
+  @Test
+  public void testChoose() {
+    final IndexSet include = new IndexSet(SIZE);
+    final IndexSet exclude = new IndexSet(SIZE);
+
+    Assert.assertEquals(IndexSet.NONE, IndexSet.choose(include, exclude, null));
+
+    include.addAll();
+    Assert.assertEquals(SIZE, include.size());
+
+    for (int index = 0; index < SIZE - 1; index++) {
+      exclude.add(index);
+    }
+
+    for (int iteration = 0; iteration < 100; iteration++) {
+      Assert.assertEquals(SIZE - 1, IndexSet.choose(include, exclude, null));
+    }
+
+    exclude.remove(70);
+    final Set<Integer> chosen = new HashSet<>();
+    for (int iteration = 0; iteration < 1000; iteration++) {
+      chosen.add(IndexSet.choose(include, exclude, null));
+    }
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(70, SIZE - 1)), chosen);
+  }
+
+  @Test
+  public void testChooseOrder() {
+    final List<Integer> used = Arrays.asList(42, 7, 99, 13, 7, 0, 64);
+
+    final IndexSet include = new IndexSet(SIZE);
+    for (final int index : used) {
+      include.add(index);
+    }
+
+    include.remove(13);
+    Assert.assertEquals("{42, 7, 99, 0, 64}", include.toString());
+
+    final Collection<Integer> objects = new LinkedHashSet<>(used);
+    objects.remove(13);
+
+    for (int seed = 0; seed < 100; seed++) {
+      Randomizer.get().setSeed(seed);
+      final int expected = Randomizer.get().choose(objects);
+
+      Randomizer.get().setSeed(seed);
+      Assert.assertEquals(expected, IndexSet.choose(include, null, null));
+    }
+  }
+
+  @Test
+  public void testAllocateFree() {
+    final AllocationTable<Integer> table = newTable(Allocator.FREE);
+    final Collection<Integer> exclude = Collections.singleton(13);
+    final Set<Integer> allocated = new HashSet<>();
+
+    for (int index = 0; index < SIZE - 1; index++) {
+      final Integer object = table.allocate(
+          ResourceOperation.WRITE, Collections.<Integer>emptySet(), exclude, null);
+
+      Assert.assertNotEquals(Integer.valueOf(13), object);
+      Assert.assertTrue(allocated.add(object));
+    }
+
+    try {
+      table.allocate(ResourceOperation.WRITE, Collections.<Integer>emptySet(), exclude, null);
+      Assert.fail("All objects are in use");
+    } catch (final IllegalStateException e) {
+      // Expected.
+    }
+
+    table.free(42);
+    Assert.assertEquals(Integer.valueOf(42), table.allocate(
+        ResourceOperation.READ, Collections.<Integer>emptySet(), exclude, null));
+  }
+
+  @Test
+  public void testAllocateUsed() {
+    final AllocationTable<Integer> table = newTable(Allocator.READ);
+
+    table.use(ResourceOperation.READ, 5);
+    table.use(ResourceOperation.WRITE, 7);
+
+    for (int iteration = 0; iteration < 100; iteration++) {
+      Assert.assertEquals(Integer.valueOf(5), table.peek(
+          Collections.<Integer>emptySet(), Collections.<Integer>emptySet(), null));
+    }
+
+    table.reset();
+    Assert.assertEquals("used={READ=[], WRITE=[], NOP=[], ANY=[]}", table.toString());
+  }
+}
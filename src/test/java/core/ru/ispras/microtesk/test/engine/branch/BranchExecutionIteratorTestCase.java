@@ -14,6 +14,7 @@
 
 package ru.ispras.microtesk.test.engine.branch;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import ru.ispras.testbase.knowledge.iterator.Iterator;
@@ -94,4 +95,111 @@ public final class BranchExecutionIteratorTestCase {
 
     runTest(branchStructure, 2, 2);
   }
+
+  /**
+   * Counts execution traces of the branch structure by a plain depth-first search.
+   *
+   * @param branchStructure the branch structure.
+   * @param maxBranchExecution the branch execution limit.
+   * @param maxBlockExecution the block execution limit.
+   * @return the number of execution traces.
+   */
+  private static int countTraces(
+      final List<BranchEntry> branchStructure,
+      final int maxBranchExecution,
+      final int maxBlockExecution) {
+    final int size = branchStructure.size();
+    return countTraces(branchStructure, maxBranchExecution, maxBlockExecution,
+        0, new ArrayList<int[]>(), new int[size]);
+  }
+
+  private static int countTraces(
+      final List<BranchEntry> branchStructure,
+      final int maxBranchExecution,
+      final int maxBlockExecution,
+      final int start,
+      final List<int[]> executed,
+      final int[] branchExecutions) {
+    int branch = start;
+    while (branch < branchStructure.size() && !branchStructure.get(branch).isBranch()) {
+      branch++;
+    }
+
+    // The initial block is always executed; others are limited by the executed ones.
+    if (!executed.isEmpty()) {
+      int count = 0;
+      for (final int[] block : executed) {
+        if (start < block[1] && branch - 1 >= block[0]) {
+          count++;
+        }
+      }
+
+      if (count >= maxBlockExecution) {
+        return 0;
+      }
+    }
+
+    if (branch == branchStructure.size()) {
+      return 1;
+    }
+
+    if (branchExecutions[branch] >= maxBranchExecution) {
+      return 0;
+    }
+
+    final BranchEntry entry = branchStructure.get(branch);
+
+    executed.add(new int[] {start, branch});
+    branchExecutions[branch]++;
+
+    int result = countTraces(branchStructure, maxBranchExecution, maxBlockExecution,
+        entry.getBranchLabel(), executed, branchExecutions);
+
+    if (entry.isIfThen()) {
+      result += countTraces(branchStructure, maxBranchExecution, maxBlockExecution,
+          branch + 1, executed, branchExecutions);
+    }
+
+    branchExecutions[branch]--;
+    executed.remove(executed.size() - 1);
+
+    return result;
+  }
+
+  /**
+   * Enumerates execution traces of branch structures of growing size, checks the number of
+   * traces against a plain depth-first search and reports the time spent.
+   */
+  @Test
+  public void runBenchmark() {
+    for (int length = 1; length <= 5; length++) {
+      final int branchNumber = Math.min(length, 2);
+
+      final Iterator<List<BranchEntry>> structures = new BranchStructureIterator(
+          1, 1, 1, 1, false, length, length, branchNumber, branchNumber, 2);
+
+      int expectedCount = 0;
+      for (structures.init(); structures.hasValue(); structures.next()) {
+        expectedCount += countTraces(structures.value(), 2, 2);
+      }
+
+      final Iterator<List<BranchEntry>> i = new BranchStructureIterator(
+          1, 1, 1, 1, false, length, length, branchNumber, branchNumber, 2);
+
+      final BranchExecutionIterator j = new BranchExecutionIterator(i, 2, 2, -1);
+
+      final long startTime = System.nanoTime();
+
+      int traceCount = 0;
+      for (j.init(); j.hasValue(); j.next()) {
+        traceCount++;
+      }
+
+      final long time = (System.nanoTime() - startTime) / 1000000;
+      System.out.format("Length: %d, traces: %d, time: %d ms%n", length, traceCount, time);
+
+      Assert.assertTrue(expectedCount > 0);
+      Assert.assertEquals(expectedCount, traceCount);
+    }
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.test.sequence.combinator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.randomizer.VariateSingleValue;
+import ru.ispras.microtesk.test.sequence.Generator;
+import ru.ispras.microtesk.test.sequence.GeneratorCompositor;
+import ru.ispras.microtesk.test.sequence.GeneratorRandom;
+import ru.ispras.microtesk.test.sequence.GeneratorShard;
+import ru.ispras.microtesk.test.sequence.compositor.CompositorCatenation;
+import ru.ispras.microtesk.test.sequence.permutator.PermutatorExhaustive;
+import ru.ispras.testbase.knowledge.iterator.CollectionIterator;
+import ru.ispras.testbase.knowledge.iterator.Iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class CombinatorTestCase {
+  private static List<Iterator<Integer>> newIterators() {
+    final List<Iterator<Integer>> iterators = new ArrayList<>();
+    iterators.add(new CollectionIterator<>(Arrays.asList(1, 2, 3)));
+    iterators.add(new CollectionIterator<>(Arrays.asList(10, 20)));
+    iterators.add(new CollectionIterator<>(Arrays.asList(100, 200, 300, 400)));
+    return iterators;
+  }
+
+  private static void checkRanked(final Combinator<Integer> combinator, final long size) {
+    combinator.initialize(newIterators());
+
+    final List<List<Integer>> expected = new ArrayList<>();
+    for (combinator.init(); combinator.hasValue(); combinator.next()) {
+      expected.add(combinator.value());
+    }
+
+    combinator.initialize(newIterators());
+    Assert.assertTrue(combinator.isRanked());
+    Assert.assertEquals(size, combinator.count());
+    Assert.assertEquals(expected.size(), combinator.count());
+
+    for (int index = 0; index < expected.size(); index++) {
+      Assert.assertEquals(expected.get(index), combinator.valueAt(index));
+    }
+  }
+
+  @Test
+  public void testProduct() {
+    checkRanked(new CombinatorProduct<Integer>(), 24);
+  }
+
+  @Test
+  public void testDiagonal() {
+    checkRanked(new CombinatorDiagonal<Integer>(), 4);
+  }
+
+  @Test
+  public void testPermutator() {
+    checkRanked(new CombinatorPermutator<>(
+        new CombinatorDiagonal<Integer>(), new PermutatorExhaustive<Integer>()), 24);
+  }
+
+  @Test
+  public void testShards() {
+    final List<List<Integer>> expected = new ArrayList<>();
+    final Generator<Integer> generator = newGenerator();
+
+    for (generator.init(); generator.hasValue(); generator.next()) {
+      expected.add(generator.value());
+    }
+
+    for (final int count : new int[] {1, 5, 24, 30}) {
+      final List<List<Integer>> actual = new ArrayList<>();
+
+      for (int index = 0; index < count; index++) {
+        final Generator<Integer> shard = newGenerator().shard(index, count);
+        for (shard.init(); shard.hasValue(); shard.next()) {
+          actual.add(shard.value());
+        }
+      }
+
+      Assert.assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testRandomShards() {
+    final List<Iterator<List<Integer>>> iterators = new ArrayList<>();
+    iterators.add(new GeneratorRandom<>(
+        new VariateSingleValue<Iterator<List<Integer>>>(newGenerator())));
+    iterators.add(newGenerator());
+
+    final Generator<Integer> generator = new GeneratorCompositor<>(
+        new CombinatorProduct<List<Integer>>(), new CompositorCatenation<Integer>(), iterators);
+
+    // A random choice is made on each restart, so the values cannot be collected once.
+    Assert.assertTrue(newGenerator().isReproducible());
+    Assert.assertFalse(generator.isReproducible());
+    Assert.assertTrue(generator.shard(0, 2) instanceof GeneratorShard);
+  }
+
+  private static Generator<Integer> newGenerator() {
+    final List<Iterator<List<Integer>>> iterators = new ArrayList<>();
+    for (final Iterator<Integer> iterator : newIterators()) {
+      final List<List<Integer>> sequences = new ArrayList<>();
+      for (iterator.init(); iterator.hasValue(); iterator.next()) {
+        sequences.add(Arrays.asList(iterator.value()));
+      }
+      iterators.add(new CollectionIterator<>(sequences));
+    }
+
+    return new GeneratorCompositor<>(
+        new CombinatorProduct<List<Integer>>(), new CompositorCatenation<Integer>(), iterators);
+  }
+}
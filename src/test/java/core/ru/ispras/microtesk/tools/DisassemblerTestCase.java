@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.tools;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.microtesk.model.IsaPrimitive;
+import ru.ispras.microtesk.model.decoder.Decoder;
+import ru.ispras.microtesk.model.decoder.DecoderResult;
+import ru.ispras.microtesk.utils.BinaryReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class DisassemblerTestCase {
+  /** Maximum instruction size in bytes. */
+  private static final int MAX_SIZE = 4;
+
+  /** Instruction whose first byte is its size in bytes. */
+  private static final class Instruction extends IsaPrimitive {
+    private final int size;
+
+    private Instruction(final int size) {
+      this.size = size;
+    }
+  }
+
+  /** Decoder of a variable-length ISA: the first byte of an instruction is its size. */
+  private static final class VariableLengthDecoder extends Decoder {
+    private VariableLengthDecoder() {
+      super(MAX_SIZE * 8, false, null, null);
+    }
+
+    @Override
+    public DecoderResult decode(final BitVector image) {
+      final int size = image.getByte(0);
+      if (size <= 0 || size > MAX_SIZE) {
+        return null;
+      }
+
+      return new DecoderResult(new Instruction(size), size * 8);
+    }
+  }
+
+  private static List<Integer> decode(final int... sizes) throws IOException {
+    final List<Byte> bytes = new ArrayList<>();
+    for (final int size : sizes) {
+      for (int index = 0; index < size; index++) {
+        bytes.add((byte) size);
+      }
+    }
+
+    final byte[] image = new byte[bytes.size()];
+    for (int index = 0; index < image.length; index++) {
+      image[index] = bytes.get(index);
+    }
+
+    final File file = File.createTempFile("microtesk", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), image);
+
+    final List<Integer> result = new ArrayList<>();
+    final Disassembler.Output output = new Disassembler.Output() {
+      @Override
+      public void add(final IsaPrimitive primitive) {
+        result.add(((Instruction) primitive).size);
+      }
+
+      @Override
+      public void close() {
+        // Nothing to do.
+      }
+    };
+
+    Assert.assertTrue(Disassembler.decode(
+        new VariableLengthDecoder(), new BinaryReader(file, false), output));
+
+    return result;
+  }
+
+  @Test
+  public void testShortLastInstruction() throws IOException {
+    // The last instruction is read with padding: fewer than MAX_SIZE bytes remain.
+    Assert.assertEquals(Arrays.asList(2, 1), decode(2, 1));
+    Assert.assertEquals(Arrays.asList(1, 2, 3), decode(1, 2, 3));
+    Assert.assertEquals(Arrays.asList(4, 1, 2), decode(4, 1, 2));
+    Assert.assertEquals(Arrays.asList(3), decode(3));
+  }
+
+  @Test
+  public void testFullSizeInstructions() throws IOException {
+    Assert.assertEquals(Arrays.asList(4, 1, 4, 2, 4), decode(4, 1, 4, 2, 4));
+  }
+}
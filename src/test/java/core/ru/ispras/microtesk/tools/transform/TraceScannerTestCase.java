@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.tools.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public final class TraceScannerTestCase {
+  private static File newFile(final String text) throws IOException {
+    final File file = File.createTempFile("microtesk", ".log");
+    file.deleteOnExit();
+
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  @Test
+  public void testWindowBoundaries() throws IOException {
+    final StringBuilder text = new StringBuilder();
+    for (int index = 0; index < 100; index++) {
+      text.append(String.format("%s s%d e%d t%d%n", TraceTransformer.TAG, index, index, index));
+      if (index % 3 == 0) {
+        text.append("# comment\n");
+      }
+    }
+
+    // The last line has no line terminator.
+    text.append(String.format("%s s e t", TraceTransformer.TAG));
+
+    final File file = newFile(text.toString());
+
+    // Windows of different sizes start in the middle of lines and at line starts.
+    for (int windowSize = 32; windowSize <= 64; windowSize++) {
+      try (final TraceScanner scanner = new TraceScanner(file.toPath(), windowSize)) {
+        for (int index = 0; index < 100; index++) {
+          final TraceTransformer.Message message = scanner.next();
+          Assert.assertNotNull(message);
+          Assert.assertEquals("s" + index, message.getSource());
+          Assert.assertEquals("e" + index, message.getEvent());
+          Assert.assertEquals("t" + index, message.getTarget());
+        }
+
+        final TraceTransformer.Message last = scanner.next();
+        Assert.assertNotNull(last);
+        Assert.assertEquals("t", last.getTarget());
+
+        Assert.assertNull(scanner.next());
+      }
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testLongLine() throws IOException {
+    final File file = newFile(String.format("%s source event target%n", TraceTransformer.TAG));
+
+    try (final TraceScanner scanner = new TraceScanner(file.toPath(), 16)) {
+      scanner.next();
+    }
+  }
+}
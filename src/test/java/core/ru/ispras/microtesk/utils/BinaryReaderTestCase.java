@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public final class BinaryReaderTestCase {
+  private static File newFile(final int size) throws IOException {
+    final byte[] bytes = new byte[size];
+    for (int index = 0; index < size; index++) {
+      bytes[index] = (byte) index;
+    }
+
+    final File file = File.createTempFile("microtesk", ".bin");
+    file.deleteOnExit();
+
+    Files.write(file.toPath(), bytes);
+    return file;
+  }
+
+  @Test
+  public void testRetreat() throws IOException {
+    final BinaryReader reader = new BinaryReader(newFile(3000), false);
+
+    // Reading 3 bytes and moving 1 byte back crosses 1 KiB boundaries.
+    for (int position = 0; position < 2998; position += 2) {
+      final BitVector data = reader.read(3);
+      Assert.assertEquals(position & 0xff, data.getByte(0) & 0xff);
+      Assert.assertEquals((position + 2) & 0xff, data.getByte(2) & 0xff);
+      reader.retreat(1);
+    }
+  }
+
+  @Test
+  public void testBigEndian() throws IOException {
+    final BinaryReader reader = new BinaryReader(newFile(6), true);
+
+    final BitVector data = reader.read(4);
+    Assert.assertEquals(3, data.getByte(0));
+    Assert.assertEquals(0, data.getByte(3));
+
+    // The last item is padded with zeros.
+    final BitVector tail = reader.read(4);
+    Assert.assertEquals(0, tail.getByte(0));
+    Assert.assertEquals(5, tail.getByte(2));
+    Assert.assertEquals(4, tail.getByte(3));
+
+    Assert.assertNull(reader.read(4));
+  }
+
+  @Test
+  public void testSlice() throws IOException {
+    final BinaryReader reader = new BinaryReader(newFile(4096), false);
+    final BinaryReader slice = reader.slice(1024, 2048);
+
+    Assert.assertEquals(1024, slice.getSize());
+    Assert.assertEquals(0, slice.getPosition());
+    Assert.assertEquals(0, slice.read(4).getByte(0));
+
+    Assert.assertEquals(0, reader.getPosition());
+    Assert.assertEquals(0, reader.read(4).getByte(0));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.randomizer.Randomizer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class LongMapTestCase {
+  @Test
+  public void testRandom() {
+    final LongMap<Long> map = new LongMap<>();
+    final Map<Long, Long> expected = new HashMap<>();
+
+    for (int index = 0; index < 10000; index++) {
+      // Keys with equal lower bits are frequent in practice (e.g. aligned addresses).
+      final long key = Randomizer.get().nextLongRange(0, 1024) << (index % 40);
+      final long value = Randomizer.get().nextLongRange(0, Long.MAX_VALUE - 1);
+
+      map.put(key, value);
+      expected.put(key, value);
+    }
+
+    Assert.assertEquals(expected.size(), map.size());
+
+    for (final Map.Entry<Long, Long> entry : expected.entrySet()) {
+      Assert.assertTrue(map.containsKey(entry.getKey()));
+      Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+
+    final LongMap<Long> copy = new LongMap<>(map);
+    map.clear();
+
+    Assert.assertEquals(0, map.size());
+    Assert.assertEquals(expected.size(), copy.size());
+
+    for (final long key : expected.keySet()) {
+      Assert.assertFalse(map.containsKey(key));
+      Assert.assertTrue(copy.containsKey(key));
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+
+import java.util.Arrays;
+
+public final class MaskTestCase {
+  @Test
+  public void testBinary() {
+    final Mask mask = Mask.valueOf("8'b0000XX11");
+
+    Assert.assertTrue(mask.isMatch(BitVector.valueOf(0x07, 8)));
+    Assert.assertTrue(mask.isMatch(BitVector.valueOf(0x0B, 8)));
+    Assert.assertFalse(mask.isMatch(BitVector.valueOf(0x13, 8)));
+    Assert.assertFalse(mask.isMatch(BitVector.valueOf(0x0A, 8)));
+    Assert.assertFalse(mask.isMatch(BitVector.valueOf(0x07, 16)));
+
+    Assert.assertTrue(mask.isApplicable(8));
+    Assert.assertFalse(mask.isApplicable(16));
+  }
+
+  @Test
+  public void testHexadecimal() {
+    final Mask mask = Mask.valueOf("16'hFFX0");
+
+    Assert.assertTrue(mask.isMatch(BitVector.valueOf(0xFFA0, 16)));
+    Assert.assertTrue(mask.isMatch(BitVector.valueOf(0xFF00, 16)));
+    Assert.assertFalse(mask.isMatch(BitVector.valueOf(0xFEA0, 16)));
+    Assert.assertFalse(mask.isMatch(BitVector.valueOf(0xFFA1, 16)));
+    Assert.assertFalse(mask.isMatch(BitVector.valueOf(0xFFA0, 32)));
+  }
+
+  @Test
+  public void testMultiple() {
+    final Mask mask = Mask.valueOf(Arrays.asList("8'b1XXXXXXX", "8'h0X"));
+
+    Assert.assertTrue(mask.isMatch(BitVector.valueOf(0x80, 8)));
+    Assert.assertTrue(mask.isMatch(BitVector.valueOf(0xFF, 8)));
+    Assert.assertTrue(mask.isMatch(BitVector.valueOf(0x05, 8)));
+    Assert.assertFalse(mask.isMatch(BitVector.valueOf(0x15, 8)));
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+
+import java.math.BigInteger;
+
+public final class SparseArrayTestCase {
+  private static void testOverlay(final BigInteger length, final int bitSize) {
+    final BitVector index0 = BitVector.valueOf(0, bitSize);
+    final BitVector index1 = BitVector.valueOf(length.subtract(BigInteger.ONE), bitSize);
+
+    final SparseArray<String> base = new SparseArray<>(length);
+    Assert.assertNull(base.get(index0));
+    Assert.assertNull(base.set(index0, "a"));
+    Assert.assertFalse(base.isShared(index0));
+
+    final SparseArray<String> overlay = new SparseArray<>(base);
+    Assert.assertEquals("a", overlay.get(index0));
+    Assert.assertTrue(overlay.isShared(index0));
+    Assert.assertFalse(overlay.isShared(index1));
+
+    Assert.assertEquals("a", overlay.set(index0, "b"));
+    Assert.assertNull(overlay.set(index1, "c"));
+    Assert.assertFalse(overlay.isShared(index0));
+
+    Assert.assertEquals("b", overlay.get(index0));
+    Assert.assertEquals("c", overlay.get(index1));
+    Assert.assertEquals("a", base.get(index0));
+    Assert.assertNull(base.get(index1));
+  }
+
+  @Test
+  public void testDense() {
+    testOverlay(BigInteger.valueOf(128), 7);
+    testOverlay(BigInteger.valueOf(4096), 40);
+  }
+
+  @Test
+  public void testSparse() {
+    testOverlay(BigInteger.ONE.shiftLeft(40), 40);
+  }
+}
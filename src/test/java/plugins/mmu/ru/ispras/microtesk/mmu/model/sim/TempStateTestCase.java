@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.mmu.model.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.fortress.data.types.bitvector.BitVector;
+import ru.ispras.microtesk.mmu.model.sim.model.Model;
+
+public final class TempStateTestCase extends CacheUnitTestCase {
+  private static final int START_ADDRESS = 0x0000;
+  private static final int END_ADDRESS = 0xffff;
+
+  private boolean[][] getHits(final Model model, final int[] addresses) {
+    final boolean[][] result = new boolean[Model.N1][addresses.length];
+
+    for (int core = 0; core < Model.N1; core++) {
+      for (int i = 0; i < addresses.length; i++) {
+        result[core][i] = model.l1[core].isHit(BitVector.valueOf(addresses[i], 32));
+      }
+    }
+
+    return result;
+  }
+
+  private void setUseTempState(final Model model, final boolean value) {
+    for (final CacheUnit<?, ?> cache : model.l1) {
+      cache.setUseTempState(value);
+    }
+
+    for (final CacheUnit<?, ?> cache : model.l2) {
+      cache.setUseTempState(value);
+    }
+  }
+
+  private void test(final EvictionPolicyId evictionPolicy) {
+    final Model model = new Model(
+        CachePolicy.create(
+            evictionPolicy,
+            WritePolicyId.WT,
+            InclusionPolicyId.INCLUSIVE,
+            CoherenceProtocolId.MOESI
+        )
+    );
+
+    test(model, START_ADDRESS, END_ADDRESS, true, 64, 4);
+
+    final int[] addresses = new int[256];
+    for (int i = 0; i < addresses.length; i++) {
+      addresses[i] = nextAddress(START_ADDRESS, END_ADDRESS);
+    }
+
+    final boolean[][] hits = getHits(model, addresses);
+
+    setUseTempState(model, true);
+
+    // The temporary state is initialized with the current one (caches are not cold).
+    Assert.assertArrayEquals(hits, getHits(model, addresses));
+
+    for (int i = 0; i < 64; i++) {
+      model.lw(nextCore(), nextAddress(START_ADDRESS, END_ADDRESS));
+    }
+
+    setUseTempState(model, false);
+
+    // Changes made in the temporary state are discarded.
+    Assert.assertArrayEquals(hits, getHits(model, addresses));
+  }
+
+  @Test
+  public void testFifo() {
+    test(EvictionPolicyId.FIFO);
+  }
+
+  @Test
+  public void testLru() {
+    test(EvictionPolicyId.LRU);
+  }
+
+  @Test
+  public void testPlru() {
+    test(EvictionPolicyId.PLRU);
+  }
+}
@@ -82,6 +82,17 @@ public final class L1 extends CacheUnit<Entry, PA> {
       data.TAG.assign(pa.value.field(31, 12));
       return data;
     }
+
+    @Override
+    public boolean isTagged() {
+      return true;
+    }
+
+    @Override
+    public long getTag(final PA pa) {
+      return Matcher.appendTag(Matcher.appendTag(0L, BitVector.valueOf(0x1, 1), 1),
+          pa.value.field(31, 12), 20);
+    }
   };
 
   public L1(final CachePolicy policy, final L2 next) {
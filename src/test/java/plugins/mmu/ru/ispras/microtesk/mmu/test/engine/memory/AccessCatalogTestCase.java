@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 ISP RAS (http://www.ispras.ru)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package ru.ispras.microtesk.mmu.test.engine.memory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.ispras.microtesk.mmu.basis.BufferAccessEvent;
+import ru.ispras.microtesk.mmu.basis.MemoryAccessType;
+import ru.ispras.microtesk.mmu.basis.MemoryDataType;
+import ru.ispras.microtesk.mmu.model.spec.MmuSubsystem;
+import ru.ispras.microtesk.mmu.test.engine.MmuUnderTest;
+import ru.ispras.microtesk.mmu.test.template.AccessConstraints;
+import ru.ispras.microtesk.mmu.test.template.BufferEventConstraint;
+import ru.ispras.microtesk.utils.Session;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class AccessCatalogTestCase {
+  private static final MemoryAccessType LOAD = MemoryAccessType.LOAD(MemoryDataType.WORD);
+  private static final MemoryAccessType STORE = MemoryAccessType.STORE(MemoryDataType.WORD);
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    final Path dir = Files.createTempDirectory("microtesk");
+    final MmuSubsystem memory = MmuUnderTest.get().mmu;
+
+    Session.open();
+    AccessCatalog.setDirectory(dir);
+
+    final AccessCatalog catalog = AccessCatalog.get(memory, AccessConstraints.EMPTY);
+    Assert.assertNotNull(catalog);
+
+    catalog.putEntryVerdict(LOAD, "0", true);
+    catalog.putEntryVerdict(LOAD, "0.1", false);
+    catalog.putEntryVerdict(STORE, "0", false);
+    catalog.putAccessVerdict(LOAD, "0.2.h", true);
+    catalog.save();
+
+    final File[] files = dir.toFile().listFiles();
+    Assert.assertNotNull(files);
+    Assert.assertEquals(Arrays.toString(files), 1, files.length);
+
+    // Corrupted lines are skipped rather than taken for infeasibility verdicts.
+    Files.write(files[0].toPath(), "xE 0.3 LOAD[WORD]\n?".getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+
+    AccessCatalog.reset();
+
+    final AccessCatalog loaded = AccessCatalog.get(memory, AccessConstraints.EMPTY);
+    Assert.assertNotSame(catalog, loaded);
+    Assert.assertEquals(catalog.size(), loaded.size());
+
+    Assert.assertEquals(Boolean.TRUE, loaded.getEntryVerdict(LOAD, "0"));
+    Assert.assertEquals(Boolean.FALSE, loaded.getEntryVerdict(LOAD, "0.1"));
+    Assert.assertEquals(Boolean.FALSE, loaded.getEntryVerdict(STORE, "0"));
+    Assert.assertEquals(Boolean.TRUE, loaded.getAccessVerdict(LOAD, "0.2.h"));
+    Assert.assertNull(loaded.getEntryVerdict(LOAD, "0.3"));
+    Assert.assertNull(loaded.getEntryVerdict(LOAD, "0.2.h"));
+
+    // Other constraints are stored in another catalog.
+    final AccessConstraints.Builder builder = new AccessConstraints.Builder();
+    builder.addConstraint(
+        new BufferEventConstraint(MmuUnderTest.get().l1, BufferAccessEvent.HIT));
+
+    final AccessCatalog other = AccessCatalog.get(memory, builder.build());
+    Assert.assertNotNull(other);
+    Assert.assertNotSame(loaded, other);
+    Assert.assertNull(other.getEntryVerdict(LOAD, "0"));
+
+    other.putEntryVerdict(LOAD, "0", false);
+    other.save();
+    Assert.assertEquals(2, dir.toFile().list().length);
+
+    AccessCatalog.setDirectory(null);
+    Assert.assertNull(AccessCatalog.get(memory, AccessConstraints.EMPTY));
+    AccessCatalog.reset();
+  }
+
+  @Test
+  public void testRelease() throws IOException {
+    final Path dir = Files.createTempDirectory("microtesk");
+    final MmuSubsystem memory = MmuUnderTest.get().mmu;
+
+    Session.open();
+    AccessCatalog.setDirectory(dir);
+
+    final AccessCatalog catalog = AccessCatalog.get(memory, AccessConstraints.EMPTY);
+    Assert.assertSame(catalog, AccessCatalog.get(memory, AccessConstraints.EMPTY));
+    catalog.putEntryVerdict(LOAD, "0", true);
+
+    // The catalog is saved and dropped, since no other session uses it.
+    AccessCatalog.release();
+    Assert.assertEquals(1, dir.toFile().list().length);
+
+    final AccessCatalog loaded = AccessCatalog.get(memory, AccessConstraints.EMPTY);
+    Assert.assertNotSame(catalog, loaded);
+    Assert.assertEquals(Boolean.TRUE, loaded.getEntryVerdict(LOAD, "0"));
+    AccessCatalog.release();
+  }
+}